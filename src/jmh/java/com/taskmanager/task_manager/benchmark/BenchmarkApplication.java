@@ -0,0 +1,67 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.TaskManagerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application without the web layer for in-process benchmarks.
+ */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	/**
+	 * Starts the application with SQL logging off and quiet logs.
+	 *
+	 * @param arguments additional command line arguments, overriding the application properties
+	 * @return the running application context
+	 */
+	static ConfigurableApplicationContext start(String... arguments) {
+		List<String> allArguments = new ArrayList<>(List.of("--spring.jpa.show-sql=false", "--logging.level.root=WARN"));
+		allArguments.addAll(List.of(arguments));
+		return new SpringApplicationBuilder(TaskManagerApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(allArguments.toArray(String[]::new));
+	}
+
+	/**
+	 * Starts the application with the prod profile on a file-backed database.
+	 *
+	 * @param storagePath the database file path, without extension
+	 * @param arguments additional command line arguments
+	 * @return the running application context
+	 */
+	static ConfigurableApplicationContext startDurable(Path storagePath, String... arguments) {
+		List<String> allArguments = new ArrayList<>(List.of(
+				"--spring.profiles.active=prod", "--task-manager.storage.path=" + storagePath.toAbsolutePath()));
+		allArguments.addAll(List.of(arguments));
+		return start(allArguments.toArray(String[]::new));
+	}
+
+	/**
+	 * Deletes a directory created for a benchmark, with its content.
+	 *
+	 * @param directory the directory
+	 */
+	static void delete(Path directory) {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
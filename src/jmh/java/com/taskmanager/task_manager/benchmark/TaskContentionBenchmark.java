@@ -0,0 +1,179 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.exception.TaskConflictException;
+import com.taskmanager.task_manager.exception.TaskPreconditionFailedException;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.impl.TaskServiceImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writes contending for the same few tasks with 8 threads: half of them complete random
+ * hot tasks while the other half reopen them with If-Match updates, retried on version conflicts.
+ * The singleStatement group completes with the single UPDATE of the service, the readModifyWrite
+ * group with the SELECT-then-save it replaced (now checked by the version column); the conflicts
+ * counters report how many attempts lost a race.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskContentionBenchmark {
+
+	@Param({"1", "16"})
+	private int hotTasks;
+
+	private ConfigurableApplicationContext context;
+
+	private TaskService taskService;
+
+	private TaskRepository taskRepository;
+
+	private TransactionTemplate transactionTemplate;
+
+	private List<Long> ids;
+
+	private TaskRequest reopen;
+
+	/**
+	 * Per-thread count of the attempts rejected because another thread changed the task first.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Conflicts {
+
+		public long conflicts;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start();
+		taskService = context.getBean(TaskService.class);
+		taskRepository = context.getBean(TaskRepository.class);
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		Task task = TaskFixtures.newTask(1);
+		reopen = new TaskRequest();
+		reopen.setTitle(task.getTitle());
+		reopen.setDescription(task.getDescription());
+		reopen.setStatus(TaskStatus.PENDING);
+		reopen.setDueDate(task.getDueDate());
+		reopen.setPriority(task.getPriority());
+		ids = new ArrayList<>(hotTasks);
+		for (int n = 0; n < hotTasks; n++) {
+			ids.add(taskService.createTask(Task.DEFAULT_OWNER, reopen).getId());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Completes a hot task with one UPDATE ... WHERE status &lt;&gt; COMPLETED statement.
+	 */
+	@Benchmark
+	@Group("singleStatement")
+	@GroupThreads(4)
+	public TaskResponse completeSingleStatement(Conflicts conflicts) {
+		try {
+			return taskService.markTaskAsCompleted(Task.DEFAULT_OWNER, pick(), null);
+		} catch (TaskConflictException e) {
+			conflicts.conflicts++;
+			return null;
+		}
+	}
+
+	/**
+	 * Reopens a hot task, racing with {@link #completeSingleStatement(Conflicts)}.
+	 */
+	@Benchmark
+	@Group("singleStatement")
+	@GroupThreads(4)
+	public TaskResponse reopenAgainstSingleStatement(Conflicts conflicts) {
+		return reopen(conflicts);
+	}
+
+	/**
+	 * Completes a hot task by loading it, changing its status and saving it, as the service did before.
+	 */
+	@Benchmark
+	@Group("readModifyWrite")
+	@GroupThreads(4)
+	public TaskResponse completeReadModifyWrite(Conflicts conflicts) {
+		long id = pick();
+		try {
+			return transactionTemplate.execute(status -> {
+				Task task = taskRepository.findById(id).orElseThrow();
+				TaskResponse before = TaskServiceImpl.convertToResponse(task);
+				task.setStatus(TaskStatus.COMPLETED);
+				TaskResponse after = TaskServiceImpl.convertToResponse(taskRepository.saveAndFlush(task));
+				context.publishEvent(TaskChangedEvent.updated(before, after));
+				return after;
+			});
+		} catch (ObjectOptimisticLockingFailureException e) {
+			conflicts.conflicts++;
+			return null;
+		}
+	}
+
+	/**
+	 * Reopens a hot task, racing with {@link #completeReadModifyWrite(Conflicts)}.
+	 */
+	@Benchmark
+	@Group("readModifyWrite")
+	@GroupThreads(4)
+	public TaskResponse reopenAgainstReadModifyWrite(Conflicts conflicts) {
+		return reopen(conflicts);
+	}
+
+	/**
+	 * Reopens a task with an If-Match update based on its current version, retrying until it wins.
+	 */
+	private TaskResponse reopen(Conflicts conflicts) {
+		long id = pick();
+		while (true) {
+			long version = taskService.getTaskStamp(Task.DEFAULT_OWNER, id).getVersion();
+			try {
+				return taskService.updateTask(Task.DEFAULT_OWNER, id, reopen, version);
+			} catch (TaskPreconditionFailedException e) {
+				conflicts.conflicts++;
+			}
+		}
+	}
+
+	private long pick() {
+		return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+	}
+}
@@ -0,0 +1,71 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.impl.TaskServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic sample data shared by the benchmarks.
+ */
+final class TaskFixtures {
+
+	/**
+	 * Reference instant for generated due dates; half of the tasks fall before it.
+	 */
+	static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+	private TaskFixtures() {
+	}
+
+	/**
+	 * Builds an unsaved task whose fields are derived from the given number.
+	 *
+	 * @param n the sequence number of the task
+	 * @return the task, without id
+	 */
+	static Task newTask(int n) {
+		Task task = new Task();
+		task.setTitle("Task " + n + " review quarterly report");
+		task.setDescription("Collect the figures for task " + n + " and share them with the team");
+		task.setStatus(STATUSES[n % STATUSES.length]);
+		task.setDueDate(NOW.plusHours((n % 2000) - 1000L));
+		task.setPriority(n % 5 + 1);
+		task.setOwner(Task.DEFAULT_OWNER);
+		return task;
+	}
+
+	/**
+	 * Builds a task as it would be loaded from the database, with id and timestamps.
+	 *
+	 * @param n the sequence number of the task, also used as id
+	 * @return the task
+	 */
+	static Task storedTask(int n) {
+		Task task = newTask(n);
+		task.setId((long) n);
+		task.setCreatedAt(NOW.minusDays(30));
+		task.setUpdatedAt(NOW.minusDays(1));
+		return task;
+	}
+
+	/**
+	 * Builds a list of task responses, as returned by the list endpoints.
+	 *
+	 * @param size the number of responses
+	 * @return the responses
+	 */
+	static List<TaskResponse> responses(int size) {
+		List<TaskResponse> responses = new ArrayList<>(size);
+		for (int n = 1; n <= size; n++) {
+			responses.add(TaskServiceImpl.convertToResponse(storedTask(n)));
+		}
+		return responses;
+	}
+}
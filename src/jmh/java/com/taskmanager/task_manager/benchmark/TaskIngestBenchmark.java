@@ -0,0 +1,111 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.IngestTicket;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.ingest.TaskIngestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares task creation throughput under a burst from 8 threads: one synchronous save and commit
+ * per task, as POST /api/tasks does, against the asynchronous ingestion of POST /api/tasks/ingest.
+ * The ingestion score counts a task once it is committed, not when it is accepted: each invocation
+ * submits a burst of tasks and waits until the last one is stored. Both run against the durable
+ * file-backed store, with the journal forced to disk before each acceptance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class TaskIngestBenchmark {
+
+	private static final int BURST_SIZE = 100;
+
+	@Param({"0", "500"})
+	private int writeDelayMs;
+
+	private Path directory;
+
+	private ConfigurableApplicationContext context;
+
+	private TaskService taskService;
+
+	private TaskIngestion taskIngestion;
+
+	private TaskRequest request;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("task-ingest-benchmark");
+		context = BenchmarkApplication.startDurable(directory.resolve("taskdb"),
+				"--task-manager.storage.write-delay-ms=" + writeDelayMs,
+				"--task-manager.ingest.enabled=true",
+				"--task-manager.ingest.journal-dir=" + directory.resolve("ingest").toAbsolutePath());
+		taskService = context.getBean(TaskService.class);
+		taskIngestion = context.getBean(TaskIngestion.class);
+		Task task = TaskFixtures.newTask(1);
+		request = new TaskRequest();
+		request.setTitle(task.getTitle());
+		request.setDescription(task.getDescription());
+		request.setDueDate(task.getDueDate());
+		request.setPriority(task.getPriority());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		BenchmarkApplication.delete(directory);
+	}
+
+	/**
+	 * Creates one task in its own transaction, as POST /api/tasks does.
+	 */
+	@Benchmark
+	public TaskResponse createTask() {
+		return taskService.createTask(Task.DEFAULT_OWNER, request);
+	}
+
+	/**
+	 * Submits a burst of tasks to the ingestion queue and waits until they are all committed; the
+	 * score is in committed tasks per second.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public IngestTicket ingest() throws InterruptedException {
+		long last = 0;
+		for (int n = 0; n < BURST_SIZE; n++) {
+			last = taskIngestion.accept(Task.DEFAULT_OWNER, request);
+		}
+		// Tickets are stored in order, so the burst is stored once its last ticket is
+		IngestTicket ticket;
+		while ((ticket = taskIngestion.getTicket(Task.DEFAULT_OWNER, last)).getStatus() == IngestTicket.Status.QUEUED) {
+			Thread.sleep(1);
+		}
+		return ticket;
+	}
+}
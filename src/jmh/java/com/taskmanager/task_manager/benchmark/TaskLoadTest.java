@@ -0,0 +1,235 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.task_manager.TaskManagerApplication;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test comparing the platform-thread and the virtual-thread request execution modes.
+ * For each mode the application is started on a random port and seeded through the batch API; then every
+ * client sends requests back to back (mostly JDBC-backed page reads, one write in ten) for a fixed duration.
+ * Throughput and latency percentiles of each mode are printed and written as JSON.
+ * <p>
+ * Usage: {@code TaskLoadTest [clients] [durationSeconds] [warmupSeconds]}, defaults 1000, 30 and 10.
+ * The JSON file is {@code target/load-test-result.json} unless {@code -Dload.resultFile} is set.
+ */
+public final class TaskLoadTest {
+
+	private static final int SEED_TASKS = 5000;
+
+	private static final int SEED_CHUNK = 500;
+
+	private static final int PAGE_SIZE = 20;
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+	/**
+	 * Outcome of one execution mode.
+	 *
+	 * @param mode the execution mode
+	 * @param clients the number of concurrent clients
+	 * @param requests the number of completed requests
+	 * @param errors the number of failed or non-2xx requests
+	 * @param throughput completed requests per second
+	 * @param p50Millis median latency
+	 * @param p99Millis 99th percentile latency
+	 * @param maxMillis maximum latency
+	 */
+	record Result(String mode, int clients, long requests, long errors, double throughput,
+			double p50Millis, double p99Millis, double maxMillis) {
+	}
+
+	/**
+	 * Latencies measured by one client; each client owns its recorder, so recording needs no synchronization.
+	 */
+	private static final class Recorder {
+
+		private long[] latencies = new long[1024];
+
+		private int count;
+
+		private long errors;
+
+		void record(long nanos) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+		}
+	}
+
+	private TaskLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+		Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 10);
+
+		List<Result> results = List.of(
+				run("platform", clients, duration, warmup),
+				run("virtual", clients, duration, warmup));
+
+		System.out.printf("%n%-10s %8s %10s %8s %12s %10s %10s %10s%n",
+				"mode", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+		for (Result result : results) {
+			System.out.printf("%-10s %8d %10d %8d %12.1f %10.2f %10.2f %10.2f%n", result.mode(), result.clients(),
+					result.requests(), result.errors(), result.throughput(),
+					result.p50Millis(), result.p99Millis(), result.maxMillis());
+		}
+		File resultFile = new File(System.getProperty("load.resultFile", "target/load-test-result.json"));
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, results);
+		System.out.println("Load test result is saved to " + resultFile.getAbsolutePath());
+	}
+
+	/**
+	 * Starts the application in the given mode, seeds it, warms it up and measures it.
+	 */
+	private static Result run(String mode, int clients, Duration duration, Duration warmup) throws Exception {
+		List<String> arguments = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN",
+				// Every client shares the loopback address: the per-client rate limits would measure themselves
+				"--task-manager.limits.enabled=false",
+				"--spring.datasource.url=jdbc:h2:mem:load-" + mode));
+		if (mode.equals("virtual")) {
+			arguments.add("--spring.profiles.active=virtual");
+		}
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+				.run(arguments.toArray(String[]::new));
+				ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			String baseUrl = "http://localhost:" + port + "/api/tasks";
+			HttpClient client = HttpClient.newBuilder().executor(httpExecutor).build();
+
+			seed(client, baseUrl);
+			System.out.printf("[%s] warming up %d clients for %ds%n", mode, clients, warmup.toSeconds());
+			drive(client, baseUrl, clients, warmup);
+			System.out.printf("[%s] measuring %d clients for %ds%n", mode, clients, duration.toSeconds());
+			List<Recorder> recorders = drive(client, baseUrl, clients, duration);
+			return summarize(mode, clients, duration, recorders);
+		}
+	}
+
+	private static void seed(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+		for (int from = 0; from < SEED_TASKS; from += SEED_CHUNK) {
+			StringBuilder body = new StringBuilder("[");
+			for (int n = from; n < from + SEED_CHUNK; n++) {
+				body.append(n == from ? "" : ",").append(taskJson(n));
+			}
+			HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+					.build(), HttpResponse.BodyHandlers.discarding());
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+			}
+		}
+	}
+
+	/**
+	 * Runs the given number of closed-loop clients, each on its own virtual thread, until the duration elapses.
+	 */
+	private static List<Recorder> drive(HttpClient client, String baseUrl, int clients, Duration duration)
+			throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<Future<Recorder>> futures = new ArrayList<>(clients);
+		try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				futures.add(clientThreads.submit(() -> {
+					Recorder recorder = new Recorder();
+					while (System.nanoTime() < deadline) {
+						HttpRequest request = nextRequest(baseUrl);
+						long start = System.nanoTime();
+						try {
+							int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+							if (status >= 300) {
+								recorder.errors++;
+							}
+						} catch (IOException e) {
+							recorder.errors++;
+						}
+						recorder.record(System.nanoTime() - start);
+					}
+					return recorder;
+				}));
+			}
+		}
+		List<Recorder> recorders = new ArrayList<>(clients);
+		for (Future<Recorder> future : futures) {
+			recorders.add(future.get());
+		}
+		return recorders;
+	}
+
+	/**
+	 * Picks the next request of the mix: one write in ten, the other requests read one page of a filtered listing.
+	 */
+	private static HttpRequest nextRequest(String baseUrl) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String path = switch (random.nextInt(10)) {
+			case 0 -> null;
+			case 1, 2, 3 -> "/page?size=" + PAGE_SIZE;
+			case 4, 5 -> "/status/" + STATUSES[random.nextInt(STATUSES.length)] + "/page?size=" + PAGE_SIZE;
+			case 6, 7 -> "/priority/" + (random.nextInt(5) + 1) + "/page?size=" + PAGE_SIZE;
+			default -> "/overdue/page?size=" + PAGE_SIZE;
+		};
+		if (path == null) {
+			return HttpRequest.newBuilder(URI.create(baseUrl))
+					.timeout(REQUEST_TIMEOUT)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(taskJson(random.nextInt(SEED_TASKS))))
+					.build();
+		}
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+	}
+
+	private static String taskJson(int n) {
+		return "{\"title\":\"Load task " + n + "\",\"description\":\"Generated by the load test\","
+				+ "\"dueDate\":\"" + TaskFixtures.NOW.plusHours((n % 2000) - 1000L) + "\","
+				+ "\"priority\":" + (n % 5 + 1) + "}";
+	}
+
+	private static Result summarize(String mode, int clients, Duration duration, List<Recorder> recorders) {
+		int total = recorders.stream().mapToInt(recorder -> recorder.count).sum();
+		long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+		long[] latencies = new long[total];
+		int offset = 0;
+		for (Recorder recorder : recorders) {
+			System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.count);
+			offset += recorder.count;
+		}
+		Arrays.sort(latencies);
+		return new Result(mode, clients, total, errors, total / (duration.toNanos() / 1e9),
+				percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99), percentileMillis(latencies, 1.0));
+	}
+
+	private static double percentileMillis(long[] sortedLatencies, double percentile) {
+		if (sortedLatencies.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+		return sortedLatencies[Math.max(0, index)] / 1e6;
+	}
+}
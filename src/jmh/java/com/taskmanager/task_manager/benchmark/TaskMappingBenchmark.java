@@ -0,0 +1,50 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.service.impl.TaskServiceImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written entity to DTO mapping of TaskServiceImpl with ModelMapper's reflective mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+	private Task task;
+
+	private ModelMapper modelMapper;
+
+	@Setup
+	public void setUp() {
+		task = TaskFixtures.storedTask(42);
+		modelMapper = new ModelMapper();
+	}
+
+	@Benchmark
+	public TaskResponse convertToResponse() {
+		return TaskServiceImpl.convertToResponse(task);
+	}
+
+	@Benchmark
+	public TaskResponse modelMapper() {
+		return modelMapper.map(task, TaskResponse.class);
+	}
+}
@@ -0,0 +1,97 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.impl.TaskServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of reading a task listing into responses, per row: managed entities copied by
+ * convertToResponse in a read-write transaction (the former read path, with dirty-checking snapshots),
+ * the same in a read-only transaction, and the projection queries building TaskResponse directly,
+ * with and without the description. Run with {@code -prof gc} to see gc.alloc.rate.norm per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(TaskReadBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskReadBenchmark {
+
+	static final int ROWS = 1000;
+
+	private ConfigurableApplicationContext context;
+
+	private TaskRepository taskRepository;
+
+	private TransactionTemplate readWriteTransaction;
+
+	private TransactionTemplate readOnlyTransaction;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("--spring.datasource.url=jdbc:h2:mem:readbenchmark;DB_CLOSE_DELAY=-1");
+		taskRepository = context.getBean(TaskRepository.class);
+		PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+		readWriteTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		List<Task> tasks = new ArrayList<>(ROWS);
+		for (int n = 0; n < ROWS; n++) {
+			tasks.add(TaskFixtures.newTask(n));
+		}
+		readWriteTransaction.executeWithoutResult(status -> taskRepository.saveAll(tasks));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<TaskResponse> entitiesReadWrite() {
+		return readWriteTransaction.execute(status -> convertAll(taskRepository.findAll()));
+	}
+
+	@Benchmark
+	public List<TaskResponse> entitiesReadOnly() {
+		return readOnlyTransaction.execute(status -> convertAll(taskRepository.findAll()));
+	}
+
+	@Benchmark
+	public List<TaskResponse> projection() {
+		return readOnlyTransaction.execute(status -> taskRepository.findAllResponses(Task.DEFAULT_OWNER, true));
+	}
+
+	@Benchmark
+	public List<TaskResponse> projectionWithoutDescription() {
+		return readOnlyTransaction.execute(status -> taskRepository.findAllResponses(Task.DEFAULT_OWNER, false));
+	}
+
+	private static List<TaskResponse> convertAll(List<Task> tasks) {
+		return tasks.stream().map(TaskServiceImpl::convertToResponse).toList();
+	}
+}
@@ -0,0 +1,172 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs every TaskRepository query against an H2 database seeded with sample tasks.
+ * The application context is started without the web layer; the in-memory indexes stay empty
+ * because the rows are inserted after startup, so only the database queries are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskRepositoryBenchmark {
+
+	private static final int SEED_CHUNK = 1000;
+
+	private static final int PAGE_SIZE = 50;
+
+	private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.complementOf(EnumSet.of(TaskStatus.COMPLETED));
+
+	@Param({"10000", "100000"})
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+
+	private TaskRepository taskRepository;
+
+	private TransactionTemplate readOnlyTransaction;
+
+	private Long middleId;
+
+	private LocalDateTime now;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+		taskRepository = context.getBean(TaskRepository.class);
+		PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		for (int from = 0; from < rows; from += SEED_CHUNK) {
+			List<Task> chunk = new ArrayList<>(SEED_CHUNK);
+			for (int n = from; n < Math.min(from + SEED_CHUNK, rows); n++) {
+				chunk.add(TaskFixtures.newTask(n));
+			}
+			transaction.executeWithoutResult(status -> taskRepository.saveAll(chunk));
+		}
+
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		middleId = taskRepository.findResponsesAfter(Task.DEFAULT_OWNER, 0L, false, Limit.of(rows / 2)).getLast().getId();
+		now = TaskFixtures.NOW;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<Task> findById() {
+		return taskRepository.findByOwnerAndId(Task.DEFAULT_OWNER, middleId);
+	}
+
+	@Benchmark
+	public List<TaskResponse> findByStatus() {
+		return taskRepository.findResponsesByStatus(Task.DEFAULT_OWNER, TaskStatus.IN_PROGRESS);
+	}
+
+	@Benchmark
+	public List<TaskResponse> findByPriority() {
+		return taskRepository.findResponsesByPriority(Task.DEFAULT_OWNER, 3);
+	}
+
+	@Benchmark
+	public List<TaskResponse> findByDueDateBetween() {
+		return taskRepository.findResponsesByDueDateBetween(Task.DEFAULT_OWNER, now, now.plusDays(7));
+	}
+
+	@Benchmark
+	public List<TaskResponse> keysetPageById() {
+		return taskRepository.findResponsesAfter(Task.DEFAULT_OWNER, middleId, true, Limit.of(PAGE_SIZE));
+	}
+
+	@Benchmark
+	public List<TaskResponse> keysetPageByStatus() {
+		return taskRepository.findResponsesByStatusAfter(Task.DEFAULT_OWNER, TaskStatus.PENDING, middleId, true, Limit.of(PAGE_SIZE));
+	}
+
+	@Benchmark
+	public List<TaskResponse> keysetPageByPriority() {
+		return taskRepository.findResponsesByPriorityAfter(Task.DEFAULT_OWNER, 2, middleId, true, Limit.of(PAGE_SIZE));
+	}
+
+	@Benchmark
+	public List<Task> keysetFirstOverduePage() {
+		return taskRepository.findByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(Task.DEFAULT_OWNER, now, OPEN_STATUSES,
+				Limit.of(PAGE_SIZE));
+	}
+
+	@Benchmark
+	public List<Task> keysetNextOverduePage() {
+		return taskRepository.findOverdueAfter(Task.DEFAULT_OWNER, now, OPEN_STATUSES, now.minusDays(20), middleId,
+				Limit.of(PAGE_SIZE));
+	}
+
+	@Benchmark
+	public long streamAll() {
+		return countStream(() -> taskRepository.streamByOwnerOrderByIdAsc(Task.DEFAULT_OWNER));
+	}
+
+	@Benchmark
+	public long streamByStatus() {
+		return countStream(() -> taskRepository.streamByOwnerAndStatusOrderByIdAsc(Task.DEFAULT_OWNER, TaskStatus.PENDING));
+	}
+
+	@Benchmark
+	public long streamByPriority() {
+		return countStream(() -> taskRepository.streamByOwnerAndPriorityOrderByIdAsc(Task.DEFAULT_OWNER, 1));
+	}
+
+	@Benchmark
+	public long streamOverdue() {
+		return countStream(() -> taskRepository.streamByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(Task.DEFAULT_OWNER, now,
+				OPEN_STATUSES));
+	}
+
+	/**
+	 * Consumes a repository stream inside a read-only transaction, as the streaming endpoints do.
+	 */
+	private long countStream(Supplier<Stream<Task>> query) {
+		Long count = readOnlyTransaction.execute(status -> {
+			try (Stream<Task> tasks = query.get()) {
+				return tasks.count();
+			}
+		});
+		return count != null ? count : 0;
+	}
+}
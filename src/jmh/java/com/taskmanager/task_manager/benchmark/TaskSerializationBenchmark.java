@@ -0,0 +1,66 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of task lists, configured like the application's ObjectMapper,
+ * as the list endpoints return them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSerializationBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	private int size;
+
+	private List<TaskResponse> tasks;
+
+	private ObjectWriter writer;
+
+	@Setup
+	public void setUp() {
+		tasks = TaskFixtures.responses(size);
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+				.constructCollectionType(List.class, TaskResponse.class));
+	}
+
+	/**
+	 * Streams the list to a sink, as the message converter writes to the response body.
+	 */
+	@Benchmark
+	public void writeToStream() throws IOException {
+		writer.writeValue(OutputStream.nullOutputStream(), tasks);
+	}
+
+	/**
+	 * Serializes the list into a byte array, including the cost of buffering the whole document.
+	 */
+	@Benchmark
+	public byte[] writeToBytes() throws IOException {
+		return writer.writeValueAsBytes(tasks);
+	}
+}
@@ -0,0 +1,102 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the startup time of the application on a durable database that already holds tasks:
+ * opening the database file, validating the migrations and the schema, and rebuilding the in-memory indexes.
+ * The database is seeded once per trial with plain JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskStartupBenchmark {
+
+	private static final int SEED_CHUNK = 10_000;
+
+	private static final String INSERT_TASK = "INSERT INTO tasks (id, title, description, status, due_date, priority,"
+			+ " created_at, updated_at, owner) VALUES (NEXT VALUE FOR task_seq, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Param({"100000", "1000000"})
+	private int rows;
+
+	private Path directory;
+
+	private Path storagePath;
+
+	@Setup(Level.Trial)
+	public void seed() throws IOException {
+		directory = Files.createTempDirectory("task-startup-benchmark");
+		storagePath = directory.resolve("taskdb");
+		try (ConfigurableApplicationContext context = BenchmarkApplication.startDurable(storagePath)) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			for (int from = 0; from < rows; from += SEED_CHUNK) {
+				jdbcTemplate.batchUpdate(INSERT_TASK, new SeedChunk(from, Math.min(SEED_CHUNK, rows - from)));
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteDatabase() {
+		BenchmarkApplication.delete(directory);
+	}
+
+	/**
+	 * Starts the application on the seeded database and shuts it down again.
+	 */
+	@Benchmark
+	public void startAndStop() {
+		BenchmarkApplication.startDurable(storagePath).close();
+	}
+
+	/**
+	 * Binds one chunk of generated tasks to the insert statement.
+	 */
+	private record SeedChunk(int first, int size) implements BatchPreparedStatementSetter {
+
+		@Override
+		public void setValues(PreparedStatement statement, int i) throws SQLException {
+			Task task = TaskFixtures.storedTask(first + i);
+			statement.setString(1, task.getTitle());
+			statement.setString(2, task.getDescription());
+			statement.setString(3, task.getStatus().name());
+			statement.setTimestamp(4, Timestamp.valueOf(task.getDueDate()));
+			statement.setInt(5, task.getPriority());
+			statement.setTimestamp(6, Timestamp.valueOf(task.getCreatedAt()));
+			statement.setTimestamp(7, Timestamp.valueOf(task.getUpdatedAt()));
+			statement.setString(8, task.getOwner());
+		}
+
+		@Override
+		public int getBatchSize() {
+			return size;
+		}
+	}
+}
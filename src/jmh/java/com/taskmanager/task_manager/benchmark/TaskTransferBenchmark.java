@@ -0,0 +1,131 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.service.TaskTransferService;
+import com.taskmanager.task_manager.service.transfer.TaskTransferFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full dump and restore of a durable database holding tasks, in CSV and in the binary format.
+ * The export writes to a stream discarding the bytes; the import reads the dump taken at setup from a
+ * file and replaces every stored task. Run it with a small heap to check that memory stays bounded,
+ * and with {@code -prof gc} for the allocation per dump.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskTransferBenchmark {
+
+	private static final int SEED_CHUNK = 10_000;
+
+	private static final String INSERT_TASK = "INSERT INTO tasks (id, title, description, status, due_date, priority,"
+			+ " created_at, updated_at, owner) VALUES (NEXT VALUE FOR task_seq, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Param({"100000", "1000000"})
+	private int rows;
+
+	@Param({"CSV", "BINARY"})
+	private TaskTransferFormat format;
+
+	private Path directory;
+
+	private Path dump;
+
+	private ConfigurableApplicationContext context;
+
+	private TaskTransferService transferService;
+
+	@Setup(Level.Trial)
+	public void seed() throws IOException {
+		directory = Files.createTempDirectory("task-transfer-benchmark");
+		context = BenchmarkApplication.startDurable(directory.resolve("taskdb"));
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		for (int from = 0; from < rows; from += SEED_CHUNK) {
+			jdbcTemplate.batchUpdate(INSERT_TASK, new SeedChunk(from, Math.min(SEED_CHUNK, rows - from)));
+		}
+		transferService = context.getBean(TaskTransferService.class);
+		dump = directory.resolve("tasks." + format.getExtension());
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(dump))) {
+			transferService.exportTasks(Task.DEFAULT_OWNER, format, output);
+		}
+		System.out.printf("%n%s dump of %d tasks: %d bytes%n", format, rows, Files.size(dump));
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		context.close();
+		BenchmarkApplication.delete(directory);
+	}
+
+	/**
+	 * Exports every task.
+	 */
+	@Benchmark
+	public long exportTasks() throws IOException {
+		return transferService.exportTasks(Task.DEFAULT_OWNER, format, OutputStream.nullOutputStream());
+	}
+
+	/**
+	 * Imports the dump over the stored tasks.
+	 */
+	@Benchmark
+	public Object importTasks() throws IOException {
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(dump))) {
+			return transferService.importTasks(Task.DEFAULT_OWNER, format, input);
+		}
+	}
+
+	/**
+	 * Binds one chunk of generated tasks to the insert statement.
+	 */
+	private record SeedChunk(int first, int size) implements BatchPreparedStatementSetter {
+
+		@Override
+		public void setValues(PreparedStatement statement, int i) throws SQLException {
+			Task task = TaskFixtures.storedTask(first + i);
+			statement.setString(1, task.getTitle());
+			statement.setString(2, task.getDescription());
+			statement.setString(3, task.getStatus().name());
+			statement.setTimestamp(4, Timestamp.valueOf(task.getDueDate()));
+			statement.setInt(5, task.getPriority());
+			statement.setTimestamp(6, Timestamp.valueOf(task.getCreatedAt()));
+			statement.setTimestamp(7, Timestamp.valueOf(task.getUpdatedAt()));
+			statement.setString(8, task.getOwner());
+		}
+
+		@Override
+		public int getBatchSize() {
+			return size;
+		}
+	}
+}
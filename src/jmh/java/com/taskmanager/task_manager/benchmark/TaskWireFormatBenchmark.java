@@ -0,0 +1,116 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.task_manager.config.JacksonConfig;
+import com.taskmanager.task_manager.config.SerializationFormatConfig;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the representations of task lists the API can answer with: the CPU time to serialize a list,
+ * with and without the gzip compression the server applies, and the bytes sent on the wire, printed at
+ * setup. The mappers are configured like the application's message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskWireFormatBenchmark {
+
+	/**
+	 * Representation of a task list.
+	 */
+	public enum Format {
+		JSON, COMPACT_JSON, CBOR
+	}
+
+	@Param({"1000", "100000"})
+	private int size;
+
+	@Param({"JSON", "COMPACT_JSON", "CBOR"})
+	private Format format;
+
+	@Param({"false", "true"})
+	private boolean gzip;
+
+	private List<TaskResponse> tasks;
+
+	private ObjectWriter writer;
+
+	@Setup
+	public void setUp() throws IOException {
+		tasks = TaskFixtures.responses(size);
+		ObjectMapper objectMapper = mapper(format);
+		writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+				.constructCollectionType(List.class, TaskResponse.class));
+		ByteCounter counter = new ByteCounter();
+		write(counter);
+		System.out.printf("%n%s%s list of %d tasks: %d bytes%n", format, gzip ? " (gzip)" : "", size, counter.count);
+	}
+
+	/**
+	 * Serializes the list to a sink, compressing it first when gzip is on.
+	 */
+	@Benchmark
+	public void serialize() throws IOException {
+		write(OutputStream.nullOutputStream());
+	}
+
+	private void write(OutputStream sink) throws IOException {
+		if (gzip) {
+			// Tomcat compresses with the default level and an 8 KB buffer too
+			try (GZIPOutputStream output = new GZIPOutputStream(sink, 8192)) {
+				writer.writeValue(output, tasks);
+			}
+		} else {
+			writer.writeValue(sink, tasks);
+		}
+	}
+
+	private static ObjectMapper mapper(Format format) {
+		Jackson2ObjectMapperBuilder builder = format == Format.CBOR
+				? Jackson2ObjectMapperBuilder.cbor() : Jackson2ObjectMapperBuilder.json();
+		builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		new JacksonConfig().taskFieldsFilter().customize(builder);
+		return format == Format.COMPACT_JSON ? SerializationFormatConfig.compactMapper(builder) : builder.build();
+	}
+
+	/**
+	 * Discards the bytes written to it and counts them.
+	 */
+	private static final class ByteCounter extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.taskmanager.task_manager.benchmark;
+
+import com.taskmanager.task_manager.controller.dto.BatchResponse;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.service.TaskBatchService;
+import com.taskmanager.task_manager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures task creation throughput against the durable file-backed store, one task per transaction
+ * and in batches, for several H2 write delays (0 writes every commit to disk immediately).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(4)
+public class TaskWriteBenchmark {
+
+	private static final int BATCH_SIZE = 100;
+
+	@Param({"0", "500"})
+	private int writeDelayMs;
+
+	private Path directory;
+
+	private ConfigurableApplicationContext context;
+
+	private TaskService taskService;
+
+	private TaskBatchService taskBatchService;
+
+	private TaskRequest request;
+
+	private List<TaskRequest> batch;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("task-write-benchmark");
+		context = BenchmarkApplication.startDurable(directory.resolve("taskdb"),
+				"--task-manager.storage.write-delay-ms=" + writeDelayMs);
+		taskService = context.getBean(TaskService.class);
+		taskBatchService = context.getBean(TaskBatchService.class);
+		request = toRequest(1);
+		batch = new ArrayList<>(BATCH_SIZE);
+		for (int n = 0; n < BATCH_SIZE; n++) {
+			batch.add(toRequest(n));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		BenchmarkApplication.delete(directory);
+	}
+
+	/**
+	 * Creates one task in its own transaction, as POST /api/tasks does.
+	 */
+	@Benchmark
+	public TaskResponse createTask() {
+		return taskService.createTask(Task.DEFAULT_OWNER, request);
+	}
+
+	/**
+	 * Creates tasks through the batch service, as POST /api/tasks/batch does; the score is in tasks per second.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public BatchResponse createTasksInBatch() {
+		return taskBatchService.createTasks(Task.DEFAULT_OWNER, batch);
+	}
+
+	private static TaskRequest toRequest(int n) {
+		Task task = TaskFixtures.newTask(n);
+		TaskRequest taskRequest = new TaskRequest();
+		taskRequest.setTitle(task.getTitle());
+		taskRequest.setDescription(task.getDescription());
+		taskRequest.setDueDate(task.getDueDate());
+		taskRequest.setPriority(task.getPriority());
+		return taskRequest;
+	}
+}
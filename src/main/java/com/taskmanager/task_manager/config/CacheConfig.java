@@ -0,0 +1,105 @@
+package com.taskmanager.task_manager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Configuration class for the task read caches.
+ * Uses Caffeine (W-TinyLFU eviction) with bounded size and a time-to-live per cache,
+ * and records statistics so hits, misses and evictions are published as cache metrics.
+ * When virtual threads are enabled the caches are built in async mode: Caffeine then runs a miss
+ * ({@code @Cacheable(sync = true)} loads included) on its own virtual thread instead of inside a
+ * {@code ConcurrentHashMap.compute} lock, where a blocking JDBC call would pin the caller's carrier thread.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of single tasks, keyed by owner and task id.
+     */
+    public static final String TASKS_CACHE = "tasks";
+
+    /**
+     * Cache of the task lists returned per status, keyed by owner and status.
+     */
+    public static final String TASKS_BY_STATUS_CACHE = "tasksByStatus";
+
+    /**
+     * Cache of the task lists returned per priority, keyed by owner and priority.
+     */
+    public static final String TASKS_BY_PRIORITY_CACHE = "tasksByPriority";
+
+    /**
+     * Condition of the priority list cache: only the priority levels tasks are meant to have
+     * (1=High, 2=Medium, 3=Low) are cached, so requests for arbitrary priorities cannot fill the cache
+     * with empty lists and evict the useful ones. Other levels are read from the database every time.
+     */
+    public static final String CACHED_PRIORITY_CONDITION = "#priority != null && #priority >= 1 && #priority <= 3";
+
+    @Value("${task-manager.cache.task.max-size:10000}")
+    private long taskMaxSize;
+
+    @Value("${task-manager.cache.task.ttl:PT10M}")
+    private Duration taskTtl;
+
+    @Value("${task-manager.cache.list.max-rows:200000}")
+    private long listMaxRows;
+
+    @Value("${task-manager.cache.list.ttl:PT30S}")
+    private Duration listTtl;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Creates the cache manager holding the task caches.
+     * List caches are bounded by the total number of rows they hold rather than by the number of lists,
+     * since a single status bucket can contain most of the tasks.
+     *
+     * @return the configured CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        register(cacheManager, TASKS_CACHE, Caffeine.newBuilder()
+                .maximumSize(taskMaxSize)
+                .expireAfterWrite(taskTtl)
+                .recordStats());
+        for (String listCache : new String[] {TASKS_BY_STATUS_CACHE, TASKS_BY_PRIORITY_CACHE}) {
+            register(cacheManager, listCache, Caffeine.newBuilder()
+                    .maximumWeight(listMaxRows)
+                    .weigher((Object key, Object value) -> Math.max(1, ((Collection<?>) value).size()))
+                    .expireAfterWrite(listTtl)
+                    .recordStats());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Builds a cache from its specification and registers it, in async mode when virtual threads are enabled.
+     *
+     * @param cacheManager the cache manager
+     * @param name the cache name
+     * @param builder the cache specification
+     */
+    private void register(CaffeineCacheManager cacheManager, String name, Caffeine<Object, Object> builder) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor loader = new SimpleAsyncTaskExecutor(name + "-load-");
+            loader.setVirtualThreads(true);
+            cacheManager.registerCustomCache(name, builder.executor(loader).buildAsync());
+        } else {
+            cacheManager.registerCustomCache(name, builder.build());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskmanager.task_manager.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the JSON serialization of API responses.
+ * Attaches a property filter to TaskResponse so list endpoints can return only the fields a client
+ * asks for. The filter serializes every field unless a response overrides it, and it is only
+ * registered on the application's ObjectMapper, so the DTO itself stays free of Jackson annotations.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Id of the property filter applied to TaskResponse.
+     */
+    public static final String TASK_FIELDS_FILTER = "taskFields";
+
+    /**
+     * Registers the TaskResponse property filter, serializing every field by default.
+     *
+     * @return the customizer of the application's ObjectMapper
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer taskFieldsFilter() {
+        return builder -> builder
+                .mixIn(TaskResponse.class, TaskResponseFilter.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Mix-in putting the field selection filter on TaskResponse.
+     */
+    @JsonFilter(TASK_FIELDS_FILTER)
+    private interface TaskResponseFilter {
+    }
+}
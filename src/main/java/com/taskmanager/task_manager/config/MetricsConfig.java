@@ -0,0 +1,35 @@
+package com.taskmanager.task_manager.config;
+
+import com.taskmanager.task_manager.metrics.JdbcStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the persistence metrics that need a hook into Hibernate.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Creates the counter of JDBC statements per request.
+     *
+     * @return the statement counter
+     */
+    @Bean
+    public JdbcStatementCounter jdbcStatementCounter() {
+        return new JdbcStatementCounter();
+    }
+
+    /**
+     * Registers the statement counter as Hibernate's statement inspector.
+     *
+     * @param jdbcStatementCounter the statement counter
+     * @return the customizer adding the inspector to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(JdbcStatementCounter jdbcStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, jdbcStatementCounter);
+    }
+}
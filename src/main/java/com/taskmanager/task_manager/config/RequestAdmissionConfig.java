@@ -0,0 +1,24 @@
+package com.taskmanager.task_manager.config;
+
+import com.taskmanager.task_manager.controller.limit.RequestAdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class applying the rate and concurrency limits of {@link RequestAdmissionInterceptor}
+ * to the REST API, when task-manager.limits.enabled is set. The web UI is not limited.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RequestAdmissionConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<RequestAdmissionInterceptor> admissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        admissionInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskmanager.task_manager.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class for the representations the REST API can answer with, besides plain JSON.
+ * Clients pick one with the Accept header:
+ * <ul>
+ *     <li>{@code application/cbor}: the same documents encoded in CBOR, a binary format that
+ *     needs no quoting or escaping and stores numbers in binary</li>
+ *     <li>{@code application/vnd.task-manager.compact+json}: JSON without null fields and without
+ *     the task descriptions, the largest field by far, for list views that do not show them</li>
+ * </ul>
+ * Both mappers are built from the application's ObjectMapper builder, so they share its date format,
+ * modules and field selection filter; an explicit {@code fields} selection overrides the compact
+ * view. Plain JSON stays the representation of requests accepting any type.
+ */
+@Configuration
+public class SerializationFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Media type of the compact JSON view, as a string.
+     */
+    public static final String COMPACT_JSON_VALUE = "application/vnd.task-manager.compact+json";
+
+    /**
+     * Media type of the compact JSON view.
+     */
+    public static final MediaType COMPACT_JSON = MediaType.parseMediaType(COMPACT_JSON_VALUE);
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public SerializationFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    /**
+     * Creates the CBOR converter; it takes the place of the default one, whose mapper is not
+     * configured like the application's.
+     *
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+
+    /**
+     * Puts the compact JSON converter first: the default JSON converter accepts every {@code +json}
+     * type and would otherwise write the compact type itself, with the full mapper.
+     *
+     * @param converters the configured message converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new CompactJsonHttpMessageConverter(compactMapper(builders.getObject())));
+    }
+
+    /**
+     * Builds the mapper of the compact view: null fields are left out and the field selection filter
+     * drops the description unless the response sets its own selection.
+     *
+     * @param builder a fresh builder configured like the application's ObjectMapper
+     * @return the compact mapper
+     */
+    public static ObjectMapper compactMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .filters(new SimpleFilterProvider().addFilter(JacksonConfig.TASK_FIELDS_FILTER,
+                        SimpleBeanPropertyFilter.serializeAllExcept("description")))
+                .build();
+    }
+
+    /**
+     * JSON converter writing only when the client explicitly accepts the compact media type. As it
+     * comes first, it must not offer its type to requests accepting any type.
+     */
+    private static final class CompactJsonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+        private CompactJsonHttpMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper, COMPACT_JSON);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+            return mediaType != null && mediaType.equalsTypeAndSubtype(COMPACT_JSON) && super.canWrite(clazz, mediaType);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.task_manager.config;
+
+import com.taskmanager.task_manager.controller.TaskOwner;
+import com.taskmanager.task_manager.controller.TaskOwnerArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class resolving the owner of the tasks each request acts on, for the controller
+ * parameters annotated with {@link TaskOwner}.
+ */
+@Configuration
+public class TaskOwnerConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new TaskOwnerArgumentResolver());
+    }
+}
@@ -1,19 +1,83 @@
 package com.taskmanager.task_manager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taskmanager.task_manager.config.JacksonConfig;
+import com.taskmanager.task_manager.config.SerializationFormatConfig;
+import com.taskmanager.task_manager.controller.dto.BatchResponse;
+import com.taskmanager.task_manager.controller.dto.IngestTicket;
+import com.taskmanager.task_manager.controller.dto.TaskBatchUpdateRequest;
+import com.taskmanager.task_manager.controller.dto.TaskImportResult;
+import com.taskmanager.task_manager.controller.dto.TaskPatchRequest;
+import com.taskmanager.task_manager.controller.dto.TaskQueryRequest;
 import com.taskmanager.task_manager.controller.dto.TaskRequest;
 import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.controller.dto.TaskStamp;
+import com.taskmanager.task_manager.controller.dto.TaskStats;
+import com.taskmanager.task_manager.controller.limit.Sheddable;
+import com.taskmanager.task_manager.exception.TaskIngestionUnavailableException;
+import com.taskmanager.task_manager.exception.TaskPreconditionFailedException;
 import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.SearchMode;
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import com.taskmanager.task_manager.service.TaskBatchService;
 import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.TaskTransferService;
+import com.taskmanager.task_manager.service.feed.TaskChangeFeed;
+import com.taskmanager.task_manager.service.ingest.TaskIngestion;
+import com.taskmanager.task_manager.service.transfer.TaskTransferFormat;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * REST API controller for task management operations.
  * Provides endpoints for CRUD operations and task-related functionalities.
  * Cross-origin requests are allowed from any domain.
+ * Single tasks and listings carry an ETag (single tasks also a Last-Modified date), so polling
+ * clients can revalidate with {@code If-None-Match} and get a 304 without the data being read again.
+ * Responses come as JSON, compact JSON or CBOR depending on the Accept header (see
+ * {@link SerializationFormatConfig}). Listing ETags are weak and name the representation, as the
+ * server compresses large responses and does not compress those carrying a strong ETag.
+ * The ETag of a single task is strong and made of its version and the representation, e.g.
+ * {@code "7"} for JSON and {@code "7-cbor"} for CBOR: sent back in {@code If-Match}, any of them turns
+ * PUT and PATCH into conditional writes that fail with 412 when someone else changed the task in between.
+ * Listings accept a {@code fields} parameter naming the task fields to return, e.g.
+ * {@code fields=id,title,status}; when it leaves out the description, the description is not read either.
+ * Every endpoint acts on the tasks of the owner named by the {@value TaskOwner#HEADER} header (the default
+ * owner when absent): tasks of other owners are never listed, and are not found when asked for by id.
+ * Cacheable responses vary by that header.
+ * Completed and cancelled tasks are eventually archived; the listings, searches and lookups that accept
+ * an {@code archived=true} parameter then include the archived tasks, which are otherwise left out. The
+ * paged, query, due-date and streaming endpoints always read the active tasks only.
+ * Requests are subject to per-client rate limits and to an adaptive concurrency limit (see
+ * {@link com.taskmanager.task_manager.controller.limit.RequestAdmissionInterceptor}); the {@link Sheddable}
+ * listing, search, stream and export endpoints are refused first under load, with 429 or 503.
  */
 @RestController
 @RequestMapping("/api/tasks")
@@ -22,116 +86,873 @@ import java.util.List;
 public class TaskController {
     
     private final TaskService taskService;
+
+    private final TaskBatchService taskBatchService;
+
+    private final TaskArchiveService taskArchiveService;
+
+    private final TaskChangeFeed taskChangeFeed;
+
+    private final TaskTransferService taskTransferService;
+
+    /**
+     * Asynchronous ingestion, present when task-manager.ingest.enabled is set.
+     */
+    private final ObjectProvider<TaskIngestion> taskIngestion;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Default number of tasks returned by the paginated endpoints.
+     */
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    /**
+     * Number of NDJSON lines written between two flushes of the response stream.
+     */
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+
+    /**
+     * Media type of JSON Merge Patch documents.
+     */
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    /**
+     * Lets clients store responses but makes them revalidate before each reuse.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    /**
+     * Orders accepted media types from the most to the least preferred.
+     */
+    private static final Comparator<MediaType> BY_QUALITY =
+            Comparator.comparingDouble(MediaType::getQualityValue).reversed();
+
+    /**
+     * ETag suffixes of the representations other than JSON.
+     */
+    private static final String CBOR_SUFFIX = "-cbor";
+
+    private static final String COMPACT_JSON_SUFFIX = "-compact";
+
+    /**
+     * Names of the task fields that can be selected with the {@code fields} parameter.
+     */
+    private static final Set<String> TASK_FIELDS = Set.of(
+            "id", "title", "description", "status", "dueDate", "priority", "createdAt", "updatedAt", "version");
     
     /**
      * Retrieves all tasks from the system.
      *
-     * @return ResponseEntity containing a list of all tasks
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param fields the task fields to return, or null for all of them
+     * @param archived whether to include the archived tasks
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing a list of all tasks, or 304 if the client copy is current
      */
+    @Sheddable
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<MappingJacksonValue> getAllTasks(
+            @TaskOwner String owner,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(defaultValue = "false") boolean archived,
+            WebRequest request) {
+        // Archiving a task moves the version of the active tasks, so it also versions the archive-inclusive list
+        return conditional(request, taskService.getTasksVersion(owner), fields, archived
+                ? () -> taskArchiveService.getAllTasks(owner, withDescription(fields))
+                : () -> taskService.getAllTasks(owner, withDescription(fields)));
     }
     
     /**
      * Retrieves a specific task by its ID.
      *
+     * The ETag names the task's version and Last-Modified is its last modification time; both are read
+     * on their own first, so an unchanged task is answered with a 304 without being loaded. An
+     * archive-inclusive lookup loads the task before comparing them, and answers a 304 as well.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param id the ID of the task to retrieve
-     * @return ResponseEntity containing the task details
+     * @param archived whether to look the task up in the archive too when it is not active
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing the task details, or 304 if the client copy is current
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskResponse> getTaskById(@TaskOwner String owner, @PathVariable Long id,
+                                                    @RequestParam(defaultValue = "false") boolean archived,
+                                                    WebRequest request) {
+        if (archived) {
+            // An archived task has no stamp of its own to read first
+            TaskResponse task = taskArchiveService.getTaskById(owner, id);
+            String eTag = taskETag(task.getVersion(), request);
+            long lastModified = epochMillis(task.getUpdatedAt());
+            return request.checkNotModified(eTag, lastModified)
+                    ? notModified(eTag, lastModified)
+                    : withValidators(task, request);
+        }
+        TaskStamp stamp = taskService.getTaskStamp(owner, id);
+        String eTag = taskETag(stamp.getVersion(), request);
+        long lastModified = epochMillis(stamp.getUpdatedAt());
+        if (request.checkNotModified(eTag, lastModified)) {
+            return notModified(eTag, lastModified);
+        }
+        return withValidators(taskService.getTaskById(owner, id), request);
     }
     
     /**
      * Creates a new task in the system.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param taskRequest the task data to create
      * @return ResponseEntity containing the created task details
      */
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest taskRequest) {
-        return ResponseEntity.ok(taskService.createTask(taskRequest));
+    public ResponseEntity<TaskResponse> createTask(@TaskOwner String owner, @Valid @RequestBody TaskRequest taskRequest) {
+        return ResponseEntity.ok(taskService.createTask(owner, taskRequest));
+    }
+
+    /**
+     * Accepts a task for asynchronous creation, for clients sending bursts of tasks.
+     * The task is validated and written to the ingestion journal, then created in a later batch;
+     * its state can be followed at the returned Location.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param taskRequest the task data to create
+     * @return ResponseEntity with status 202 and the ticket of the accepted task
+     * @throws TaskIngestionUnavailableException if ingestion is disabled, stopping or saturated
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<IngestTicket> ingestTask(@TaskOwner String owner, @Valid @RequestBody TaskRequest taskRequest) {
+        long ticket = ingestion().accept(owner, taskRequest);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{ticket}").buildAndExpand(ticket).toUri())
+                .body(new IngestTicket(ticket, IngestTicket.Status.QUEUED, null, null));
+    }
+
+    /**
+     * Retrieves the state of a task accepted for asynchronous creation.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param ticket the ticket returned when the task was accepted
+     * @return ResponseEntity containing the ticket state, with the task id once created
+     */
+    @GetMapping("/ingest/{ticket}")
+    public ResponseEntity<IngestTicket> getIngestTicket(@TaskOwner String owner, @PathVariable long ticket) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(ingestion().getTicket(owner, ticket));
     }
     
     /**
      * Updates an existing task with new data.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param id the ID of the task to update
      * @param taskRequest the updated task data
-     * @return ResponseEntity containing the updated task details
+     * @param ifMatch the ETag the change is based on; when present, the update is rejected
+     *                with 412 if the task has been modified since
+     * @param request the current request, for the representation named by the ETag
+     * @return ResponseEntity containing the updated task details and its new ETag
      */
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
+            @TaskOwner String owner,
             @PathVariable Long id, 
-            @Valid @RequestBody TaskRequest taskRequest) {
-        return ResponseEntity.ok(taskService.updateTask(id, taskRequest));
+            @Valid @RequestBody TaskRequest taskRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
+        return withValidators(taskService.updateTask(owner, id, taskRequest, expectedVersion(ifMatch)), request);
+    }
+    
+    /**
+     * Partially updates a task with a JSON Merge Patch (RFC 7396): members present in the body are
+     * changed, a null member clears the field, absent members are left alone. Only the changed
+     * columns are written, and a patch that changes nothing writes nothing.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param id the ID of the task to patch
+     * @param patch the fields to change
+     * @param ifMatch the ETag the change is based on; when present, the patch is rejected
+     *                with 412 if the task has been modified since
+     * @param request the current request, for the representation named by the ETag
+     * @return ResponseEntity containing the patched task details and its ETag
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskResponse> patchTask(
+            @TaskOwner String owner,
+            @PathVariable Long id,
+            @Valid @RequestBody TaskPatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
+        return withValidators(taskService.patchTask(owner, id, patch, expectedVersion(ifMatch)), request);
     }
     
     /**
      * Deletes a task from the system.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param id the ID of the task to delete
      * @return ResponseEntity with no content (HTTP 204)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        taskService.deleteTask(id);
+    public ResponseEntity<Void> deleteTask(@TaskOwner String owner, @PathVariable Long id) {
+        taskService.deleteTask(owner, id);
         return ResponseEntity.noContent().build();
     }
     
     /**
      * Retrieves tasks filtered by their status.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param status the task status to filter by
-     * @return ResponseEntity containing a list of tasks with the specified status
+     * @param fields the task fields to return, or null for all of them
+     * @param archived whether to include the archived tasks
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing a list of tasks with the specified status, or 304 if the client copy is current
      */
+    @Sheddable
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TaskResponse>> getTasksByStatus(@PathVariable TaskStatus status) {
-        return ResponseEntity.ok(taskService.getTasksByStatus(status));
+    public ResponseEntity<MappingJacksonValue> getTasksByStatus(
+            @TaskOwner String owner,
+            @PathVariable TaskStatus status,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(defaultValue = "false") boolean archived,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksByStatusVersion(owner, status), fields, archived
+                ? () -> taskArchiveService.getTasksByStatus(owner, status)
+                : () -> taskService.getTasksByStatus(owner, status));
     }
     
     /**
      * Retrieves tasks filtered by their priority level.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
-     * @return ResponseEntity containing a list of tasks with the specified priority
+     * @param fields the task fields to return, or null for all of them
+     * @param archived whether to include the archived tasks
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing a list of tasks with the specified priority, or 304 if the client copy is current
      */
+    @Sheddable
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<TaskResponse>> getTasksByPriority(@PathVariable Integer priority) {
-        return ResponseEntity.ok(taskService.getTasksByPriority(priority));
+    public ResponseEntity<MappingJacksonValue> getTasksByPriority(
+            @TaskOwner String owner,
+            @PathVariable Integer priority,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(defaultValue = "false") boolean archived,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksByPriorityVersion(owner, priority), fields, archived
+                ? () -> taskArchiveService.getTasksByPriority(owner, priority)
+                : () -> taskService.getTasksByPriority(owner, priority));
     }
     
     /**
-     * Searches tasks by keyword in title or description.
+     * Searches tasks by keyword in title or description, most relevant first.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param keyword the search term to look for
-     * @return ResponseEntity containing a list of tasks matching the search criteria
+     * @param mode how each word is matched: EXACT, PREFIX (default) or FUZZY (typo-tolerant)
+     * @param fields the task fields to return, or null for all of them
+     * @param archived whether to include the archived tasks, listed after the active ones
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing a list of tasks matching the search criteria, or 304 if the client copy is current
      */
+    @Sheddable
     @GetMapping("/search")
-    public ResponseEntity<List<TaskResponse>> searchTasks(@RequestParam String keyword) {
-        return ResponseEntity.ok(taskService.searchTasks(keyword));
+    public ResponseEntity<MappingJacksonValue> searchTasks(
+            @TaskOwner String owner,
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(defaultValue = "false") boolean archived,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksVersion(owner), fields, archived
+                ? () -> taskArchiveService.searchTasks(owner, keyword, mode)
+                : () -> taskService.searchTasks(owner, keyword, mode));
     }
     
     /**
      * Marks a specific task as completed.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
      * @param id the ID of the task to mark as completed
-     * @return ResponseEntity containing the updated task details
+     * @param ifMatch the ETag the change is based on; when present, the completion is
+     *                rejected with 412 if the task has been modified since
+     * @param request the current request, for the representation named by the ETag
+     * @return ResponseEntity containing the updated task details and its new ETag
      */
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<TaskResponse> markTaskAsCompleted(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.markTaskAsCompleted(id));
+    public ResponseEntity<TaskResponse> markTaskAsCompleted(
+            @TaskOwner String owner,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
+        return withValidators(taskService.markTaskAsCompleted(owner, id, expectedVersion(ifMatch)), request);
     }
     
     /**
      * Retrieves tasks that are overdue (past due date and not completed).
+     * Not conditional: the result changes as time passes, without any task being written.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param fields the task fields to return, or null for all of them
+     * @param archived whether to include the archived tasks
      * @return ResponseEntity containing a list of overdue tasks
      */
+    @Sheddable
     @GetMapping("/overdue")
-    public ResponseEntity<List<TaskResponse>> getOverdueTasks() {
-        return ResponseEntity.ok(taskService.getOverdueTasks());
+    public ResponseEntity<MappingJacksonValue> getOverdueTasks(@TaskOwner String owner,
+                                                               @RequestParam(required = false) Set<String> fields,
+                                                               @RequestParam(defaultValue = "false") boolean archived) {
+        return ResponseEntity.ok(selectFields(archived
+                ? taskArchiveService.getOverdueTasks(owner)
+                : taskService.getOverdueTasks(owner), fields));
+    }
+
+    /**
+     * Retrieves the number of tasks per status, per priority and per status and priority, and the
+     * number of overdue tasks. Served from in-memory counters, so dashboards can poll it cheaply.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @return ResponseEntity containing the task statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getTaskStats(@TaskOwner String owner) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(taskService.getTaskStats(owner));
+    }
+
+    /**
+     * Retrieves tasks with due dates within a time range (both ends inclusive), ordered by due date.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param start the start date/time of the range in ISO format (e.g. 2024-12-01T00:00:00)
+     * @param end the end date/time of the range in ISO format (e.g. 2024-12-31T23:59:59)
+     * @param fields the task fields to return, or null for all of them
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing a list of tasks due between the specified dates, or 304 if the client copy is current
+     */
+    @Sheddable
+    @GetMapping("/due")
+    public ResponseEntity<MappingJacksonValue> getTasksDueBetween(
+            @TaskOwner String owner,
+            @RequestParam String start,
+            @RequestParam String end,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksVersion(owner), fields,
+                () -> taskService.getTasksDueBetween(owner, start, end));
+    }
+
+    /**
+     * Retrieves one page of all tasks ordered by id.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param cursor the cursor returned by the previous page (omit for the first page)
+     * @param size the maximum number of tasks in the page
+     * @param fields the task fields to return, or null for all of them
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing the page and the cursor of the next one, or 304 if the client copy is current
+     */
+    @Sheddable
+    @GetMapping("/page")
+    public ResponseEntity<MappingJacksonValue> getAllTasksPage(
+            @TaskOwner String owner,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksVersion(owner), fields,
+                () -> taskService.getAllTasksPage(owner, cursor, size, withDescription(fields)));
+    }
+
+    /**
+     * Retrieves one page of tasks with the given status ordered by id.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param status the task status to filter by
+     * @param cursor the cursor returned by the previous page (omit for the first page)
+     * @param size the maximum number of tasks in the page
+     * @param fields the task fields to return, or null for all of them
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing the page and the cursor of the next one, or 304 if the client copy is current
+     */
+    @Sheddable
+    @GetMapping("/status/{status}/page")
+    public ResponseEntity<MappingJacksonValue> getTasksByStatusPage(
+            @TaskOwner String owner,
+            @PathVariable TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksByStatusVersion(owner, status), fields,
+                () -> taskService.getTasksByStatusPage(owner, status, cursor, size, withDescription(fields)));
+    }
+
+    /**
+     * Retrieves one page of tasks with the given priority ordered by id.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
+     * @param cursor the cursor returned by the previous page (omit for the first page)
+     * @param size the maximum number of tasks in the page
+     * @param fields the task fields to return, or null for all of them
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing the page and the cursor of the next one, or 304 if the client copy is current
+     */
+    @Sheddable
+    @GetMapping("/priority/{priority}/page")
+    public ResponseEntity<MappingJacksonValue> getTasksByPriorityPage(
+            @TaskOwner String owner,
+            @PathVariable Integer priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksByPriorityVersion(owner, priority), fields,
+                () -> taskService.getTasksByPriorityPage(owner, priority, cursor, size, withDescription(fields)));
+    }
+
+    /**
+     * Retrieves one page of the tasks matching every given criterion: statuses, priority range,
+     * due date window and keyword, sorted by id, due date, priority, creation or update time.
+     * Runs as one database query with keyset pagination, instead of fetching several lists and
+     * intersecting them on the client.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param query the criteria and order, bound from the request parameters
+     * @param cursor the cursor returned by the previous page (omit for the first page)
+     * @param size the maximum number of tasks in the page
+     * @param fields the task fields to return, or null for all of them
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing the page and the cursor of the next one, or 304 if the client copy is current
+     */
+    @Sheddable
+    @GetMapping("/query")
+    public ResponseEntity<MappingJacksonValue> queryTasks(
+            @TaskOwner String owner,
+            @Valid TaskQueryRequest query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksVersion(owner), fields,
+                () -> taskService.queryTasks(owner, query, cursor, size, withDescription(fields)));
+    }
+
+    /**
+     * Retrieves one page of tasks matching the keyword in title or description, most relevant first.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param keyword the search term to look for
+     * @param mode how each word is matched: EXACT, PREFIX (default) or FUZZY (typo-tolerant)
+     * @param cursor the cursor returned by the previous page (omit for the first page)
+     * @param size the maximum number of tasks in the page
+     * @param fields the task fields to return, or null for all of them
+     * @param request the current request, for conditional GET
+     * @return ResponseEntity containing the page and the cursor of the next one, or 304 if the client copy is current
+     */
+    @Sheddable
+    @GetMapping("/search/page")
+    public ResponseEntity<MappingJacksonValue> searchTasksPage(
+            @TaskOwner String owner,
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "PREFIX") SearchMode mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest request) {
+        return conditional(request, taskService.getTasksVersion(owner), fields,
+                () -> taskService.searchTasksPage(owner, keyword, mode, cursor, size));
+    }
+
+    /**
+     * Retrieves one page of overdue tasks ordered by due date.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param cursor the cursor returned by the previous page (omit for the first page)
+     * @param size the maximum number of tasks in the page
+     * @param fields the task fields to return, or null for all of them
+     * @return ResponseEntity containing the page and the cursor of the next one
+     */
+    @Sheddable
+    @GetMapping("/overdue/page")
+    public ResponseEntity<MappingJacksonValue> getOverdueTasksPage(
+            @TaskOwner String owner,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(selectFields(taskService.getOverdueTasksPage(owner, cursor, size), fields));
+    }
+
+    /**
+     * Streams all tasks as newline-delimited JSON, one task per line.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @return ResponseEntity whose body is written while rows are read from the database
+     */
+    @Sheddable
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTasks(@TaskOwner String owner) {
+        return ndjson(consumer -> taskService.streamAllTasks(owner, consumer));
+    }
+
+    /**
+     * Streams tasks with the given status as newline-delimited JSON.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param status the task status to filter by
+     * @return ResponseEntity whose body is written while rows are read from the database
+     */
+    @Sheddable
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksByStatus(@TaskOwner String owner, @PathVariable TaskStatus status) {
+        return ndjson(consumer -> taskService.streamTasksByStatus(owner, status, consumer));
+    }
+
+    /**
+     * Streams tasks with the given priority as newline-delimited JSON.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
+     * @return ResponseEntity whose body is written while rows are read from the database
+     */
+    @Sheddable
+    @GetMapping(value = "/priority/{priority}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksByPriority(@TaskOwner String owner, @PathVariable Integer priority) {
+        return ndjson(consumer -> taskService.streamTasksByPriority(owner, priority, consumer));
+    }
+
+    /**
+     * Streams tasks matching the keyword as newline-delimited JSON, most relevant first.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param keyword the search term to look for
+     * @param mode how each word is matched: EXACT, PREFIX (default) or FUZZY (typo-tolerant)
+     * @return ResponseEntity whose body is written while rows are read from the database
+     */
+    @Sheddable
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchResults(
+            @TaskOwner String owner,
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "PREFIX") SearchMode mode) {
+        return ndjson(consumer -> taskService.streamSearchResults(owner, keyword, mode, consumer));
+    }
+
+    /**
+     * Streams overdue tasks as newline-delimited JSON.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @return ResponseEntity whose body is written while rows are read from the database
+     */
+    @Sheddable
+    @GetMapping(value = "/overdue/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOverdueTasks(@TaskOwner String owner) {
+        return ndjson(consumer -> taskService.streamOverdueTasks(owner, consumer));
+    }
+
+    /**
+     * Follows task changes live as server-sent events, one CREATED, UPDATED, DELETED or ARCHIVED event
+     * per committed change. Reconnecting clients resume after their {@code Last-Event-ID}; a {@code reset}
+     * event tells them that changes were missed and that they must reload.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param lastEventId the id of the last event received before reconnecting, if any
+     * @param status only follow tasks with this status (optional)
+     * @param priority only follow tasks with this priority (optional)
+     * @return the event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followChanges(
+            @TaskOwner String owner,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Integer priority) {
+        return taskChangeFeed.subscribe(owner, lastEventId, status, priority);
+    }
+
+    /**
+     * Creates many tasks in chunked transactions.
+     * Items are validated one by one; invalid items are reported without affecting the others.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param taskRequests the tasks to create
+     * @return ResponseEntity containing one result per submitted task
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createTasks(@TaskOwner String owner, @RequestBody List<TaskRequest> taskRequests) {
+        return ResponseEntity.ok(taskBatchService.createTasks(owner, taskRequests));
+    }
+
+    /**
+     * Updates many tasks in chunked transactions.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param updates the ids and new data of the tasks to update
+     * @return ResponseEntity containing one result per submitted update
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResponse> updateTasks(@TaskOwner String owner, @RequestBody List<TaskBatchUpdateRequest> updates) {
+        return ResponseEntity.ok(taskBatchService.updateTasks(owner, updates));
+    }
+
+    /**
+     * Deletes many tasks in chunked transactions.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param ids the ids of the tasks to delete
+     * @return ResponseEntity containing one result per submitted id
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse> deleteTasks(@TaskOwner String owner, @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskBatchService.deleteTasks(owner, ids));
+    }
+
+    /**
+     * Marks many tasks as completed in chunked transactions.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param ids the ids of the tasks to complete
+     * @return ResponseEntity containing one result per submitted id
+     */
+    @PatchMapping("/batch/complete")
+    public ResponseEntity<BatchResponse> completeTasks(@TaskOwner String owner, @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskBatchService.completeTasks(owner, ids));
+    }
+
+    /**
+     * Dumps every task, in id order, as CSV or in the compact binary format.
+     * Rows are written to the response as they are read from the database.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param format the format of the dump: CSV (default) or BINARY
+     * @return ResponseEntity whose body is written while rows are read from the database
+     */
+    @Sheddable
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@TaskOwner String owner, @RequestParam(defaultValue = "CSV") TaskTransferFormat format) {
+        StreamingResponseBody body = outputStream -> taskTransferService.exportTasks(owner, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getExtension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Restores tasks from a dump, whose format is given by the Content-Type.
+     * Records with an id create or replace the task with this id, records without id create new tasks;
+     * invalid records are skipped and reported. The body is read as it arrives and stored in chunks.
+     *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param contentType the media type of the dump
+     * @param body the dump
+     * @return ResponseEntity containing the counts of created, updated and failed records
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/import",
+            consumes = {TaskTransferFormat.CSV_MEDIA_TYPE_VALUE, TaskTransferFormat.BINARY_MEDIA_TYPE_VALUE})
+    public ResponseEntity<TaskImportResult> importTasks(
+            @TaskOwner String owner,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(taskTransferService.importTasks(owner, TaskTransferFormat.of(contentType), body));
+    }
+
+    /**
+     * Returns the asynchronous ingestion service.
+     *
+     * @throws TaskIngestionUnavailableException if ingestion is disabled
+     */
+    private TaskIngestion ingestion() {
+        TaskIngestion ingestion = taskIngestion.getIfAvailable();
+        if (ingestion == null) {
+            throw new TaskIngestionUnavailableException("Task ingestion is disabled");
+        }
+        return ingestion;
+    }
+
+    /**
+     * Answers a conditional GET on a listing whose state is identified by a collection version.
+     * The version is compared with the client's {@code If-None-Match} before the listing is built, so
+     * an unchanged listing costs neither a query nor serialization.
+     * <p>
+     * The ETag is weak, so the listing can be compressed, and combines the version with the
+     * representation the client accepts: a JSON and a CBOR copy of the same listing never match.
+     *
+     * @param request the current request
+     * @param version the collection version
+     * @param fields the task fields to return, or null for all of them
+     * @param body computes the listing, only when the client copy is stale
+     * @return ResponseEntity with the listing, or 304 if the client copy is current
+     */
+    private ResponseEntity<MappingJacksonValue> conditional(WebRequest request, String version, Set<String> fields,
+                                                            Supplier<?> body) {
+        String eTag = "W/\"" + version + representationSuffix(request) + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT, TaskOwner.HEADER)
+                    .cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT, TaskOwner.HEADER).cacheControl(REVALIDATE)
+                .body(selectFields(body.get(), fields));
+    }
+
+    /**
+     * Names the representation the Accept header of a request selects, for the ETags.
+     *
+     * @param request the current request
+     * @return an empty string for JSON, otherwise a suffix naming the representation
+     */
+    private static String representationSuffix(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .sorted(BY_QUALITY)
+                    .filter(type -> type.getQualityValue() > 0)
+                    .map(type -> {
+                        if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                            return CBOR_SUFFIX;
+                        }
+                        if (type.equalsTypeAndSubtype(SerializationFormatConfig.COMPACT_JSON)) {
+                            return COMPACT_JSON_SUFFIX;
+                        }
+                        return type.isCompatibleWith(MediaType.APPLICATION_JSON) ? "" : null;
+                    })
+                    .filter(suffix -> suffix != null)
+                    .findFirst()
+                    .orElse("");
+        } catch (InvalidMediaTypeException e) {
+            // content negotiation rejects the request anyway
+            return "";
+        }
+    }
+
+    /**
+     * Wraps a listing so that only the selected fields of its tasks are serialized.
+     *
+     * @param body the listing, a list of tasks or a page
+     * @param fields the task fields to return, or null for all of them
+     * @return the listing with its serialization filter
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    private static MappingJacksonValue selectFields(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null) {
+            for (String field : fields) {
+                if (!TASK_FIELDS.contains(field)) {
+                    throw new IllegalArgumentException("Unknown task field: " + field);
+                }
+            }
+            value.setFilters(new SimpleFilterProvider().addFilter(JacksonConfig.TASK_FIELDS_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+
+    /**
+     * Tells whether a field selection includes the description, the only field worth not reading.
+     *
+     * @param fields the task fields to return, or null for all of them
+     * @return true if the description must be read
+     */
+    private static boolean withDescription(Set<String> fields) {
+        return fields == null || fields.contains("description");
+    }
+
+    /**
+     * Returns a task with its ETag and its last modification time as Last-Modified.
+     *
+     * @param task the task
+     * @param request the current request, for the representation named by the ETag
+     * @return ResponseEntity with the task and its validators
+     */
+    private static ResponseEntity<TaskResponse> withValidators(TaskResponse task, WebRequest request) {
+        return ResponseEntity.ok().eTag(taskETag(task.getVersion(), request))
+                .lastModified(epochMillis(task.getUpdatedAt())).varyBy(HttpHeaders.ACCEPT, TaskOwner.HEADER)
+                .cacheControl(REVALIDATE).body(task);
+    }
+
+    /**
+     * Answers a conditional GET of a task whose client copy is current.
+     *
+     * @param eTag the ETag of the task
+     * @param lastModified the last modification time of the task, in epoch milliseconds
+     * @return ResponseEntity with status 304 and the validators of the task
+     */
+    private static ResponseEntity<TaskResponse> notModified(String eTag, long lastModified) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(lastModified)
+                .varyBy(HttpHeaders.ACCEPT, TaskOwner.HEADER).cacheControl(REVALIDATE).build();
+    }
+
+    /**
+     * Builds the strong ETag of a single task: each representation has its own bytes, so it gets its
+     * own tag for the same version.
+     *
+     * @param version the version of the task
+     * @param request the current request
+     * @return the quoted ETag
+     */
+    private static String taskETag(long version, WebRequest request) {
+        return "\"" + version + representationSuffix(request) + "\"";
+    }
+
+    /**
+     * Extracts the version a conditional write is based on from an If-Match header.
+     * The tag may be that of any representation of the task: the write depends on the version only.
+     *
+     * @param ifMatch the If-Match header value, or null
+     * @return the expected version, or null when the write is unconditional ({@code *} or no header)
+     * @throws TaskPreconditionFailedException if the header cannot match any version (weak or malformed tag)
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String version = tag.substring(1, tag.length() - 1);
+            if (version.endsWith(CBOR_SUFFIX) || version.endsWith(COMPACT_JSON_SUFFIX)) {
+                version = version.substring(0, version.lastIndexOf('-'));
+            }
+            try {
+                return Long.valueOf(version);
+            } catch (NumberFormatException e) {
+                // falls through to the rejection below
+            }
+        }
+        throw new TaskPreconditionFailedException("If-Match does not match any version of the task: " + ifMatch);
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Wraps a streaming service call into an NDJSON response body.
+     * Each task is serialized and written as soon as it is produced, and the output is flushed
+     * periodically so clients receive the first rows without waiting for the whole result.
+     *
+     * @param source the service call that pushes tasks into the given consumer
+     * @return ResponseEntity with the streaming body
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<TaskResponse>> source) {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            source.accept(task -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(task));
+                    outputStream.write('\n');
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 1) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.taskmanager.task_manager.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a String handler method parameter to the owner of the tasks a request acts on, taken from the
+ * {@value #HEADER} header by {@link TaskOwnerArgumentResolver}. Requests without the header act on the
+ * tasks of the default owner.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TaskOwner {
+
+    /**
+     * Name of the request header naming the owner.
+     */
+    String HEADER = "X-Task-Owner";
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.task_manager.controller;
+
+import com.taskmanager.task_manager.exception.InvalidTaskOwnerException;
+import com.taskmanager.task_manager.model.Task;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the parameters annotated with {@link TaskOwner} from the {@value TaskOwner#HEADER} header.
+ * An absent or blank header selects {@link Task#DEFAULT_OWNER}; any other value must be 1 to 64 letters,
+ * digits, dots, underscores or hyphens, as owners appear in cache keys and entity tags.
+ */
+public class TaskOwnerArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final Pattern OWNER = Pattern.compile("[A-Za-z0-9._-]{1," + Task.OWNER_MAX_LENGTH + "}");
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(TaskOwner.class) && parameter.getParameterType() == String.class;
+    }
+
+    /**
+     * Returns the owner named by the request.
+     *
+     * @throws InvalidTaskOwnerException if the header is not a valid owner key
+     */
+    @Override
+    public String resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String owner = webRequest.getHeader(TaskOwner.HEADER);
+        if (owner == null || owner.isBlank()) {
+            return Task.DEFAULT_OWNER;
+        }
+        owner = owner.strip();
+        if (!OWNER.matcher(owner).matches()) {
+            throw new InvalidTaskOwnerException("Invalid " + TaskOwner.HEADER + " header: " + owner);
+        }
+        return owner;
+    }
+}
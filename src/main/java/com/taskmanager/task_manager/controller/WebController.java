@@ -1,7 +1,11 @@
 package com.taskmanager.task_manager.controller;
 
+import com.taskmanager.task_manager.controller.view.TaskTableRenderer;
 import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
 import com.taskmanager.task_manager.service.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +17,10 @@ import java.time.LocalDateTime;
 /**
  * Web controller for handling task management UI operations.
  * Provides endpoints for the web interface of the Task Manager application.
+ * The home page lists the tasks one page at a time, so it renders in the same time whatever the
+ * number of tasks; the table itself is rendered by {@link TaskTableRenderer}, which caches it.
+ * Like the API, the page shows and changes the tasks of the owner named by the
+ * {@value TaskOwner#HEADER} header.
  */
 @Controller
 @RequestMapping("/")
@@ -20,29 +28,67 @@ public class WebController {
     
     private final TaskService taskService;
 
+    private final TaskTableRenderer taskTableRenderer;
+
     /**
      * Constant for redirecting to the home page.
      */
     private static final String REDIRECT_HOME = "redirect:/";
+
+    /**
+     * Default number of tasks per page of the home page.
+     */
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
+    /**
+     * Largest number of tasks per page of the home page.
+     */
+    private static final int MAX_PAGE_SIZE = 100;
     
     /**
-     * Constructor for dependency injection of TaskService.
+     * Constructor for dependency injection of TaskService and TaskTableRenderer.
      *
      * @param taskService the task service to handle business logic
+     * @param taskTableRenderer the renderer of the task table
      */
-    public WebController(TaskService taskService) {
+    public WebController(TaskService taskService, TaskTableRenderer taskTableRenderer) {
         this.taskService = taskService;
+        this.taskTableRenderer = taskTableRenderer;
     }
     
     /**
-     * Displays the main task management page with all tasks.
+     * Displays the main task management page with one page of tasks, optionally filtered.
      *
+     * @param owner the owner of the tasks, from the {@value TaskOwner#HEADER} header
+     * @param status only list tasks with this status (optional)
+     * @param priority only list tasks with this priority (optional)
+     * @param keyword only list tasks matching this keyword (optional)
+     * @param cursor the cursor of the page, from the "next" link; absent for the first page
+     * @param size the number of tasks per page, at most 100
      * @param model the Spring MVC model to add attributes for the view
+     * @param request the current request
+     * @param response the current response
      * @return the name of the view template to render (index.html)
      */
     @GetMapping
-    public String index(Model model) {
-        model.addAttribute("tasks", taskService.getAllTasks());
+    public String index(@TaskOwner String owner,
+                        @RequestParam(required = false) TaskStatus status,
+                        @RequestParam(required = false) Integer priority,
+                        @RequestParam(required = false) String keyword,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                        Model model,
+                        HttpServletRequest request,
+                        HttpServletResponse response) {
+        String search = keyword != null && !keyword.isBlank() ? keyword.strip() : null;
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        model.addAttribute("taskTable",
+                taskTableRenderer.render(owner, status, priority, search, cursor, pageSize, request, response));
+        model.addAttribute("statuses", TaskStatus.values());
+        model.addAttribute("status", status);
+        model.addAttribute("priority", priority);
+        model.addAttribute("keyword", search);
+        model.addAttribute("size", pageSize);
         model.addAttribute("newTask", new Task());
         return "index";
     }
@@ -50,42 +96,45 @@ public class WebController {
     /**
      * Handles creation of a new task from the web form.
      *
+     * @param owner the owner of the new task, from the {@value TaskOwner#HEADER} header
      * @param task the task data submitted from the form
      * @return redirect to the home page after task creation
      */
     @PostMapping("/tasks")
-    public String createTask(@ModelAttribute Task task) {
+    public String createTask(@TaskOwner String owner, @ModelAttribute Task task) {
         TaskRequest request = new TaskRequest();
         request.setTitle(task.getTitle());
         request.setDescription(task.getDescription());
         request.setDueDate(task.getDueDate() != null ? task.getDueDate() : LocalDateTime.now().plusDays(1));
         request.setPriority(task.getPriority() != null ? task.getPriority() : 2);
         
-        taskService.createTask(request);
+        taskService.createTask(owner, request);
         return REDIRECT_HOME;
     }
     
     /**
      * Marks a specific task as completed.
      *
+     * @param owner the owner of the task, from the {@value TaskOwner#HEADER} header
      * @param id the ID of the task to mark as completed
      * @return redirect to the home page after updating the task
      */
     @PostMapping("/tasks/{id}/complete")
-    public String completeTask(@PathVariable Long id) {
-        taskService.markTaskAsCompleted(id);
+    public String completeTask(@TaskOwner String owner, @PathVariable Long id) {
+        taskService.markTaskAsCompleted(owner, id, null);
         return REDIRECT_HOME;
     }
     
     /**
      * Deletes a specific task from the system.
      *
+     * @param owner the owner of the task, from the {@value TaskOwner#HEADER} header
      * @param id the ID of the task to delete
      * @return redirect to the home page after deletion
      */
     @PostMapping("/tasks/{id}/delete")
-    public String deleteTask(@PathVariable Long id) {
-        taskService.deleteTask(id);
+    public String deleteTask(@TaskOwner String owner, @PathVariable Long id) {
+        taskService.deleteTask(owner, id);
         return REDIRECT_HOME;
     }
 }
\ No newline at end of file
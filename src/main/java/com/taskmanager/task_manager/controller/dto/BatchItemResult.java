@@ -0,0 +1,49 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) describing the outcome of one item of a batch request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    /**
+     * Position of the item in the request array
+     */
+    private int index;
+
+    /**
+     * ID of the affected task, when known
+     */
+    private Long id;
+
+    /**
+     * HTTP-like status of the item: 200 (updated/completed), 201 (created), 204 (deleted),
+     * 400 (invalid), 404 (not found) or 409 (rejected by the database)
+     */
+    private int status;
+
+    /**
+     * Resulting task data for successful creates, updates and completions
+     */
+    private TaskResponse task;
+
+    /**
+     * Reason of the failure, or null when the item succeeded
+     */
+    private String error;
+
+    /**
+     * Indicates whether the item was applied.
+     *
+     * @return true if the item succeeded
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
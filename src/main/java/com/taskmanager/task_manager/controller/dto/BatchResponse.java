@@ -0,0 +1,31 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for returning the outcome of a batch request.
+ * Contains one result per submitted item, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+
+    /**
+     * Number of items applied successfully
+     */
+    private int succeeded;
+
+    /**
+     * Number of items that failed
+     */
+    private int failed;
+
+    /**
+     * Per-item results, in the order of the request
+     */
+    private List<BatchItemResult> results;
+}
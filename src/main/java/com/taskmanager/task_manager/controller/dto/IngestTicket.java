@@ -0,0 +1,41 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) describing a task accepted for asynchronous creation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestTicket {
+
+    /**
+     * Processing state of an accepted task.
+     */
+    public enum Status {
+        QUEUED, CREATED, FAILED
+    }
+
+    /**
+     * Number identifying the accepted task, increasing in acceptance order
+     */
+    private long ticket;
+
+    /**
+     * QUEUED until the task is written, then CREATED or FAILED
+     */
+    private Status status;
+
+    /**
+     * ID of the created task, once CREATED
+     */
+    private Long taskId;
+
+    /**
+     * Reason of the failure, once FAILED
+     */
+    private String error;
+}
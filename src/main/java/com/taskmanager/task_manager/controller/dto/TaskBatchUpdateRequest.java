@@ -0,0 +1,21 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for one item of a batch update request.
+ * Pairs the id of an existing task with its new data.
+ */
+@Data
+public class TaskBatchUpdateRequest {
+
+    /**
+     * ID of the task to update
+     */
+    private Long id;
+
+    /**
+     * New data of the task, validated like a single update
+     */
+    private TaskRequest task;
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for one entry of the task change feed.
+ * An entry records a task being created, updated, deleted or archived, or becoming overdue.
+ * An archived task leaves the active tasks without being deleted: it is still readable through the
+ * archive-inclusive endpoints, and no further change of it appears until an import restores it as CREATED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChange {
+
+    /**
+     * Position of the change in the feed, increasing by one for every change
+     */
+    private long sequence;
+
+    /**
+     * Kind of change: CREATED, UPDATED, DELETED, ARCHIVED, or OVERDUE when the task's due date passed
+     */
+    private String type;
+
+    /**
+     * ID of the changed task
+     */
+    private Long taskId;
+
+    /**
+     * Task data after the change, or the last known data for deleted and archived tasks
+     */
+    private TaskResponse task;
+}
@@ -0,0 +1,36 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) carrying the number of tasks of an owner with a given status and priority,
+ * as counted by the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCount {
+
+    /**
+     * Owner of the counted tasks
+     */
+    private String owner;
+
+    /**
+     * Status of the counted tasks
+     */
+    private TaskStatus status;
+
+    /**
+     * Priority level of the counted tasks, or null for tasks without priority
+     */
+    private Integer priority;
+
+    /**
+     * Number of tasks with this status and priority
+     */
+    private long count;
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for returning the outcome of a task import.
+ * Counts every record, but only details the first failures so the response stays small
+ * whatever the size of the import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResult {
+
+    /**
+     * Number of records stored as new tasks
+     */
+    private long created;
+
+    /**
+     * Number of records that replaced an existing task with the same id
+     */
+    private long updated;
+
+    /**
+     * Number of records that were not imported
+     */
+    private long failed;
+
+    /**
+     * The first failed records, the index being the position of the record in the import
+     */
+    private List<BatchItemResult> failures;
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for returning one keyset-paginated slice of tasks.
+ * The cursor is opaque to clients and must be sent back unchanged to fetch the next slice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPage {
+
+    /**
+     * Tasks contained in this page, in cursor order
+     */
+    private List<TaskResponse> items;
+
+    /**
+     * Cursor pointing after the last item of this page, or null when there are no more results
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,103 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Data Transfer Object (DTO) for receiving a JSON Merge Patch (RFC 7396) of a task.
+ * Only the members present in the document are changed: an absent member keeps its value and a
+ * member set to null clears it. Jackson only calls the setters of present members, which is how
+ * absent and null are told apart.
+ */
+@Getter
+public class TaskPatchRequest {
+
+    /**
+     * New title of the task; cannot be blank or null when present.
+     */
+    private String title;
+
+    /**
+     * New description of the task; null clears it.
+     */
+    private String description;
+
+    /**
+     * New status of the task; cannot be null when present.
+     */
+    private TaskStatus status;
+
+    /**
+     * New due date of the task; cannot be null when present.
+     */
+    private LocalDateTime dueDate;
+
+    /**
+     * New priority level of the task (1=High, 2=Medium, 3=Low); null clears it.
+     */
+    private Integer priority;
+
+    /**
+     * Names of the members present in the patch document.
+     */
+    @JsonIgnore
+    private final Set<String> fields = new HashSet<>();
+
+    public void setTitle(String title) {
+        this.title = title;
+        fields.add("title");
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        fields.add("description");
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+        fields.add("status");
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+        fields.add("dueDate");
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+        fields.add("priority");
+    }
+
+    /**
+     * Indicates whether the patch document contains the given member.
+     *
+     * @param field the member name, as in TaskRequest
+     * @return true if the member is present, even with a null value
+     */
+    public boolean has(String field) {
+        return fields.contains(field);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Title is required")
+    public boolean isTitleValid() {
+        return !has("title") || (title != null && !title.isBlank());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Status cannot be null")
+    public boolean isStatusValid() {
+        return !has("status") || status != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Due date is required")
+    public boolean isDueDateValid() {
+        return !has("dueDate") || dueDate != null;
+    }
+}
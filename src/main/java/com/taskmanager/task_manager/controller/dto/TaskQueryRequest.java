@@ -0,0 +1,76 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.SearchMode;
+import com.taskmanager.task_manager.service.TaskSort;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Data Transfer Object (DTO) for the criteria of a combined task query, bound from request parameters.
+ * Every criterion is optional; the ones given must all match.
+ */
+@Data
+public class TaskQueryRequest {
+
+    /**
+     * Statuses to include (e.g. status=PENDING,IN_PROGRESS); any status when empty.
+     */
+    private Set<TaskStatus> status;
+
+    /**
+     * Lowest priority level to include, inclusive.
+     */
+    private Integer minPriority;
+
+    /**
+     * Highest priority level to include, inclusive.
+     */
+    private Integer maxPriority;
+
+    /**
+     * Earliest due date to include, inclusive, in ISO format.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    /**
+     * Latest due date to include, inclusive, in ISO format.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    /**
+     * Only include tasks matching this keyword in title or description.
+     */
+    private String keyword;
+
+    /**
+     * How each word of the keyword is matched.
+     */
+    private SearchMode mode = SearchMode.PREFIX;
+
+    /**
+     * Sort key of the results, ties broken by id.
+     */
+    private TaskSort sort = TaskSort.ID;
+
+    /**
+     * Sort direction of the results.
+     */
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    @AssertTrue(message = "minPriority must not be greater than maxPriority")
+    public boolean isPriorityRangeValid() {
+        return minPriority == null || maxPriority == null || minPriority <= maxPriority;
+    }
+
+    @AssertTrue(message = "dueFrom must not be after dueTo")
+    public boolean isDueWindowValid() {
+        return dueFrom == null || dueTo == null || !dueFrom.isAfter(dueTo);
+    }
+}
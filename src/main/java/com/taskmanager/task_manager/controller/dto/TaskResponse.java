@@ -1,14 +1,21 @@
 package com.taskmanager.task_manager.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.taskmanager.task_manager.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 /**
  * Data Transfer Object (DTO) for returning task data in API responses.
  * Contains all task information that should be exposed to clients.
+ * The all-arguments constructor is the target of the projection queries of TaskRepository,
+ * which build responses straight from the selected columns; keep its parameter order in sync.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskResponse {
     
     /**
@@ -50,4 +57,16 @@ public class TaskResponse {
      * Timestamp when the task was last updated
      */
     private LocalDateTime updatedAt;
+
+    /**
+     * Version of the task, incremented by every update; sent back in If-Match for conditional writes
+     */
+    private Long version;
+
+    /**
+     * Owner of the task. Not serialized: clients only ever see their own tasks, so it tells them
+     * nothing, but the in-memory indexes and the change feed partition the tasks by it.
+     */
+    @JsonIgnore
+    private String owner;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) carrying only what identifies the current state of a task,
+ * used to answer conditional requests without loading the task.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStamp {
+
+    /**
+     * Version of the task, incremented by every update
+     */
+    private Long version;
+
+    /**
+     * Timestamp when the task was last updated
+     */
+    private LocalDateTime updatedAt;
+}
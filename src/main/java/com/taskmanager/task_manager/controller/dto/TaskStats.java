@@ -0,0 +1,42 @@
+package com.taskmanager.task_manager.controller.dto;
+
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) for returning task counts to dashboards.
+ * Priority keys are priority levels; 0 counts the tasks without priority.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStats {
+
+    /**
+     * Number of tasks
+     */
+    private long total;
+
+    /**
+     * Number of tasks past their due date and not completed
+     */
+    private long overdue;
+
+    /**
+     * Number of tasks per status, including statuses without tasks
+     */
+    private Map<TaskStatus, Long> byStatus;
+
+    /**
+     * Number of tasks per priority level, only for levels that have tasks
+     */
+    private Map<Integer, Long> byPriority;
+
+    /**
+     * Number of tasks per status and priority level, only for combinations that have tasks
+     */
+    private Map<TaskStatus, Map<Integer, Long>> byStatusAndPriority;
+}
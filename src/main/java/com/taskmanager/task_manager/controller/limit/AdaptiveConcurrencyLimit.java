@@ -0,0 +1,123 @@
+package com.taskmanager.task_manager.controller.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Limit on the number of requests in progress, adapted to the latency of the completed requests with
+ * additive increase and multiplicative decrease (AIMD).
+ * <p>
+ * The limit only moves while at least half of it is used: requests that are slow on an idle node are
+ * not slowed down by each other, and the limit would not bind anyway. Then a request completed within
+ * the target latency raises the limit by {@code 1 / limit}, about one per limit's worth of requests;
+ * a slower request multiplies it by the backoff ratio, at most once per target latency so that the
+ * requests of one slow period do not cut it several times. Callers acquire with a share of the limit: a request admitted with a share of 0.5 is
+ * refused as soon as half of the limit is in use, before requests admitted with the whole of it.
+ * The state is held in atomics, so admission takes no lock.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final double minLimit;
+
+    private final double maxLimit;
+
+    private final long targetLatencyNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Current limit, as the bits of a double.
+     */
+    private final AtomicLong limit;
+
+    /**
+     * {@link System#nanoTime()} of the last decrease.
+     */
+    private final AtomicLong lastDecrease;
+
+    AdaptiveConcurrencyLimit(int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio, long now) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicLong(Double.doubleToLongBits(this.maxLimit));
+        this.lastDecrease = new AtomicLong(now - targetLatencyNanos);
+    }
+
+    /**
+     * Admits a request if fewer requests than the given share of the limit are in progress.
+     *
+     * @param share the share of the limit the request may use, between 0 and 1
+     * @return whether the request is admitted; if so, {@link #release()} must be called once it completes
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (getLimit() * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adapts the limit to the latency of an admitted request, before it is released.
+     *
+     * @param latencyNanos the time the request took
+     * @param now the current {@link System#nanoTime()}
+     */
+    void record(long latencyNanos, long now) {
+        if (inFlight.get() * 2 < getLimit()) {
+            return;
+        }
+        if (latencyNanos > targetLatencyNanos) {
+            long last = lastDecrease.get();
+            if (now - last >= targetLatencyNanos && lastDecrease.compareAndSet(last, now)) {
+                update(current -> Math.max(minLimit, current * backoffRatio));
+            }
+        } else {
+            update(current -> Math.min(maxLimit, current + 1 / current));
+        }
+    }
+
+    /**
+     * Releases the slot of a completed request.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the limit
+     */
+    double getLimit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    /**
+     * Returns the number of requests in progress.
+     *
+     * @return the number of admitted requests not released yet
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator function) {
+        while (true) {
+            long bits = limit.get();
+            long next = Double.doubleToLongBits(function.applyAsDouble(Double.longBitsToDouble(bits)));
+            if (limit.compareAndSet(bits, next)) {
+                return;
+            }
+        }
+    }
+}
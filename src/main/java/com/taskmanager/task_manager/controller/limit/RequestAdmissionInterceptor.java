@@ -0,0 +1,184 @@
+package com.taskmanager.task_manager.controller.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control of the REST API, applied before a request reaches its controller.
+ * <p>
+ * First, each client, identified by its remote address, has a {@link TokenBucket} per endpoint: a
+ * client looping on one endpoint is refused with 429 and a {@code Retry-After} header once it exceeds
+ * the rate of the endpoint, without slowing down its other calls or other clients. The buckets live in
+ * a cache dropping those of idle clients; looking one up and taking a token take no lock.
+ * <p>
+ * Then the number of requests in progress is capped by an {@link AdaptiveConcurrencyLimit} that shrinks
+ * while requests take longer than the target latency. {@link Sheddable} endpoints may only use a share
+ * of it, so when the node slows down listings and searches are refused with 503 first, while lookups
+ * by id and writes are still admitted. Streams hold their slot until they complete but are not used as
+ * latency samples, as they last as long as the data they send; change subscriptions release it as soon
+ * as they start.
+ */
+@Component
+@ConditionalOnProperty(name = "task-manager.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Request attribute holding the {@link System#nanoTime()} at which the request took a slot of the
+     * concurrency limit, until the slot is released.
+     */
+    private static final String ADMITTED_AT = RequestAdmissionInterceptor.class.getName() + ".admittedAt";
+
+    static final String REJECTIONS_METRIC = "task.limits.rejections";
+
+    private final MeterRegistry meterRegistry;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    private final double rate;
+
+    private final int burst;
+
+    private final double listRate;
+
+    private final int listBurst;
+
+    private final double listShare;
+
+    /**
+     * Identifies the token bucket of a client on an endpoint.
+     */
+    private record BucketKey(String client, String endpoint) {
+    }
+
+    public RequestAdmissionInterceptor(MeterRegistry meterRegistry,
+                                       @Value("${task-manager.limits.rate:50}") double rate,
+                                       @Value("${task-manager.limits.burst:100}") int burst,
+                                       @Value("${task-manager.limits.list-rate:10}") double listRate,
+                                       @Value("${task-manager.limits.list-burst:20}") int listBurst,
+                                       @Value("${task-manager.limits.idle-timeout:PT1M}") Duration idleTimeout,
+                                       @Value("${task-manager.limits.max-clients:100000}") long maxClients,
+                                       @Value("${task-manager.limits.latency-target:PT0.25S}") Duration latencyTarget,
+                                       @Value("${task-manager.limits.min-concurrency:8}") int minConcurrency,
+                                       @Value("${task-manager.limits.max-concurrency:200}") int maxConcurrency,
+                                       @Value("${task-manager.limits.backoff-ratio:0.9}") double backoffRatio,
+                                       @Value("${task-manager.limits.list-share:0.5}") double listShare) {
+        this.meterRegistry = meterRegistry;
+        this.rate = rate;
+        this.burst = burst;
+        this.listRate = listRate;
+        this.listBurst = listBurst;
+        this.listShare = listShare;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(minConcurrency, maxConcurrency,
+                latencyTarget.toNanos(), backoffRatio, System.nanoTime());
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxClients)
+                .build();
+        Gauge.builder("task.limits.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive limit on the API requests in progress")
+                .register(meterRegistry);
+        Gauge.builder("task.limits.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("API requests in progress")
+                .register(meterRegistry);
+        Gauge.builder("task.limits.clients", buckets, Cache::estimatedSize)
+                .description("Client and endpoint pairs with a rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token of the client's bucket for the endpoint, then a slot of the concurrency limit.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // The dispatch completing an asynchronous request was admitted with the request
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        boolean sheddable = method.hasMethodAnnotation(Sheddable.class);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new BucketKey(request.getRemoteAddr(), request.getMethod() + " " + uri),
+                key -> sheddable ? new TokenBucket(listRate, listBurst, now) : new TokenBucket(rate, burst, now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            reject(request, response, uri, HttpStatus.TOO_MANY_REQUESTS, "rate", TimeUnit.NANOSECONDS.toSeconds(wait) + 1,
+                    "Too many requests to this endpoint, retry later");
+            return false;
+        }
+        if (!concurrencyLimit.tryAcquire(sheddable ? listShare : 1)) {
+            reject(request, response, uri, HttpStatus.SERVICE_UNAVAILABLE, "concurrency", 1,
+                    "The server is overloaded, retry later");
+            return false;
+        }
+        request.setAttribute(ADMITTED_AT, now);
+        return true;
+    }
+
+    /**
+     * Releases the slot of a change subscription as soon as it starts.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (handler instanceof HandlerMethod method
+                && ResponseBodyEmitter.class.isAssignableFrom(method.getReturnType().getParameterType())
+                && request.getAttribute(ADMITTED_AT) != null) {
+            request.removeAttribute(ADMITTED_AT);
+            concurrencyLimit.release();
+        }
+    }
+
+    /**
+     * Releases the slot of a completed request, adapting the limit to its latency unless it was streamed.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object admittedAt = request.getAttribute(ADMITTED_AT);
+        if (admittedAt == null) {
+            return;
+        }
+        request.removeAttribute(ADMITTED_AT);
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            long now = System.nanoTime();
+            concurrencyLimit.record(now - (Long) admittedAt, now);
+        }
+        concurrencyLimit.release();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String uri, HttpStatus status,
+                        String reason, long retryAfterSeconds, String message) throws IOException {
+        Counter.builder(REJECTIONS_METRIC)
+                .description("API requests refused by the rate limits or shed by the concurrency limit")
+                .tag("reason", reason)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.sendError(status.value(), message);
+    }
+}
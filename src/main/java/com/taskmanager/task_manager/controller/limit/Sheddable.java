@@ -0,0 +1,18 @@
+package com.taskmanager.task_manager.controller.limit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint whose requests are expensive and can be refused first under load: listings,
+ * searches, streams and exports. They get the lower per-client rate and only a share of the concurrency
+ * limit, see {@link RequestAdmissionInterceptor}, so they are shed before lookups by id and writes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Sheddable {
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.task_manager.controller.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of one client on one endpoint, kept in a single atomic long so that concurrent requests
+ * update it with a compare-and-set instead of a lock.
+ * <p>
+ * The bucket is stored in the virtual scheduling form of the generic cell rate algorithm: rather than a
+ * token count and a refill time, it holds the theoretical arrival time, the time at which the bucket
+ * would be full again if no more requests came. Each admitted request pushes it one interval further;
+ * a request is refused when it lies more than a burst of intervals in the future.
+ */
+final class TokenBucket {
+
+    /**
+     * Time to earn one token.
+     */
+    private final long intervalNanos;
+
+    /**
+     * How far ahead of now the theoretical arrival time may be, so that a full bucket admits a whole burst.
+     */
+    private final long toleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param rate the number of tokens earned per second
+     * @param burst the capacity of the bucket
+     * @param now the current {@link System#nanoTime()}
+     */
+    TokenBucket(double rate, int burst, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 when a token was taken, otherwise the time until one is available, in nanoseconds
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
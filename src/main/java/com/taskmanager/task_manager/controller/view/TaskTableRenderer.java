@@ -0,0 +1,161 @@
+package com.taskmanager.task_manager.controller.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.task_manager.controller.dto.TaskPage;
+import com.taskmanager.task_manager.controller.dto.TaskQueryRequest;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.cache.TaskCollectionVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the task table of the web UI, one page at a time, and caches the rendered HTML.
+ * <p>
+ * A page is read with the keyset pagination of {@link TaskService#queryTasks}, so its cost does not
+ * depend on the number of tasks. The HTML is cached under the version of the task collection it was
+ * read from, taken from {@link TaskCollectionVersions} before the query: a write moves the version,
+ * so a stale fragment is simply never looked up again and ages out of the cache. Pages filtered by a
+ * single status or priority use the version of that bucket and survive writes to other buckets.
+ * Versions and pages are per owner, so one owner's writes never move another owner's pages.
+ */
+@Component
+public class TaskTableRenderer {
+
+    private static final String TEMPLATE = "fragments/task-table";
+
+    private static final Set<String> FRAGMENT = Set.of("table");
+
+    private final TaskService taskService;
+
+    private final TaskCollectionVersions collectionVersions;
+
+    private final ITemplateEngine templateEngine;
+
+    private final JakartaServletWebApplication application;
+
+    private final Cache<Key, String> fragments;
+
+    /**
+     * Identifies a rendered page: the owner and data version it was read from and the request that selected it.
+     */
+    private record Key(String owner, String version, TaskStatus status, Integer priority, String keyword, String cursor, int size) {
+    }
+
+    public TaskTableRenderer(TaskService taskService,
+                             TaskCollectionVersions collectionVersions,
+                             ITemplateEngine templateEngine,
+                             ServletContext servletContext,
+                             MeterRegistry meterRegistry,
+                             @Value("${task-manager.web.table-cache.max-size:16MB}") DataSize maxSize,
+                             @Value("${task-manager.web.table-cache.ttl:PT10M}") Duration ttl) {
+        this.taskService = taskService;
+        this.collectionVersions = collectionVersions;
+        this.templateEngine = templateEngine;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, String html) -> html.length() * 2)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "taskTable");
+    }
+
+    /**
+     * Returns the HTML of one page of the task table, rendering it only if this page has not been
+     * rendered since the tasks it shows last changed.
+     *
+     * @param owner the owner of the tasks to show
+     * @param status only show tasks with this status, or null
+     * @param priority only show tasks with this priority, or null
+     * @param keyword only show tasks matching this keyword, or null
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size the number of tasks per page
+     * @param request the current request, for the links of the table
+     * @param response the current response
+     * @return the rendered table
+     */
+    public String render(String owner, TaskStatus status, Integer priority, String keyword, String cursor, int size,
+                         HttpServletRequest request, HttpServletResponse response) {
+        Key key = new Key(owner, versionOf(owner, status, priority, keyword), status, priority, keyword, cursor, size);
+        String html = fragments.getIfPresent(key);
+        if (html == null) {
+            // Rendered outside the cache's compute lock: concurrent misses may render the same page
+            // twice, but no thread blocks on another one's query
+            html = renderPage(key, request, response);
+            fragments.put(key, html);
+        }
+        return html;
+    }
+
+    private String renderPage(Key key, HttpServletRequest request, HttpServletResponse response) {
+        TaskQueryRequest query = new TaskQueryRequest();
+        if (key.status() != null) {
+            query.setStatus(EnumSet.of(key.status()));
+        }
+        query.setMinPriority(key.priority());
+        query.setMaxPriority(key.priority());
+        query.setKeyword(key.keyword());
+        TaskPage page = taskService.queryTasks(key.owner(), query, key.cursor(), key.size(), true);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("tasks", page.getItems());
+        variables.put("firstUrl", key.cursor() != null ? pageUrl(request, key, null) : null);
+        variables.put("nextUrl", page.getNextCursor() != null ? pageUrl(request, key, page.getNextCursor()) : null);
+        WebContext context = new WebContext(application.buildExchange(request, response), request.getLocale(), variables);
+        return templateEngine.process(TEMPLATE, FRAGMENT, context);
+    }
+
+    /**
+     * Returns the version of the narrowest task collection holding every task of the page.
+     */
+    private String versionOf(String owner, TaskStatus status, Integer priority, String keyword) {
+        if (keyword == null && priority == null && status != null) {
+            return collectionVersions.byStatus(owner, status);
+        }
+        if (keyword == null && status == null && priority != null) {
+            return collectionVersions.byPriority(owner, priority);
+        }
+        return collectionVersions.allTasks(owner);
+    }
+
+    /**
+     * Builds the link to another page of the same listing, relative to the host so the cached HTML
+     * does not depend on the host name a client used.
+     */
+    private static String pageUrl(HttpServletRequest request, Key key, String cursor) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(request.getContextPath()).path("/");
+        if (key.status() != null) {
+            builder.queryParam("status", key.status());
+        }
+        if (key.priority() != null) {
+            builder.queryParam("priority", key.priority());
+        }
+        if (key.keyword() != null) {
+            builder.queryParam("keyword", key.keyword());
+        }
+        builder.queryParam("size", key.size());
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        return builder.encode().build().toUriString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskmanager.task_manager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an ingestion ticket was never issued or its outcome is no longer retained.
+ * Answered with HTTP 404 Not Found.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class IngestTicketNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new IngestTicketNotFoundException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public IngestTicketNotFoundException(String message) {
+        super(message);
+    }
+}
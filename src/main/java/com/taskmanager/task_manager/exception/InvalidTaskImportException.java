@@ -0,0 +1,22 @@
+package com.taskmanager.task_manager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an import stream cannot be decoded: a missing header, a malformed value or
+ * a truncated binary block. The tasks read before the offending record may already be imported.
+ * Answered with HTTP 400 Bad Request.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTaskImportException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidTaskImportException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidTaskImportException(String message) {
+        super(message);
+    }
+}
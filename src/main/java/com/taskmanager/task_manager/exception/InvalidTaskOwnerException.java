@@ -0,0 +1,21 @@
+package com.taskmanager.task_manager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request names an owner that is not a valid owner key.
+ * Answered with HTTP 400 Bad Request.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTaskOwnerException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidTaskOwnerException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidTaskOwnerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.task_manager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an unconditional write loses a race against a concurrent change of the
+ * same task. The client can read the task again and retry.
+ * Answered with HTTP 409 Conflict.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new TaskConflictException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.task_manager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a task cannot be accepted for asynchronous creation: the ingestion mode is
+ * disabled, stopping, or its queue is full. The client can retry later or create the task synchronously.
+ * Answered with HTTP 503 Service Unavailable.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TaskIngestionUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new TaskIngestionUnavailableException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public TaskIngestionUnavailableException(String message) {
+        super(message);
+    }
+}
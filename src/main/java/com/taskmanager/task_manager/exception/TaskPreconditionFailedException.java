@@ -0,0 +1,22 @@
+package com.taskmanager.task_manager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a conditional write is rejected because the task no longer has the
+ * version the client based its change on (the If-Match header does not match).
+ * Answered with HTTP 412 Precondition Failed.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class TaskPreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new TaskPreconditionFailedException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public TaskPreconditionFailedException(String message) {
+        super(message);
+    }
+}
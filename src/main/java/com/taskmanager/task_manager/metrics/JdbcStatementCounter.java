@@ -0,0 +1,46 @@
+package com.taskmanager.task_manager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the current thread while a count is open.
+ * Registered as the session factory's statement inspector, so it sees every statement
+ * without logging it; a JDBC batch counts once.
+ */
+public class JdbcStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /**
+     * Starts counting the statements prepared on the current thread, discarding any previous count.
+     */
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the number of statements prepared since {@link #start()}, or 0 if no count was open
+     */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Counts the statement and returns it unchanged.
+     *
+     * @param sql the SQL about to be prepared
+     * @return the same SQL
+     */
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskmanager.task_manager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many JDBC statements each HTTP request issues, per endpoint, as the
+ * {@code task.http.jdbc.statements} distribution, and logs requests above a threshold,
+ * so N+1 selects and chatty access patterns show up before they reach the database's limits.
+ * Statements issued on other threads (asynchronous streaming bodies) are not attributed to the request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JdbcStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "task.http.jdbc.statements";
+
+    private final JdbcStatementCounter statementCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Number of statements above which a request is logged as a warning.
+     */
+    @Value("${task-manager.metrics.jdbc-statements-warn-threshold:25}")
+    private int warnThreshold;
+
+    /**
+     * Counts the statements issued while the request is handled and records them under its route.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("JDBC statements prepared while handling an HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > warnThreshold) {
+                log.warn("{} {} issued {} JDBC statements", request.getMethod(), uri, statements);
+            }
+        }
+    }
+}
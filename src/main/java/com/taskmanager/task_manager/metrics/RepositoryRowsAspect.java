@@ -0,0 +1,61 @@
+package com.taskmanager.task_manager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Records the number of rows each TaskRepository query (find and stream methods) returns as the {@code task.repository.rows}
+ * distribution, tagged by repository method. Query timings are already published by Spring Data
+ * as {@code spring.data.repository.invocations}; this adds the result sizes next to them.
+ * Streams are counted as they are consumed and recorded when they are closed.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryRowsAspect {
+
+    static final String METRIC_NAME = "task.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Records the size of the result of a TaskRepository method.
+     *
+     * @param joinPoint the repository invocation
+     * @return the result of the invocation, streams wrapped to count their rows
+     * @throws Throwable whatever the invocation throws
+     */
+    @Around("execution(* com.taskmanager.task_manager.repository.TaskRepository.find*(..))"
+            + " || execution(* com.taskmanager.task_manager.repository.TaskRepository.stream*(..))")
+    public Object recordRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        String method = joinPoint.getSignature().getName();
+        if (result instanceof Collection<?> rows) {
+            summary(method).record(rows.size());
+        } else if (result instanceof Optional<?> row) {
+            summary(method).record(row.isPresent() ? 1 : 0);
+        } else if (result instanceof Stream<?> rows) {
+            AtomicLong count = new AtomicLong();
+            return rows.peek(row -> count.incrementAndGet()).onClose(() -> summary(method).record(count.get()));
+        }
+        return result;
+    }
+
+    private DistributionSummary summary(String method) {
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("Rows returned by a TaskRepository query")
+                .baseUnit("rows")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskmanager.task_manager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every TaskService and TaskBatchService operation as the {@code task.service} timer,
+ * tagged by service, method and exception.
+ * Runs outside the caching and transaction advice, so cache hits are timed too and the
+ * recorded duration includes the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    static final String METRIC_NAME = "task.service";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Records the duration of a service operation.
+     *
+     * @param joinPoint the service invocation
+     * @return the result of the invocation
+     * @throws Throwable whatever the invocation throws
+     */
+    @Around("execution(* com.taskmanager.task_manager.service.TaskService.*(..))"
+            + " || execution(* com.taskmanager.task_manager.service.TaskBatchService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Duration of task service operations")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -6,24 +6,54 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 /**
  * Entity class representing a Task in the system.
  * Maps to the 'tasks' table in the database and contains task-related data.
+ * Every task belongs to an owner and every query of TaskRepository is scoped by it, so the indexes
+ * lead with the owner: the tasks of one owner form a contiguous range of each index, and reading them
+ * costs the same whatever the other owners hold. After the owner, the indexes back the id, status,
+ * priority and due date finders; the (owner, status, due_date) index serves the overdue query.
+ * The (status, updated_at) index lets the archiver find the terminal tasks to move, across owners.
+ * Updates only write the columns that changed, so editing a small field does not rewrite a
+ * large description.
  */
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_owner_id", columnList = "owner, id"),
+        @Index(name = "idx_tasks_owner_status", columnList = "owner, status, id"),
+        @Index(name = "idx_tasks_owner_priority", columnList = "owner, priority, id"),
+        @Index(name = "idx_tasks_owner_due_date", columnList = "owner, due_date"),
+        @Index(name = "idx_tasks_owner_status_due_date", columnList = "owner, status, due_date"),
+        @Index(name = "idx_tasks_status_updated_at", columnList = "status, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
+
+    /**
+     * Owner of the tasks created by requests that do not name one, and of the tasks stored before
+     * tasks had owners.
+     */
+    public static final String DEFAULT_OWNER = "default";
+
+    /**
+     * Maximum length of an owner key.
+     */
+    public static final int OWNER_MAX_LENGTH = 64;
     
     /**
      * Unique identifier for the task.
+     * Drawn from a sequence with a pooled optimizer, so ids are assigned in memory blocks
+     * and Hibernate can batch the inserts (IDENTITY columns force one INSERT per row).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -68,6 +98,20 @@ public class Task {
      */
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Version of the task, incremented by every update.
+     * Hibernate adds it to the WHERE clause of each UPDATE and DELETE, so a write based on a stale
+     * copy fails instead of silently overwriting a concurrent change.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Owner of the task: the tenant, team or user it belongs to. Set at creation and never changed.
+     */
+    @Column(nullable = false, updatable = false, length = OWNER_MAX_LENGTH)
+    private String owner;
     
     /**
      * JPA lifecycle callback that executes before persisting a new entity.
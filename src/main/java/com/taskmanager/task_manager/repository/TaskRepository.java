@@ -1,61 +1,278 @@
 package com.taskmanager.task_manager.repository;
 
+import com.taskmanager.task_manager.controller.dto.TaskCount;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.controller.dto.TaskStamp;
 import com.taskmanager.task_manager.model.Task;
 import com.taskmanager.task_manager.model.Task.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task entity operations.
  * Extends JpaRepository to provide CRUD operations and custom query methods.
+ * Every query method is scoped by the owner of the tasks, its first parameter, and is served by one
+ * of the owner-leading indexes of the tasks table; the inherited id-based methods are not owner-aware
+ * and are only meant for tasks already known to belong to the right owner.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    /**
+     * JDBC fetch size used by the streaming queries, so rows are pulled from the cursor in small batches.
+     */
+    String STREAM_FETCH_SIZE = "256";
+
+    /**
+     * Select clause of the projection queries: builds TaskResponse objects straight from the columns,
+     * so no entity is instantiated, registered in the persistence context or snapshotted for dirty checking.
+     */
+    String SELECT_RESPONSE = "SELECT new com.taskmanager.task_manager.controller.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.dueDate, t.priority, t.createdAt, t.updatedAt, t.version, t.owner) FROM Task t";
+
+    /**
+     * Same as {@link #SELECT_RESPONSE}, but the description is only read when the
+     * {@code withDescription} parameter is true, and left null otherwise.
+     */
+    String SELECT_RESPONSE_OPTIONAL_DESCRIPTION = "SELECT new com.taskmanager.task_manager.controller.dto.TaskResponse("
+            + "t.id, t.title, CASE WHEN :withDescription = TRUE THEN t.description END, t.status, t.dueDate, t.priority, "
+            + "t.createdAt, t.updatedAt, t.version, t.owner) FROM Task t";
     
     /**
-     * Finds all tasks with the specified status.
-     * 
+     * Finds a task of the given owner by id. Tasks of other owners are not found, as if they did not exist.
+     *
+     * @param owner the owner of the tasks
+     * @param id the task ID
+     * @return the task, or empty if the owner has no task with this ID
+     */
+    Optional<Task> findByOwnerAndId(String owner, Long id);
+
+    /**
+     * Finds the tasks of the given owner with the given ids, in no particular order.
+     *
+     * @param owner the owner of the tasks
+     * @param ids the task IDs
+     * @return List of the tasks of this owner that exist
+     */
+    List<Task> findByOwnerAndIdIn(String owner, Collection<Long> ids);
+
+    /**
+     * Finds the first page of overdue tasks (due date has passed and status is one of the given open statuses)
+     * ordered by due date and id. Expressed as an IN list rather than {@code status <> COMPLETED} so the lookup
+     * can seek the (owner, status, due_date) index instead of reading every past-due completed row.
+     *
+     * @param owner the owner of the tasks
+     * @param dueDate the reference date/time to compare against
+     * @param statuses the statuses that still count as open (every status except COMPLETED)
+     * @param limit the maximum number of tasks to return
+     * @return List of overdue tasks
+     */
+    List<Task> findByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(String owner, LocalDateTime dueDate,
+            Collection<TaskStatus> statuses, Limit limit);
+
+    /**
+     * Reads all tasks as responses, without loading entities.
+     *
+     * @param owner the owner of the tasks
+     * @param withDescription whether to read the description; when false it is left null
+     * @return List of all tasks
+     */
+    @Query(SELECT_RESPONSE_OPTIONAL_DESCRIPTION + " WHERE t.owner = :owner")
+    List<TaskResponse> findAllResponses(@Param("owner") String owner, @Param("withDescription") boolean withDescription);
+
+    /**
+     * Reads one task as a response, without loading the entity.
+     *
+     * @param owner the owner of the tasks
+     * @param id the task ID
+     * @return the task, or empty if no task has this ID
+     */
+    @Query(SELECT_RESPONSE + " WHERE t.owner = :owner AND t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("owner") String owner, @Param("id") Long id);
+
+    /**
+     * Reads the tasks with the given ids as responses, in no particular order.
+     *
+     * @param owner the owner of the tasks
+     * @param ids the task IDs
+     * @return List of the tasks that exist
+     */
+    @Query(SELECT_RESPONSE + " WHERE t.owner = :owner AND t.id IN :ids")
+    List<TaskResponse> findResponsesByIdIn(@Param("owner") String owner, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the tasks with the specified status as responses.
+     *
+     * @param owner the owner of the tasks
      * @param status the task status to filter by
      * @return List of tasks with the given status
      */
-    List<Task> findByStatus(TaskStatus status);
-    
+    @Query(SELECT_RESPONSE + " WHERE t.owner = :owner AND t.status = :status")
+    List<TaskResponse> findResponsesByStatus(@Param("owner") String owner, @Param("status") TaskStatus status);
+
+    /**
+     * Reads the tasks due within a date range (both ends inclusive) as responses, ordered by due date.
+     *
+     * @param owner the owner of the tasks
+     * @param start the start of the range
+     * @param end the end of the range
+     * @return List of tasks due in the range, ties broken by id
+     */
+    @Query(SELECT_RESPONSE + " WHERE t.owner = :owner AND t.dueDate BETWEEN :start AND :end ORDER BY t.dueDate, t.id")
+    List<TaskResponse> findResponsesByDueDateBetween(@Param("owner") String owner, @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+
     /**
-     * Finds all tasks with the specified priority level.
-     * 
+     * Reads the tasks with the specified priority level as responses.
+     *
+     * @param owner the owner of the tasks
      * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
      * @return List of tasks with the given priority
      */
-    List<Task> findByPriority(Integer priority);
-    
+    @Query(SELECT_RESPONSE + " WHERE t.owner = :owner AND t.priority = :priority")
+    List<TaskResponse> findResponsesByPriority(@Param("owner") String owner, @Param("priority") Integer priority);
+
     /**
-     * Finds tasks that are overdue (due date has passed and not completed).
-     * 
-     * @param dueDate the reference date/time to compare against
-     * @param status the status to exclude (typically COMPLETED)
-     * @return List of overdue tasks
+     * Reads the next page of tasks ordered by id as responses, starting after the given id.
+     *
+     * @param owner the owner of the tasks
+     * @param id the id of the last task already returned (0 for the first page)
+     * @param withDescription whether to read the description; when false it is left null
+     * @param limit the maximum number of tasks to return
+     * @return List of tasks with an id greater than the given one
      */
-    List<Task> findByDueDateBeforeAndStatusNot(LocalDateTime dueDate, TaskStatus status);
-    
+    @Query(SELECT_RESPONSE_OPTIONAL_DESCRIPTION + " WHERE t.owner = :owner AND t.id > :id ORDER BY t.id")
+    List<TaskResponse> findResponsesAfter(@Param("owner") String owner, @Param("id") Long id, @Param("withDescription") boolean withDescription,
+            Limit limit);
+
     /**
-     * Searches tasks by keyword in title or description (case-insensitive).
-     * 
-     * @param keyword the search term to look for
-     * @return List of tasks matching the search criteria
+     * Reads the next page of tasks with the specified status ordered by id as responses, starting after the given id.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status to filter by
+     * @param id the id of the last task already returned (0 for the first page)
+     * @param withDescription whether to read the description; when false it is left null
+     * @param limit the maximum number of tasks to return
+     * @return List of tasks with the given status and an id greater than the given one
      */
-    @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Task> searchByKeyword(@Param("keyword") String keyword);
-    
+    @Query(SELECT_RESPONSE_OPTIONAL_DESCRIPTION + " WHERE t.owner = :owner AND t.status = :status AND t.id > :id ORDER BY t.id")
+    List<TaskResponse> findResponsesByStatusAfter(@Param("owner") String owner, @Param("status") TaskStatus status,
+            @Param("id") Long id, @Param("withDescription") boolean withDescription, Limit limit);
+
+    /**
+     * Reads the next page of tasks with the specified priority ordered by id as responses, starting after the given id.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
+     * @param id the id of the last task already returned (0 for the first page)
+     * @param withDescription whether to read the description; when false it is left null
+     * @param limit the maximum number of tasks to return
+     * @return List of tasks with the given priority and an id greater than the given one
+     */
+    @Query(SELECT_RESPONSE_OPTIONAL_DESCRIPTION + " WHERE t.owner = :owner AND t.priority = :priority AND t.id > :id ORDER BY t.id")
+    List<TaskResponse> findResponsesByPriorityAfter(@Param("owner") String owner, @Param("priority") Integer priority,
+            @Param("id") Long id, @Param("withDescription") boolean withDescription, Limit limit);
+
+    /**
+     * Counts the tasks per owner, status and priority. The only query spanning every owner: it is run
+     * in the background to reconcile the in-memory statistics.
+     *
+     * @return one count per (owner, status, priority) combination that has tasks
+     */
+    @Query("SELECT new com.taskmanager.task_manager.controller.dto.TaskCount(t.owner, t.status, t.priority, COUNT(t)) "
+            + "FROM Task t GROUP BY t.owner, t.status, t.priority")
+    List<TaskCount> countByOwnerStatusAndPriority();
+
+    /**
+     * Reads only the version and last modification time of a task, without loading the entity.
+     *
+     * @param owner the owner of the tasks
+     * @param id the task ID
+     * @return the version and last modification time, or empty if no task has this ID
+     */
+    @Query("SELECT new com.taskmanager.task_manager.controller.dto.TaskStamp(t.version, t.updatedAt) FROM Task t "
+            + "WHERE t.owner = :owner AND t.id = :id")
+    Optional<TaskStamp> findStampById(@Param("owner") String owner, @Param("id") Long id);
+
+    /**
+     * Finds the next page of overdue tasks ordered by due date and id, starting after the given (dueDate, id) key.
+     *
+     * @param owner the owner of the tasks
+     * @param now the reference date/time to compare against
+     * @param statuses the statuses that still count as open (every status except COMPLETED)
+     * @param afterDueDate the due date of the last task already returned
+     * @param afterId the id of the last task already returned
+     * @param limit the maximum number of tasks to return
+     * @return List of overdue tasks positioned after the given key
+     */
+    @Query("SELECT t FROM Task t WHERE t.owner = :owner AND t.dueDate < :now AND t.status IN :statuses AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId)) ORDER BY t.dueDate, t.id")
+    List<Task> findOverdueAfter(@Param("owner") String owner, @Param("now") LocalDateTime now, @Param("statuses") Collection<TaskStatus> statuses,
+            @Param("afterDueDate") LocalDateTime afterDueDate, @Param("afterId") Long afterId, Limit limit);
+
     /**
-     * Finds tasks with due dates within the specified date range.
-     * 
-     * @param start the start date/time of the range (inclusive)
-     * @param end the end date/time of the range (inclusive)
-     * @return List of tasks due between the specified dates
+     * Streams all tasks ordered by id. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param owner the owner of the tasks
+     * @return Stream of all tasks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByOwnerOrderByIdAsc(String owner);
+
+    /**
+     * Streams all tasks with the specified status ordered by id.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status to filter by
+     * @return Stream of tasks with the given status
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByOwnerAndStatusOrderByIdAsc(String owner, TaskStatus status);
+
+    /**
+     * Streams all tasks with the specified priority ordered by id.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
+     * @return Stream of tasks with the given priority
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByOwnerAndPriorityOrderByIdAsc(String owner, Integer priority);
+
+    /**
+     * Streams overdue tasks ordered by due date and id.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param owner the owner of the tasks
+     * @param dueDate the reference date/time to compare against
+     * @param statuses the statuses that still count as open (every status except COMPLETED)
+     * @return Stream of overdue tasks
      */
-    List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(String owner, LocalDateTime dueDate,
+            Collection<TaskStatus> statuses);
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.task_manager.repository;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Task repository operations that are written by hand rather than derived by Spring Data.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Marks a task as completed with a single UPDATE, unless it is already completed.
+     * The version is incremented like any other update; when an expected version is given, the
+     * task is only changed if it still has that version. Tasks of other owners are never changed.
+     *
+     * @param owner the owner of the task
+     * @param id the task ID
+     * @param expectedVersion the version the task must have, or null to accept any version
+     * @param completedAt the new last modification time
+     * @return the task as it was before the update, or empty if no row was changed (the owner has no
+     *         such task, or it is already completed or has another version)
+     */
+    Optional<Task> completeIfOpen(String owner, Long id, Long expectedVersion, LocalDateTime completedAt);
+
+    /**
+     * Reads the tasks of an owner matching a specification as responses, in a single statement and
+     * without loading entities. Null values of the sorted attributes come last, whatever the direction.
+     *
+     * @param owner the owner of the tasks
+     * @param specification the criteria the tasks must match
+     * @param sort the order of the results
+     * @param withDescription whether to read the description; when false it is left null
+     * @param limit the maximum number of tasks to return
+     * @return the matching tasks, in the given order
+     */
+    List<TaskResponse> findResponses(String owner, Specification<Task> specification, Sort sort, boolean withDescription,
+                                     int limit);
+}
@@ -0,0 +1,81 @@
+package com.taskmanager.task_manager.repository;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link TaskRepositoryCustom}, with plain JDBC and with the Criteria API.
+ * Statements run on the connection of the current JPA transaction.
+ */
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    /**
+     * Completes an open task and returns its previous row in the same statement, through H2's
+     * OLD TABLE data change delta table: no SELECT-then-UPDATE round trip, and no window in which
+     * another writer could slip between the read and the write.
+     */
+    private static final String COMPLETE = "SELECT " + TaskRowMapper.COLUMNS + " FROM OLD TABLE ("
+            + "UPDATE tasks SET status = 'COMPLETED', updated_at = ?, version = version + 1"
+            + " WHERE owner = ? AND id = ? AND status <> 'COMPLETED'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManager entityManager;
+
+    TaskRepositoryCustomImpl(DataSource dataSource, EntityManager entityManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Task> completeIfOpen(String owner, Long id, Long expectedVersion, LocalDateTime completedAt) {
+        List<Task> previous = expectedVersion == null
+                ? jdbcTemplate.query(COMPLETE + ")", TaskRowMapper.INSTANCE, Timestamp.valueOf(completedAt), owner, id)
+                : jdbcTemplate.query(COMPLETE + " AND version = ?)", TaskRowMapper.INSTANCE,
+                        Timestamp.valueOf(completedAt), owner, id, expectedVersion);
+        return previous.stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TaskResponse> findResponses(String owner, Specification<Task> specification, Sort sort,
+                                            boolean withDescription, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskResponse.class,
+                task.get("id"), task.get("title"),
+                withDescription ? task.get("description") : cb.nullLiteral(String.class),
+                task.get("status"), task.get("dueDate"), task.get("priority"),
+                task.get("createdAt"), task.get("updatedAt"), task.get("version"), task.get("owner")));
+        Predicate ownedBy = cb.equal(task.get("owner"), owner);
+        Predicate where = specification.toPredicate(task, query, cb);
+        query.where(where != null ? cb.and(ownedBy, where) : ownedBy);
+        query.orderBy(sort.stream()
+                .<Order>map(order -> order.isAscending()
+                        ? cb.asc(task.get(order.getProperty()), false)
+                        : cb.desc(task.get(order.getProperty()), false))
+                .toList());
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
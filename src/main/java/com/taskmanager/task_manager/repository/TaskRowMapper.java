@@ -0,0 +1,55 @@
+package com.taskmanager.task_manager.repository;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Maps a row of the tasks table, read with plain JDBC, to a detached Task.
+ */
+public class TaskRowMapper implements RowMapper<Task> {
+
+    /**
+     * Columns expected by this mapper, in table order.
+     */
+    public static final String COLUMNS = "id, title, description, status, due_date, priority,"
+            + " created_at, updated_at, version, owner";
+
+    /**
+     * Shared instance; the mapper is stateless.
+     */
+    public static final TaskRowMapper INSTANCE = new TaskRowMapper();
+
+    /**
+     * Builds a task from the current row.
+     *
+     * @param resultSet the result set positioned on the row
+     * @param rowNum the number of the row
+     * @return the task, not attached to any persistence context
+     * @throws SQLException if a column cannot be read
+     */
+    @Override
+    public Task mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        Task task = new Task();
+        task.setId(resultSet.getLong("id"));
+        task.setTitle(resultSet.getString("title"));
+        task.setDescription(resultSet.getString("description"));
+        task.setStatus(TaskStatus.valueOf(resultSet.getString("status")));
+        task.setDueDate(toLocalDateTime(resultSet.getTimestamp("due_date")));
+        task.setPriority(resultSet.getObject("priority", Integer.class));
+        task.setCreatedAt(toLocalDateTime(resultSet.getTimestamp("created_at")));
+        task.setUpdatedAt(toLocalDateTime(resultSet.getTimestamp("updated_at")));
+        task.setVersion(resultSet.getLong("version"));
+        task.setOwner(resultSet.getString("owner"));
+        return task;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskmanager.task_manager.repository;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Criteria of the combined task query, as JPA specifications to be combined with
+ * {@link Specification#allOf(Iterable)}. Each one maps to a sargable predicate on an indexed
+ * column, so the database can pick the most selective index for the combination.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Matches tasks having one of the given statuses.
+     *
+     * @param statuses the accepted statuses
+     * @return the specification
+     */
+    public static Specification<Task> hasStatusIn(Collection<TaskStatus> statuses) {
+        return (task, query, cb) -> task.get("status").in(statuses);
+    }
+
+    /**
+     * Matches tasks whose priority lies within the given bounds, both inclusive.
+     * Tasks without priority never match.
+     *
+     * @param min the lowest accepted priority, or null for no lower bound
+     * @param max the highest accepted priority, or null for no upper bound
+     * @return the specification
+     */
+    public static Specification<Task> hasPriorityBetween(Integer min, Integer max) {
+        return (task, query, cb) -> {
+            Path<Integer> priority = task.get("priority");
+            if (min == null) {
+                return cb.lessThanOrEqualTo(priority, max);
+            }
+            return max == null ? cb.greaterThanOrEqualTo(priority, min) : cb.between(priority, min, max);
+        };
+    }
+
+    /**
+     * Matches tasks due within the given window, both ends inclusive.
+     *
+     * @param from the earliest accepted due date, or null for no lower bound
+     * @param to the latest accepted due date, or null for no upper bound
+     * @return the specification
+     */
+    public static Specification<Task> isDueBetween(LocalDateTime from, LocalDateTime to) {
+        return (task, query, cb) -> {
+            Path<LocalDateTime> dueDate = task.get("dueDate");
+            if (from == null) {
+                return cb.lessThanOrEqualTo(dueDate, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(dueDate, from) : cb.between(dueDate, from, to);
+        };
+    }
+
+    /**
+     * Matches tasks with one of the given ids.
+     *
+     * @param ids the accepted ids
+     * @return the specification
+     */
+    public static Specification<Task> hasIdIn(Collection<Long> ids) {
+        return (task, query, cb) -> task.get("id").in(ids);
+    }
+
+    /**
+     * Matches tasks positioned after a keyset position in a listing ordered by the given attribute
+     * and then by id, both in the same direction, with null attribute values last.
+     *
+     * @param attribute the sorted attribute, or "id" when the listing is ordered by id only
+     * @param nullable whether the attribute can be null
+     * @param ascending whether the listing is in ascending order
+     * @param key the attribute value of the last returned task, possibly null
+     * @param id the id of the last returned task
+     * @return the specification
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> isPositionedAfter(String attribute, boolean nullable, boolean ascending,
+                                                        Comparable<?> key, Long id) {
+        return (task, query, cb) -> {
+            Path<Long> taskId = task.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(taskId, id) : cb.lessThan(taskId, id);
+            if (attribute.equals("id")) {
+                return idAfter;
+            }
+            Path<Comparable> value = task.get(attribute);
+            if (key == null) {
+                return cb.and(cb.isNull(value), idAfter);
+            }
+            Comparable bound = key;
+            Predicate keyAfter = ascending ? cb.greaterThan(value, bound) : cb.lessThan(value, bound);
+            Predicate after = cb.or(keyAfter, cb.and(cb.equal(value, bound), idAfter));
+            return nullable ? cb.or(after, cb.isNull(value)) : after;
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.task_manager.service;
+
+/**
+ * Matching strategy applied to each word of a task search.
+ */
+public enum SearchMode {
+    /** Words must match an indexed word exactly */
+    EXACT,
+    /** Words match any indexed word starting with them (e.g. "doc" matches "documentation") */
+    PREFIX,
+    /** Words match indexed words within a small edit distance, tolerating typos */
+    FUZZY
+}
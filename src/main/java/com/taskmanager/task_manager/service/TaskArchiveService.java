@@ -0,0 +1,101 @@
+package com.taskmanager.task_manager.service;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.exception.TaskNotFoundException;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service interface for the archive of completed and cancelled tasks.
+ * Archived tasks leave the active tasks read by {@link TaskService}, so the listings, searches and
+ * indexes of an owner only pay for the tasks still in play; the reads of this service include them.
+ * Archived tasks are read-only: they can no longer be updated, completed or deleted.
+ */
+public interface TaskArchiveService {
+
+    /**
+     * Statuses of the tasks that can be archived.
+     */
+    Set<TaskStatus> ARCHIVABLE_STATUSES = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+
+    /**
+     * Moves one batch of archivable tasks, of every owner, that have not changed since the given time
+     * to the archive, in a single transaction.
+     *
+     * @param changedBefore only archive tasks last changed before this time
+     * @param limit the largest number of tasks to archive
+     * @return the number of tasks archived; fewer than the limit when no more tasks are eligible, or
+     *         when some tasks changed while being archived
+     */
+    int archiveTasks(LocalDateTime changedBefore, int limit);
+
+    /**
+     * Retrieves a task by its ID, whether active or archived.
+     *
+     * @param owner the owner of the task
+     * @param id the ID of the task to retrieve
+     * @return TaskResponse containing the task details
+     * @throws TaskNotFoundException if the owner has no task with the given ID
+     */
+    TaskResponse getTaskById(String owner, Long id);
+
+    /**
+     * Retrieves all tasks, active and archived, ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param withDescription whether to return the descriptions; when false they are left null
+     * @return List of all tasks as TaskResponse objects
+     */
+    List<TaskResponse> getAllTasks(String owner, boolean withDescription);
+
+    /**
+     * Retrieves the active and archived tasks with the given status, ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status to filter by
+     * @return List of tasks with the specified status
+     */
+    List<TaskResponse> getTasksByStatus(String owner, TaskStatus status);
+
+    /**
+     * Retrieves the active and archived tasks with the given priority, ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level to filter by
+     * @return List of tasks with the specified priority
+     */
+    List<TaskResponse> getTasksByPriority(String owner, Integer priority);
+
+    /**
+     * Retrieves the active and archived tasks that are overdue (past due date and not completed),
+     * ordered by due date.
+     *
+     * @param owner the owner of the tasks
+     * @return List of overdue tasks
+     */
+    List<TaskResponse> getOverdueTasks(String owner);
+
+    /**
+     * Searches the active and archived tasks by keyword. The active matches come first, ranked by
+     * relevance, followed by the archived matches ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param keyword the words to search for
+     * @param mode how each word is matched
+     * @return List of matching tasks
+     */
+    List<TaskResponse> searchTasks(String owner, String keyword, SearchMode mode);
+
+    /**
+     * Tells which of the given ids belong to archived tasks, of any owner.
+     *
+     * @param ids the task ids to look for; null ids are ignored
+     * @return the ids of the archived tasks among them
+     */
+    Set<Long> findArchivedIds(Collection<Long> ids);
+}
@@ -0,0 +1,51 @@
+package com.taskmanager.task_manager.service;
+
+import com.taskmanager.task_manager.controller.dto.BatchResponse;
+import com.taskmanager.task_manager.controller.dto.TaskBatchUpdateRequest;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import java.util.List;
+
+/**
+ * Service interface for bulk task operations.
+ * Items are applied in chunked transactions; every item gets its own result,
+ * so an invalid or failing item never prevents the others from being applied.
+ * Every item acts on the tasks of the given owner; ids of tasks of other owners are reported as not found.
+ */
+public interface TaskBatchService {
+
+    /**
+     * Creates many tasks.
+     *
+     * @param owner the owner of the new tasks
+     * @param taskRequests the tasks to create
+     * @return BatchResponse with one result per request item
+     */
+    BatchResponse createTasks(String owner, List<TaskRequest> taskRequests);
+
+    /**
+     * Updates many existing tasks.
+     *
+     * @param owner the owner of the tasks
+     * @param updates the ids and new data of the tasks to update
+     * @return BatchResponse with one result per request item
+     */
+    BatchResponse updateTasks(String owner, List<TaskBatchUpdateRequest> updates);
+
+    /**
+     * Deletes many tasks.
+     *
+     * @param owner the owner of the tasks
+     * @param ids the ids of the tasks to delete
+     * @return BatchResponse with one result per request item
+     */
+    BatchResponse deleteTasks(String owner, List<Long> ids);
+
+    /**
+     * Marks many tasks as completed.
+     *
+     * @param owner the owner of the tasks
+     * @param ids the ids of the tasks to complete
+     * @return BatchResponse with one result per request item
+     */
+    BatchResponse completeTasks(String owner, List<Long> ids);
+}
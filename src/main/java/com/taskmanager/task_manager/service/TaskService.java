@@ -1,104 +1,338 @@
 package com.taskmanager.task_manager.service;
 
+import com.taskmanager.task_manager.controller.dto.TaskPage;
+import com.taskmanager.task_manager.controller.dto.TaskPatchRequest;
+import com.taskmanager.task_manager.controller.dto.TaskQueryRequest;
 import com.taskmanager.task_manager.controller.dto.TaskRequest;
 import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.controller.dto.TaskStamp;
+import com.taskmanager.task_manager.controller.dto.TaskStats;
 import com.taskmanager.task_manager.model.Task.TaskStatus;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for task management operations.
  * Defines the contract for all task-related business logic.
+ * Every operation acts on the tasks of a single owner, its first parameter: tasks of other owners
+ * are neither returned nor changed, and are reported as not found when asked for by id.
  */
 public interface TaskService {
     
     /**
      * Retrieves all tasks from the system.
      * 
+     * @param owner the owner of the tasks
      * @return List of all tasks as TaskResponse objects
      */
-    List<TaskResponse> getAllTasks();
+    List<TaskResponse> getAllTasks(String owner);
+
+    /**
+     * Retrieves all tasks from the system, optionally without their descriptions.
+     *
+     * @param owner the owner of the tasks
+     * @param withDescription whether to read the descriptions; when false they are left null
+     * @return List of all tasks as TaskResponse objects
+     */
+    List<TaskResponse> getAllTasks(String owner, boolean withDescription);
     
     /**
      * Finds a specific task by its unique identifier.
      * 
+     * @param owner the owner of the task
      * @param id the task ID to search for
      * @return TaskResponse containing the task details
      * @throws TaskNotFoundException if no task is found with the given ID
      */
-    TaskResponse getTaskById(Long id);
+    TaskResponse getTaskById(String owner, Long id);
     
     /**
      * Creates a new task in the system.
      * 
+     * @param owner the owner of the new task
      * @param taskRequest the task data to create
      * @return TaskResponse containing the created task details
      */
-    TaskResponse createTask(TaskRequest taskRequest);
+    TaskResponse createTask(String owner, TaskRequest taskRequest);
     
     /**
      * Updates an existing task with new data.
+     * The write is checked against the version of the task, so a concurrent change is never
+     * overwritten silently.
      * 
+     * @param owner the owner of the task
      * @param id the ID of the task to update
      * @param taskRequest the updated task data
+     * @param expectedVersion the version the client based its change on, or null for an unconditional update
      * @return TaskResponse containing the updated task details
      * @throws TaskNotFoundException if no task is found with the given ID
+     * @throws TaskPreconditionFailedException if the task does not have the expected version
+     * @throws TaskConflictException if an unconditional update loses a race against a concurrent change
      */
-    TaskResponse updateTask(Long id, TaskRequest taskRequest);
+    TaskResponse updateTask(String owner, Long id, TaskRequest taskRequest, Long expectedVersion);
+
+    /**
+     * Changes only the fields present in a merge patch.
+     * Only the columns whose value actually changes are written; a patch that changes nothing
+     * issues no UPDATE and publishes no change.
+     *
+     * @param owner the owner of the task
+     * @param id the ID of the task to patch
+     * @param patch the fields to change
+     * @param expectedVersion the version the client based its change on, or null for an unconditional patch
+     * @return TaskResponse containing the patched task details
+     * @throws TaskNotFoundException if no task is found with the given ID
+     * @throws TaskPreconditionFailedException if the task does not have the expected version
+     * @throws TaskConflictException if an unconditional patch loses a race against a concurrent change
+     */
+    TaskResponse patchTask(String owner, Long id, TaskPatchRequest patch, Long expectedVersion);
     
     /**
      * Deletes a task from the system.
      * 
+     * @param owner the owner of the task
      * @param id the ID of the task to delete
      * @throws TaskNotFoundException if no task is found with the given ID
      */
-    void deleteTask(Long id);
+    void deleteTask(String owner, Long id);
     
     /**
      * Retrieves tasks filtered by their status.
      * 
+     * @param owner the owner of the tasks
      * @param status the task status to filter by
      * @return List of tasks with the specified status
      */
-    List<TaskResponse> getTasksByStatus(TaskStatus status);
+    List<TaskResponse> getTasksByStatus(String owner, TaskStatus status);
     
     /**
      * Retrieves tasks filtered by their priority level.
      * 
+     * @param owner the owner of the tasks
      * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
      * @return List of tasks with the specified priority
      */
-    List<TaskResponse> getTasksByPriority(Integer priority);
+    List<TaskResponse> getTasksByPriority(String owner, Integer priority);
     
     /**
      * Searches tasks by keyword in title or description.
+     * Every word of the keyword must match a word of the task by prefix; results are ranked by relevance.
      * 
+     * @param owner the owner of the tasks
      * @param keyword the search term to look for
-     * @return List of tasks matching the search criteria
+     * @return List of tasks matching the search criteria, most relevant first
      */
-    List<TaskResponse> searchTasks(String keyword);
+    List<TaskResponse> searchTasks(String owner, String keyword);
+
+    /**
+     * Searches tasks by keyword in title or description using the given matching mode.
+     *
+     * @param owner the owner of the tasks
+     * @param keyword the search term to look for
+     * @param mode how each word of the keyword is matched (exact, prefix or typo-tolerant)
+     * @return List of tasks matching the search criteria, most relevant first
+     */
+    List<TaskResponse> searchTasks(String owner, String keyword, SearchMode mode);
     
     /**
      * Marks a task as completed.
+     * Completing a task that is already completed changes nothing.
      * 
+     * @param owner the owner of the task
      * @param id the ID of the task to mark as completed
+     * @param expectedVersion the version the client based its change on, or null for an unconditional completion
      * @return TaskResponse containing the updated task details
      * @throws TaskNotFoundException if no task is found with the given ID
+     * @throws TaskPreconditionFailedException if the task does not have the expected version
      */
-    TaskResponse markTaskAsCompleted(Long id);
+    TaskResponse markTaskAsCompleted(String owner, Long id, Long expectedVersion);
     
     /**
-     * Retrieves tasks that are overdue (past due date and not completed).
+     * Retrieves tasks that are overdue (past due date and not completed), ordered by due date.
      * 
+     * @param owner the owner of the tasks
      * @return List of overdue tasks
      */
-    List<TaskResponse> getOverdueTasks();
+    List<TaskResponse> getOverdueTasks(String owner);
     
     /**
-     * Retrieves tasks with due dates within a specified time range.
+     * Retrieves tasks with due dates within a specified time range, ordered by due date.
      * 
+     * @param owner the owner of the tasks
      * @param start the start date/time of the range (ISO format)
      * @param end the end date/time of the range (ISO format)
      * @return List of tasks due between the specified dates
+     * @throws IllegalArgumentException if a date is malformed or start is after end
+     */
+    List<TaskResponse> getTasksDueBetween(String owner, String start, String end);
+
+    /**
+     * Returns the version and last modification time of a task without loading it.
+     *
+     * @param owner the owner of the task
+     * @param id the task ID
+     * @return the current stamp of the task
+     * @throws TaskNotFoundException if no task is found with the given ID
+     */
+    TaskStamp getTaskStamp(String owner, Long id);
+
+    /**
+     * Returns the current version of the whole task collection.
+     * The version changes whenever any task is created, updated or deleted, so it can be used as
+     * the entity tag of every listing that is not bound to a single status or priority.
+     *
+     * @param owner the owner of the tasks
+     * @return the opaque collection version
+     */
+    String getTasksVersion(String owner);
+
+    /**
+     * Returns the current version of the tasks with the given status.
+     * The version changes only when a task with this status, before or after the write, is changed.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status
+     * @return the opaque collection version
+     */
+    String getTasksByStatusVersion(String owner, TaskStatus status);
+
+    /**
+     * Returns the current version of the tasks with the given priority.
+     * The version changes only when a task with this priority, before or after the write, is changed.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level (1=High, 2=Medium, 3=Low)
+     * @return the opaque collection version
+     */
+    String getTasksByPriorityVersion(String owner, Integer priority);
+
+    /**
+     * Returns the number of tasks per status and priority, and the number of overdue tasks.
+     * Served from in-memory counters, without querying the database.
+     *
+     * @param owner the owner of the tasks
+     * @return the task statistics
+     */
+    TaskStats getTaskStats(String owner);
+
+    /**
+     * Retrieves one page of all tasks ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param cursor the cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of tasks in the page
+     * @param withDescription whether to read the descriptions; when false they are left null
+     * @return TaskPage with the tasks and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    TaskPage getAllTasksPage(String owner, String cursor, int size, boolean withDescription);
+
+    /**
+     * Retrieves one page of tasks with the given status ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status to filter by
+     * @param cursor the cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of tasks in the page
+     * @param withDescription whether to read the descriptions; when false they are left null
+     * @return TaskPage with the tasks and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    TaskPage getTasksByStatusPage(String owner, TaskStatus status, String cursor, int size, boolean withDescription);
+
+    /**
+     * Retrieves one page of tasks with the given priority ordered by id.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
+     * @param cursor the cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of tasks in the page
+     * @param withDescription whether to read the descriptions; when false they are left null
+     * @return TaskPage with the tasks and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    TaskPage getTasksByPriorityPage(String owner, Integer priority, String cursor, int size, boolean withDescription);
+
+    /**
+     * Retrieves one page of the tasks matching every given criterion, in the requested order.
+     * The criteria, the order and the page limit are applied by a single database query.
+     *
+     * @param owner the owner of the tasks
+     * @param query the criteria and order of the query
+     * @param cursor the cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of tasks in the page
+     * @param withDescription whether to read the descriptions; when false they are left null
+     * @return TaskPage with the tasks and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    TaskPage queryTasks(String owner, TaskQueryRequest query, String cursor, int size, boolean withDescription);
+
+    /**
+     * Retrieves one page of tasks matching the keyword in title or description, most relevant first.
+     *
+     * @param owner the owner of the tasks
+     * @param keyword the search term to look for
+     * @param mode how each word of the keyword is matched
+     * @param cursor the cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of tasks in the page
+     * @return TaskPage with the tasks and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    TaskPage searchTasksPage(String owner, String keyword, SearchMode mode, String cursor, int size);
+
+    /**
+     * Retrieves one page of overdue tasks ordered by due date.
+     *
+     * @param owner the owner of the tasks
+     * @param cursor the cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of tasks in the page
+     * @return TaskPage with the tasks and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    TaskPage getOverdueTasksPage(String owner, String cursor, int size);
+
+    /**
+     * Streams all tasks ordered by id to the given consumer, one at a time,
+     * without materializing the full result.
+     *
+     * @param owner the owner of the tasks
+     * @param consumer the callback receiving each task
+     */
+    void streamAllTasks(String owner, Consumer<TaskResponse> consumer);
+
+    /**
+     * Streams tasks with the given status ordered by id to the given consumer.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status to filter by
+     * @param consumer the callback receiving each task
+     */
+    void streamTasksByStatus(String owner, TaskStatus status, Consumer<TaskResponse> consumer);
+
+    /**
+     * Streams tasks with the given priority ordered by id to the given consumer.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level to filter by (1=High, 2=Medium, 3=Low)
+     * @param consumer the callback receiving each task
+     */
+    void streamTasksByPriority(String owner, Integer priority, Consumer<TaskResponse> consumer);
+
+    /**
+     * Streams tasks matching the keyword in title or description to the given consumer, most relevant first.
+     *
+     * @param owner the owner of the tasks
+     * @param keyword the search term to look for
+     * @param mode how each word of the keyword is matched
+     * @param consumer the callback receiving each task
+     */
+    void streamSearchResults(String owner, String keyword, SearchMode mode, Consumer<TaskResponse> consumer);
+
+    /**
+     * Streams overdue tasks ordered by due date to the given consumer.
+     *
+     * @param owner the owner of the tasks
+     * @param consumer the callback receiving each task
      */
-    List<TaskResponse> getTasksDueBetween(String start, String end);
-}
\ No newline at end of file
+    void streamOverdueTasks(String owner, Consumer<TaskResponse> consumer);
+}
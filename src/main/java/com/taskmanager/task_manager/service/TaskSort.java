@@ -0,0 +1,97 @@
+package com.taskmanager.task_manager.service;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Sort key of a task query. Ties are always broken by id, in the same direction, so every
+ * sort defines a total order that keyset pagination can resume from.
+ */
+public enum TaskSort {
+    /** By id, which is also the creation order */
+    ID("id", false, TaskResponse::getId, Long::valueOf),
+    /** By due date */
+    DUE_DATE("dueDate", false, TaskResponse::getDueDate, LocalDateTime::parse),
+    /** By priority level; tasks without priority come last in both directions */
+    PRIORITY("priority", true, TaskResponse::getPriority, Integer::valueOf),
+    /** By creation time */
+    CREATED_AT("createdAt", false, TaskResponse::getCreatedAt, LocalDateTime::parse),
+    /** By last modification time */
+    UPDATED_AT("updatedAt", false, TaskResponse::getUpdatedAt, LocalDateTime::parse);
+
+    private final String attribute;
+
+    private final boolean nullable;
+
+    private final Function<TaskResponse, ? extends Comparable<?>> key;
+
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    TaskSort(String attribute, boolean nullable, Function<TaskResponse, ? extends Comparable<?>> key,
+             Function<String, ? extends Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.nullable = nullable;
+        this.key = key;
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the name of the sorted Task attribute.
+     *
+     * @return the attribute name
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Tells whether tasks can have no value for the sorted attribute.
+     *
+     * @return true if the attribute is nullable
+     */
+    public boolean nullable() {
+        return nullable;
+    }
+
+    /**
+     * Returns the sort key of a task.
+     *
+     * @param task the task
+     * @return the value of the sorted attribute, possibly null
+     */
+    public Comparable<?> keyOf(TaskResponse task) {
+        return key.apply(task);
+    }
+
+    /**
+     * Returns the order of a query with this sort, as the database applies it: by sort key with
+     * tasks without one last, then by id, both in the given direction.
+     *
+     * @param ascending whether the query is in ascending order
+     * @return the comparator
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<TaskResponse> comparator(boolean ascending) {
+        Comparator<TaskResponse> byId = Comparator.comparing(TaskResponse::getId);
+        if (this == ID) {
+            return ascending ? byId : byId.reversed();
+        }
+        Comparator<Comparable> values = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        return Comparator.<TaskResponse, Comparable>comparing(task -> (Comparable) keyOf(task), Comparator.nullsLast(values))
+                .thenComparing(ascending ? byId : byId.reversed());
+    }
+
+    /**
+     * Parses a sort key written with {@link Object#toString()}.
+     *
+     * @param text the written key
+     * @return the key
+     * @throws RuntimeException if the text is not a valid key
+     */
+    public Comparable<?> parseKey(String text) {
+        return parser.apply(text);
+    }
+}
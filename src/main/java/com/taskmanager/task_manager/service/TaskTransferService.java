@@ -0,0 +1,43 @@
+package com.taskmanager.task_manager.service;
+
+import com.taskmanager.task_manager.controller.dto.TaskImportResult;
+import com.taskmanager.task_manager.exception.InvalidTaskImportException;
+import com.taskmanager.task_manager.service.transfer.TaskTransferFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for dumping the tasks of an owner to a stream and restoring them from one.
+ * Both directions stream the tasks, so their memory use does not depend on the number of tasks.
+ * Dumps do not carry owners: restored tasks belong to the owner importing them.
+ */
+public interface TaskTransferService {
+
+    /**
+     * Writes every stored task of an owner, in id order, to the given stream.
+     *
+     * @param owner the owner of the tasks
+     * @param format the format to write
+     * @param output the stream to write to, left open
+     * @return the number of tasks written
+     * @throws IOException if the stream cannot be written
+     */
+    long exportTasks(String owner, TaskTransferFormat format, OutputStream output) throws IOException;
+
+    /**
+     * Stores the tasks read from the given stream for an owner. A record with an id creates or replaces
+     * the task with this id; a record without id creates a new task. Invalid records, and records whose
+     * id is taken by a task of another owner, are skipped and reported.
+     *
+     * @param owner the owner of the imported tasks
+     * @param format the format to read
+     * @param input the stream to read from
+     * @return the counts of created, updated and failed records
+     * @throws IOException if the stream cannot be read
+     * @throws InvalidTaskImportException if the stream cannot be decoded; the records before the
+     *         offending one may already be imported
+     */
+    TaskImportResult importTasks(String owner, TaskTransferFormat format, InputStream input) throws IOException;
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.task_manager.service.archive;
+
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Background job moving completed and cancelled tasks that have not changed for the configured age to
+ * the archive, see {@link TaskArchiveService}.
+ * <p>
+ * Each run archives batches of tasks, one transaction each, pausing between two batches so that the
+ * deletes do not hold the database against the requests, and stops after the configured number of
+ * batches: a backlog of eligible tasks is worked off over several runs rather than in one burst.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task-manager.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver {
+
+    private final TaskArchiveService archiveService;
+
+    private final Duration minAge;
+
+    private final int batchSize;
+
+    private final Duration pause;
+
+    private final int maxBatches;
+
+    private final Counter archived;
+
+    public TaskArchiver(TaskArchiveService archiveService,
+                        MeterRegistry meterRegistry,
+                        @Value("${task-manager.archive.min-age:P30D}") Duration minAge,
+                        @Value("${task-manager.archive.batch-size:500}") int batchSize,
+                        @Value("${task-manager.archive.pause:PT0.2S}") Duration pause,
+                        @Value("${task-manager.archive.max-batches:100}") int maxBatches) {
+        this.archiveService = archiveService;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxBatches = maxBatches;
+        this.archived = Counter.builder("task.archive.tasks")
+                .description("Completed and cancelled tasks moved to the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives the eligible tasks, at most the configured number of batches.
+     */
+    @Scheduled(fixedDelayString = "${task-manager.archive.interval:PT1H}",
+            initialDelayString = "${task-manager.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime changedBefore = LocalDateTime.now().minus(minAge);
+        long start = System.nanoTime();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int count = archiveService.archiveTasks(changedBefore, batchSize);
+            archived.increment(count);
+            total += count;
+            if (count < batchSize || batch == maxBatches - 1) {
+                break;
+            }
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} tasks last changed before {} in {} ms", total, changedBefore,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
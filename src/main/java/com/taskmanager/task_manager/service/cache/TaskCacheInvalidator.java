@@ -0,0 +1,50 @@
+package com.taskmanager.task_manager.service.cache;
+
+import com.taskmanager.task_manager.config.CacheConfig;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cache entries affected by a committed task change, and only those:
+ * the changed task itself and the status and priority buckets of its owner it left or entered.
+ * Cache keys are (owner, id), (owner, status) and (owner, priority), as generated for the cached
+ * TaskService methods.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts the entries affected by a task change.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(CacheConfig.TASKS_CACHE, event.getOwner(), event.getTaskId());
+        evictBuckets(event.getBefore());
+        evictBuckets(event.getAfter());
+    }
+
+    private void evictBuckets(TaskResponse task) {
+        if (task != null) {
+            evict(CacheConfig.TASKS_BY_STATUS_CACHE, task.getOwner(), task.getStatus());
+            evict(CacheConfig.TASKS_BY_PRIORITY_CACHE, task.getOwner(), task.getPriority());
+        }
+    }
+
+    private void evict(String cacheName, String owner, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(SimpleKeyGenerator.generateKey(owner, key));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.taskmanager.task_manager.service.cache;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the task collections, used as entity tags by the list endpoints.
+ * Each owner has its own counters: one for all its tasks and one per status and priority bucket; a task
+ * change bumps the counter of all the tasks of its owner and the counters of the buckets the task left
+ * or entered, so polling an unaffected bucket, or the tasks of another owner, keeps getting 304 responses.
+ * <p>
+ * Counters are bumped both right before and right after the transaction commits: a reader that
+ * computes a tag in between sees the first bump and will not be told later that the data it read is
+ * still current. Versions are prefixed with the start time of this instance so tags never repeat
+ * across restarts, and include the owner so the tags of two owners never collide.
+ */
+@Component
+public class TaskCollectionVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * Counters of each owner that has changed tasks since startup; the others are all at zero.
+     */
+    private final Map<String, Counters> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * The version counters of the tasks of one owner.
+     */
+    private static final class Counters {
+
+        private final AtomicLong allTasks = new AtomicLong();
+
+        private final Map<TaskStatus, AtomicLong> byStatus;
+
+        /**
+         * Counters of the priorities the tasks of the owner have had; created by writes only, so reads
+         * of arbitrary priorities do not grow the map.
+         */
+        private final Map<Integer, AtomicLong> byPriority = new ConcurrentHashMap<>();
+
+        private Counters() {
+            Map<TaskStatus, AtomicLong> counters = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                counters.put(status, new AtomicLong());
+            }
+            byStatus = Collections.unmodifiableMap(counters);
+        }
+
+        private AtomicLong priorityCounter(Integer priority) {
+            return byPriority.computeIfAbsent(priorityKey(priority), key -> new AtomicLong());
+        }
+
+        private long priorityVersion(Integer priority) {
+            AtomicLong counter = byPriority.get(priorityKey(priority));
+            return counter != null ? counter.get() : 0;
+        }
+
+        private static int priorityKey(Integer priority) {
+            return priority != null ? priority : 0;
+        }
+    }
+
+    /**
+     * Returns the current version of all the tasks of an owner.
+     *
+     * @param owner the owner of the tasks
+     * @return the version, changed by any write to a task of the owner
+     */
+    public String allTasks(String owner) {
+        Counters counters = partitions.get(owner);
+        return version(owner, counters != null ? counters.allTasks.get() : 0);
+    }
+
+    /**
+     * Returns the current version of the tasks of an owner with the given status.
+     *
+     * @param owner the owner of the tasks
+     * @param status the task status
+     * @return the version, changed by writes to tasks of the owner that have or had this status
+     */
+    public String byStatus(String owner, TaskStatus status) {
+        Counters counters = partitions.get(owner);
+        return version(owner, counters != null ? counters.byStatus.get(status).get() : 0);
+    }
+
+    /**
+     * Returns the current version of the tasks of an owner with the given priority.
+     *
+     * @param owner the owner of the tasks
+     * @param priority the priority level
+     * @return the version, changed by writes to tasks of the owner that have or had this priority
+     */
+    public String byPriority(String owner, Integer priority) {
+        Counters counters = partitions.get(owner);
+        return version(owner, counters != null ? counters.priorityVersion(priority) : 0);
+    }
+
+    /**
+     * Bumps the affected counters before the change becomes visible to other transactions.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeTaskChangeCommitted(TaskChangedEvent event) {
+        bump(event);
+    }
+
+    /**
+     * Bumps the affected counters once the change is visible to other transactions.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(event);
+    }
+
+    private void bump(TaskChangedEvent event) {
+        Counters counters = partitions.computeIfAbsent(event.getOwner(), owner -> new Counters());
+        counters.allTasks.incrementAndGet();
+        bumpBuckets(counters, event.getBefore());
+        bumpBuckets(counters, event.getAfter());
+    }
+
+    private static void bumpBuckets(Counters counters, TaskResponse task) {
+        if (task != null) {
+            counters.byStatus.get(task.getStatus()).incrementAndGet();
+            counters.priorityCounter(task.getPriority()).incrementAndGet();
+        }
+    }
+
+    private String version(String owner, long counter) {
+        return epoch + "-" + owner + "-" + counter;
+    }
+}
@@ -0,0 +1,244 @@
+package com.taskmanager.task_manager.service.deadline;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.event.TaskOverdueEvent;
+import com.taskmanager.task_manager.service.index.DeadlineIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes a {@link TaskOverdueEvent} at the moment each task that is not completed becomes overdue.
+ * <p>
+ * Deadlines are not copied into a timer structure of their own: the {@link DeadlineIndex} already keeps
+ * the open tasks in a skip list ordered by due date, rebuilt at startup and kept in sync with every
+ * committed change, and serves as the priority queue. A single thread sleeps until the next open
+ * deadline, has the index report the deadlines passed since its previous wake-up, loads the rows of
+ * those tasks by id, and sleeps again. Nothing is stored per task and the table is never scanned; a
+ * task completed between its deadline and the load is skipped. A change bringing an earlier deadline
+ * wakes the thread up early. The sleep is capped so a clock adjustment cannot delay a deadline for long.
+ * Tasks already overdue at startup are not reported.
+ */
+@Slf4j
+@Component
+public class OverdueScheduler implements SmartLifecycle, DeadlineIndex.Watcher {
+
+    /**
+     * Maximum number of ids loaded per query.
+     */
+    private static final int LOAD_CHUNK = 500;
+
+    private final DeadlineIndex deadlineIndex;
+
+    private final TaskRepository taskRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final long maxSleepNanos;
+
+    private final Counter transitions;
+
+    private final Timer delays;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition wakeUp = lock.newCondition();
+
+    /**
+     * Earliest deadline scheduled since the thread last computed its wake-up time; guarded by the lock.
+     */
+    private LocalDateTime earliestScheduled;
+
+    /**
+     * Time the thread sleeps until, or null while it is awake; guarded by the lock.
+     */
+    private LocalDateTime sleepingUntil;
+
+    /**
+     * Deadlines reported by the index during the current wake-up, in due date order; only touched by the thread.
+     */
+    private final List<Passed> passed = new ArrayList<>();
+
+    private Thread thread;
+
+    private volatile boolean running;
+
+    /**
+     * A deadline that passed.
+     */
+    private record Passed(String owner, long id, LocalDateTime dueDate) {
+    }
+
+    public OverdueScheduler(DeadlineIndex deadlineIndex,
+                            TaskRepository taskRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${task-manager.overdue.max-sleep:PT1M}") Duration maxSleep) {
+        this.deadlineIndex = deadlineIndex;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxSleepNanos = maxSleep.toNanos();
+        this.transitions = Counter.builder("task.overdue.transitions")
+                .description("Tasks that became overdue")
+                .register(meterRegistry);
+        this.delays = Timer.builder("task.overdue.delay")
+                .description("Time from the due date of a task to the publication of its overdue event")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts watching the deadlines that pass from now on, once the index has been rebuilt.
+     */
+    @Override
+    public void start() {
+        deadlineIndex.watchOverdue(LocalDateTime.now(), this);
+        running = true;
+        thread = Thread.ofPlatform().name("task-overdue-scheduler").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Remembers the deadline until the index has reported every deadline passed; the task is loaded
+     * and published after the index lock is released.
+     */
+    @Override
+    public void deadlinePassed(String owner, long id, LocalDateTime dueDate) {
+        passed.add(new Passed(owner, id, dueDate));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void changedToOverdue(TaskResponse task) {
+        publish(task);
+    }
+
+    /**
+     * Wakes the thread up if the deadline comes before the time it sleeps until; deadlines scheduled
+     * while it is awake are taken into account before it goes back to sleep.
+     *
+     * @param dueDate the due date
+     */
+    @Override
+    public void deadlineScheduled(LocalDateTime dueDate) {
+        lock.lock();
+        try {
+            if (sleepingUntil == null) {
+                if (earliestScheduled == null || dueDate.isBefore(earliestScheduled)) {
+                    earliestScheduled = dueDate;
+                }
+            } else if (dueDate.isBefore(sleepingUntil)) {
+                earliestScheduled = dueDate;
+                wakeUp.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            LocalDateTime next = deadlineIndex.advanceOverdue(LocalDateTime.now());
+            try {
+                publishPassed();
+            } catch (RuntimeException e) {
+                log.error("Cannot publish {} overdue tasks", passed.size(), e);
+            } finally {
+                passed.clear();
+            }
+            lock.lock();
+            try {
+                if (earliestScheduled != null && (next == null || earliestScheduled.isBefore(next))) {
+                    next = earliestScheduled;
+                }
+                earliestScheduled = null;
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime latest = now.plusNanos(maxSleepNanos);
+                sleepingUntil = next != null && next.isBefore(latest) ? next : latest;
+                long sleepNanos = Duration.between(now, sleepingUntil).toNanos();
+                if (running && sleepNanos > 0) {
+                    wakeUp.awaitNanos(sleepNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                sleepingUntil = null;
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Loads the tasks whose deadlines passed and publishes those still open, in due date order.
+     */
+    private void publishPassed() {
+        if (passed.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> idsByOwner = new LinkedHashMap<>();
+        for (Passed deadline : passed) {
+            idsByOwner.computeIfAbsent(deadline.owner(), owner -> new ArrayList<>()).add(deadline.id());
+        }
+        Map<Long, TaskResponse> tasksById = new HashMap<>();
+        idsByOwner.forEach((owner, ids) -> {
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                taskRepository.findResponsesByIdIn(owner, ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size())))
+                        .forEach(task -> tasksById.put(task.getId(), task));
+            }
+        });
+        LocalDateTime now = LocalDateTime.now();
+        for (Passed deadline : passed) {
+            TaskResponse task = tasksById.get(deadline.id());
+            if (task != null && task.getStatus() != TaskStatus.COMPLETED
+                    && task.getDueDate() != null && task.getDueDate().isBefore(now)) {
+                delays.record(Duration.between(deadline.dueDate(), now));
+                publish(task);
+            }
+        }
+    }
+
+    private void publish(TaskResponse task) {
+        transitions.increment();
+        log.debug("Task {} is overdue since {}", task.getId(), task.getDueDate());
+        eventPublisher.publishEvent(new TaskOverdueEvent(task));
+    }
+}
@@ -0,0 +1,122 @@
+package com.taskmanager.task_manager.service.event;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published by the task service after every successful write.
+ * Carries the state of the task before and after the change so listeners keeping
+ * in-memory views of the tasks can update exactly the entries that were affected.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskChangedEvent {
+
+    /**
+     * Kind of change applied to the task.
+     */
+    public enum Type {
+        /** Task has been created */
+        CREATED,
+        /** Task has been modified */
+        UPDATED,
+        /** Task has been removed */
+        DELETED,
+        /** Task has been moved to the archive, out of the active tasks */
+        ARCHIVED
+    }
+
+    /**
+     * Kind of change applied to the task.
+     */
+    private final Type type;
+
+    /**
+     * State of the task before the change, or null when the task has just been created.
+     */
+    private final TaskResponse before;
+
+    /**
+     * State of the task after the change, or null when the task has been deleted or archived.
+     */
+    private final TaskResponse after;
+
+    /**
+     * Whether the task comes back under the id of a task removed earlier, so listeners that remember
+     * removals must forget that of this id instead of ignoring the change.
+     */
+    private final boolean restored;
+
+    /**
+     * Creates an event for a newly created task.
+     *
+     * @param created the created task
+     * @return the event
+     */
+    public static TaskChangedEvent created(TaskResponse created) {
+        return new TaskChangedEvent(Type.CREATED, null, created, false);
+    }
+
+    /**
+     * Creates an event for a task created with an explicit id, which may be that of a task deleted or
+     * archived before, for instance by an import.
+     *
+     * @param restored the created task
+     * @return the event
+     */
+    public static TaskChangedEvent restored(TaskResponse restored) {
+        return new TaskChangedEvent(Type.CREATED, null, restored, true);
+    }
+
+    /**
+     * Creates an event for a modified task.
+     *
+     * @param before the task state before the change
+     * @param after the task state after the change
+     * @return the event
+     */
+    public static TaskChangedEvent updated(TaskResponse before, TaskResponse after) {
+        return new TaskChangedEvent(Type.UPDATED, before, after, false);
+    }
+
+    /**
+     * Creates an event for a deleted task.
+     *
+     * @param deleted the task state before deletion
+     * @return the event
+     */
+    public static TaskChangedEvent deleted(TaskResponse deleted) {
+        return new TaskChangedEvent(Type.DELETED, deleted, null, false);
+    }
+
+    /**
+     * Creates an event for a task moved to the archive. Listeners keeping views of the active tasks
+     * handle it like a deletion.
+     *
+     * @param archived the task state when it was archived
+     * @return the event
+     */
+    public static TaskChangedEvent archived(TaskResponse archived) {
+        return new TaskChangedEvent(Type.ARCHIVED, archived, null, false);
+    }
+
+    /**
+     * Returns the id of the task affected by this change.
+     *
+     * @return the task id
+     */
+    public Long getTaskId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    /**
+     * Returns the owner of the task affected by this change, which a change never modifies.
+     *
+     * @return the task owner
+     */
+    public String getOwner() {
+        return after != null ? after.getOwner() : before.getOwner();
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskmanager.task_manager.service.event;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published when a task that is not completed becomes overdue: its due date
+ * passes, or a committed change gives it a due date in the past or reopens it after its due date.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskOverdueEvent {
+
+    /**
+     * State of the task when it became overdue.
+     */
+    private final TaskResponse task;
+
+    /**
+     * Returns the id of the overdue task.
+     *
+     * @return the task id
+     */
+    public Long getTaskId() {
+        return task.getId();
+    }
+}
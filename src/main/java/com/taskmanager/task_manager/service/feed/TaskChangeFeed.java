@@ -0,0 +1,355 @@
+package com.taskmanager.task_manager.service.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.task_manager.controller.dto.TaskChange;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.event.TaskOverdueEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Live feed of committed task changes, delivered to subscribers as server-sent events, together with
+ * an {@value #OVERDUE_EVENT} event whenever a task becomes overdue.
+ * <p>
+ * Every change is serialized once and written to a bounded ring buffer under the next sequence
+ * number; publishing never blocks and never waits for subscribers. Each subscriber reads the ring at
+ * its own position, one drain at a time, on a virtual thread of the feed's own executor: a send blocked
+ * on a slow client only parks that subscriber's thread, and neither the other subscribers nor the
+ * application task executor serving the streaming endpoints and exports wait for it.
+ * A subscriber that falls more than the ring capacity behind, or resumes from a position that is no
+ * longer retained, receives a {@value #RESET_EVENT} event: it must reload the tasks it follows, and
+ * then keeps receiving the changes that come after.
+ * <p>
+ * Event ids combine the start time of this instance with the sequence number, so clients reconnecting
+ * with {@code Last-Event-ID} resume exactly where they stopped, and are told to reload after a restart.
+ * Heartbeats carry the subscriber's current position too, so filtered subscribers that rarely receive
+ * an event do not fall out of the retained window.
+ * <p>
+ * The ring is shared by every owner; a subscriber only receives the changes of the tasks of its own
+ * owner, and sees the sequence numbers of the other owners' changes as gaps.
+ */
+@Slf4j
+@Service
+public class TaskChangeFeed {
+
+    /**
+     * Name of the event telling a subscriber that changes were dropped and that it must reload.
+     */
+    public static final String RESET_EVENT = "reset";
+
+    /**
+     * Name of the event telling that a task became overdue; its data is the task at that moment.
+     */
+    public static final String OVERDUE_EVENT = "OVERDUE";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicReferenceArray<Entry> ring;
+
+    private final int mask;
+
+    /**
+     * Sequence number of the last published change; the first change gets sequence 1.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Runs the drains, one virtual thread each, so blocking sends never hold a pooled thread.
+     */
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("task-feed-");
+
+    private final Duration timeout;
+
+    private final Duration retry;
+
+    private final Counter resets;
+
+    /**
+     * One published change and its serialized form, shared by every subscriber.
+     */
+    private record Entry(long sequence, String name, TaskResponse before, TaskResponse after, String json) {
+    }
+
+    /**
+     * One open event stream and its position in the feed.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final String owner;
+
+        private final TaskStatus status;
+
+        private final Integer priority;
+
+        /**
+         * Drain in progress or queued; only one drain runs per subscriber at a time.
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        /**
+         * Sequence number of the next change to deliver, only touched by the running drain.
+         */
+        private long next;
+
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, String owner, TaskStatus status, Integer priority) {
+            this.emitter = emitter;
+            this.owner = owner;
+            this.status = status;
+            this.priority = priority;
+        }
+
+        private boolean accepts(Entry entry) {
+            return matches(entry.before()) || matches(entry.after());
+        }
+
+        private boolean matches(TaskResponse task) {
+            return task != null
+                    && owner.equals(task.getOwner())
+                    && (status == null || status == task.getStatus())
+                    && (priority == null || priority.equals(task.getPriority()));
+        }
+    }
+
+    public TaskChangeFeed(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${task-manager.feed.capacity:4096}") int capacity,
+                          @Value("${task-manager.feed.timeout:PT30M}") Duration timeout,
+                          @Value("${task-manager.feed.retry:PT3S}") Duration retry) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.objectMapper = objectMapper;
+        this.executor.setVirtualThreads(true);
+        this.timeout = timeout;
+        this.retry = retry;
+        this.resets = Counter.builder("task.feed.resets")
+                .description("Subscribers told to reload because the changes they needed were no longer retained")
+                .register(meterRegistry);
+        Gauge.builder("task.feed.subscribers", subscribers, Set::size)
+                .description("Open task change streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens an event stream of the committed changes to the tasks of an owner matching the given filters.
+     * An update is delivered when the task matches the filters before or after the change, so
+     * subscribers also learn about tasks leaving the set they follow.
+     *
+     * @param owner the owner of the tasks
+     * @param lastEventId the id of the last event received on a previous stream, or null to start now
+     * @param status only deliver changes of tasks with this status, or null for any status
+     * @param priority only deliver changes of tasks with this priority, or null for any priority
+     * @return the emitter the events are sent through
+     */
+    public SseEmitter subscribe(String owner, String lastEventId, TaskStatus status, Integer priority) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, owner, status, priority);
+        Long resumed = resumePosition(lastEventId);
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(retry.toMillis()).comment("connected"));
+            if (resumed != null) {
+                subscriber.next = resumed;
+            } else {
+                sendReset(subscriber);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Appends a committed change to the feed and wakes up the subscribers.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publish(event.getType().name(), event.getBefore(), event.getAfter());
+    }
+
+    /**
+     * Appends an {@value #OVERDUE_EVENT} event to the feed when a task becomes overdue.
+     *
+     * @param event the overdue transition
+     */
+    @EventListener
+    public void onTaskOverdue(TaskOverdueEvent event) {
+        publish(OVERDUE_EVENT, null, event.getTask());
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber, carrying its current position.
+     * Lets proxies keep idle streams open and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${task-manager.feed.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        });
+    }
+
+    /**
+     * Ends every open stream when the application shuts down, so graceful shutdown does not wait for
+     * them; clients reconnect elsewhere and are told to reload.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscribers.forEach(subscriber -> {
+            close(subscriber);
+            subscriber.emitter.complete();
+        });
+    }
+
+    private void publish(String name, TaskResponse before, TaskResponse after) {
+        long sequence = head.incrementAndGet();
+        ring.set(index(sequence), new Entry(sequence, name, before, after, toJson(sequence, name, before, after)));
+        subscribers.forEach(this::schedule);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed && subscriber.scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Delivers every published change from the subscriber's position on.
+     * Wake-ups arriving while the drain runs are not lost: after clearing its flag the drain checks
+     * again for published changes and runs another round if it can claim the flag back.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                Entry entry;
+                while (!subscriber.closed && (entry = ring.get(index(subscriber.next))) != null
+                        && entry.sequence() >= subscriber.next) {
+                    if (entry.sequence() > subscriber.next) {
+                        sendReset(subscriber);
+                        continue;
+                    }
+                    if (entry.json() != null && subscriber.accepts(entry)) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(eventId(entry.sequence()))
+                                .name(entry.name())
+                                .data(entry.json(), MediaType.APPLICATION_JSON));
+                    }
+                    subscriber.next++;
+                }
+                if (subscriber.heartbeatDue.getAndSet(false)) {
+                    subscriber.emitter.send(SseEmitter.event().id(eventId(subscriber.next - 1)).comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Task change subscriber went away", e);
+                close(subscriber);
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.closed
+                && (isPublished(subscriber.next) || subscriber.heartbeatDue.get())
+                && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * Moves a subscriber past every change published so far and tells it to reload.
+     */
+    private void sendReset(Subscriber subscriber) throws IOException {
+        long current = head.get();
+        subscriber.next = current + 1;
+        resets.increment();
+        subscriber.emitter.send(SseEmitter.event().id(eventId(current)).name(RESET_EVENT).data(current));
+    }
+
+    /**
+     * Returns the sequence number to resume from after the given event id, or null when the client
+     * must reload: the id is malformed, comes from another instance or is no longer retained.
+     */
+    private Long resumePosition(String lastEventId) {
+        long current = head.get();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return current + 1;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        try {
+            long last = Long.parseLong(lastEventId.substring(separator + 1));
+            return last <= current && current - last <= ring.length() ? last + 1 : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean isPublished(long sequence) {
+        Entry entry = ring.get(index(sequence));
+        return entry != null && entry.sequence() >= sequence;
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Serializes a change once for all subscribers.
+     * A change that cannot be serialized is still published, without payload, so the subscribers
+     * waiting for its sequence number move past it.
+     */
+    private String toJson(long sequence, String name, TaskResponse before, TaskResponse after) {
+        TaskResponse task = Objects.requireNonNullElse(after, before);
+        try {
+            return objectMapper.writeValueAsString(new TaskChange(sequence, name, task.getId(), task));
+        } catch (JsonProcessingException e) {
+            log.error("Cannot serialize change {} of task {}", sequence, task.getId(), e);
+            return null;
+        }
+    }
+}
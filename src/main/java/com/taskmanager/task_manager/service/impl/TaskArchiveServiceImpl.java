@@ -0,0 +1,403 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.exception.TaskNotFoundException;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRowMapper;
+import com.taskmanager.task_manager.service.SearchMode;
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.index.TaskSearchIndex;
+import com.taskmanager.task_manager.service.transfer.TaskRecordReader;
+import com.taskmanager.task_manager.service.transfer.TaskRecordWriter;
+import com.taskmanager.task_manager.service.transfer.TaskTransferFormat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Service implementation for the archive of completed and cancelled tasks.
+ * <p>
+ * Archiving reads a batch of eligible tasks and deletes them from the tasks table, each delete being
+ * conditional on the version that was read: a task changed in between, for instance reopened, stays
+ * active. The deleted tasks of each owner and status are written as one segment of {@code task_archive},
+ * in the {@link TaskTransferFormat#BINARY binary transfer format} deflated, which stores the columns of
+ * similar tasks in a fraction of their row size. Every archived task publishes a change event, so the
+ * in-memory indexes, statistics and caches drop it like a deleted task.
+ * <p>
+ * Next to its payload, a segment stores a summary of its tasks: their status, the range of their ids,
+ * priorities and due dates, and their search words. Archive-inclusive reads select the segments by
+ * their summary first and only inflate those that can hold a matching task; segments archived before
+ * summaries existed are always read. The id of every archived task is also listed with its segment,
+ * so a task is found by id with a keyed lookup: the id range of a segment says little, its tasks being
+ * selected by status and age rather than by id. The active tasks are queried first and the archive second: a
+ * task archived in between is then found in the archive, and a task seen twice is only returned once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    private static final String SELECT_ARCHIVABLE = "SELECT " + TaskRowMapper.COLUMNS + " FROM tasks"
+            + " WHERE status IN (" + String.join(", ", Collections.nCopies(ARCHIVABLE_STATUSES.size(), "?")) + ")"
+            + " AND updated_at < ? FETCH FIRST ? ROWS ONLY";
+
+    private static final String DELETE_TASK = "DELETE FROM tasks WHERE id = ? AND version = ?";
+
+    private static final String INSERT_SEGMENT = "INSERT INTO task_archive (owner, first_task_id, last_task_id,"
+            + " task_count, archived_at, status, min_priority, max_priority, min_due_date, max_due_date, words, payload,"
+            + " ids_listed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE)";
+
+    private static final String INSERT_SEGMENT_ID = "INSERT INTO task_archive_ids (task_id, segment_id) VALUES (?, ?)";
+
+    private static final String SELECT_SEGMENTS = "SELECT payload FROM task_archive WHERE owner = ?";
+
+    private static final String SELECT_SEGMENTS_HOLDING = SELECT_SEGMENTS
+            + " AND (id = (SELECT segment_id FROM task_archive_ids WHERE task_id = ?)"
+            + " OR (NOT ids_listed AND first_task_id <= ? AND last_task_id >= ?))";
+
+    private static final String SELECT_SEGMENTS_WITH_STATUS = SELECT_SEGMENTS + " AND (status = ? OR status IS NULL)";
+
+    private static final String SELECT_SEGMENTS_WITH_PRIORITY = SELECT_SEGMENTS
+            + " AND (min_priority IS NULL OR ? BETWEEN min_priority AND max_priority)";
+
+    private static final String SELECT_SEGMENTS_DUE_BEFORE = SELECT_SEGMENTS
+            + " AND (status IS NULL OR status <> ?) AND (min_due_date IS NULL OR min_due_date < ?)";
+
+    private static final String SELECT_SEGMENT_WORDS = "SELECT id, words FROM task_archive WHERE owner = ?";
+
+    private static final String SELECT_SEGMENT = "SELECT payload FROM task_archive WHERE id = ?";
+
+    private static final String SELECT_ARCHIVED_IDS = "SELECT task_id FROM task_archive_ids WHERE task_id IN (%s)";
+
+    private static final String SELECT_UNLISTED_SEGMENTS_OVERLAPPING = "SELECT owner, payload FROM task_archive"
+            + " WHERE NOT ids_listed AND first_task_id <= ? AND last_task_id >= ?";
+
+    /**
+     * Maximum number of ids bound to one lookup of archived ids.
+     */
+    private static final int ID_LOOKUP_CHUNK = 500;
+
+    private static final Comparator<TaskResponse> DUE_DATE_ORDER =
+            Comparator.comparing(TaskResponse::getDueDate).thenComparing(TaskResponse::getId);
+
+    private static final String TASK_NOT_FOUND_MESSAGE = "Task not found with id: ";
+
+    private final TaskService taskService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int archiveTasks(LocalDateTime changedBefore, int limit) {
+        List<Object> arguments = new ArrayList<>();
+        ARCHIVABLE_STATUSES.forEach(status -> arguments.add(status.name()));
+        arguments.add(changedBefore);
+        arguments.add(limit);
+        List<Task> candidates = jdbcTemplate.query(SELECT_ARCHIVABLE, TaskRowMapper.INSTANCE, arguments.toArray());
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_TASK, candidates.stream()
+                .map(task -> new Object[] {task.getId(), task.getVersion()})
+                .toList());
+        List<Task> archived = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (deleted[i] == 1) {
+                archived.add(candidates.get(i));
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Map<TaskStatus, List<Task>>> segments = archived.stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .collect(Collectors.groupingBy(Task::getOwner, Collectors.groupingBy(Task::getStatus)));
+        int segmentCount = 0;
+        for (Map.Entry<String, Map<TaskStatus, List<Task>>> owner : segments.entrySet()) {
+            for (Map.Entry<TaskStatus, List<Task>> segment : owner.getValue().entrySet()) {
+                insertSegment(owner.getKey(), segment.getKey(), segment.getValue(), now);
+                segmentCount++;
+            }
+        }
+        archived.forEach(task -> eventPublisher.publishEvent(
+                TaskChangedEvent.archived(TaskServiceImpl.convertToResponse(task))));
+        log.debug("Archived {} of {} tasks in {} segments", archived.size(), candidates.size(), segmentCount);
+        return archived.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskResponse getTaskById(String owner, Long id) {
+        // Not transactional: the miss of the active lookup would mark a surrounding transaction rollback-only
+        try {
+            return taskService.getTaskById(owner, id);
+        } catch (TaskNotFoundException e) {
+            List<TaskResponse> found = new ArrayList<>();
+            readArchive(owner, SELECT_SEGMENTS_HOLDING, task -> {
+                if (task.getId().equals(id)) {
+                    found.add(TaskServiceImpl.convertToResponse(task));
+                }
+            }, id, id, id);
+            if (found.isEmpty()) {
+                throw new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id);
+            }
+            return found.get(0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(String owner, boolean withDescription) {
+        Map<Long, TaskResponse> tasks = byId(taskService.getAllTasks(owner, withDescription));
+        readArchive(owner, SELECT_SEGMENTS + " ORDER BY id", task -> {
+            if (!withDescription) {
+                task.setDescription(null);
+            }
+            tasks.putIfAbsent(task.getId(), TaskServiceImpl.convertToResponse(task));
+        });
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByStatus(String owner, TaskStatus status) {
+        Map<Long, TaskResponse> tasks = byId(taskService.getTasksByStatus(owner, status));
+        if (ARCHIVABLE_STATUSES.contains(status)) {
+            readArchive(owner, SELECT_SEGMENTS_WITH_STATUS, task -> {
+                if (task.getStatus() == status) {
+                    tasks.putIfAbsent(task.getId(), TaskServiceImpl.convertToResponse(task));
+                }
+            }, status.name());
+        }
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByPriority(String owner, Integer priority) {
+        Map<Long, TaskResponse> tasks = byId(taskService.getTasksByPriority(owner, priority));
+        readArchive(owner, SELECT_SEGMENTS_WITH_PRIORITY, task -> {
+            if (priority.equals(task.getPriority())) {
+                tasks.putIfAbsent(task.getId(), TaskServiceImpl.convertToResponse(task));
+            }
+        }, priority);
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getOverdueTasks(String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, TaskResponse> tasks = byId(taskService.getOverdueTasks(owner));
+        readArchive(owner, SELECT_SEGMENTS_DUE_BEFORE, task -> {
+            if (task.getStatus() != TaskStatus.COMPLETED && task.getDueDate().isBefore(now)) {
+                tasks.putIfAbsent(task.getId(), TaskServiceImpl.convertToResponse(task));
+            }
+        }, TaskStatus.COMPLETED.name(), now);
+        List<TaskResponse> overdue = new ArrayList<>(tasks.values());
+        overdue.sort(DUE_DATE_ORDER);
+        return overdue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String owner, String keyword, SearchMode mode) {
+        List<TaskResponse> active = taskService.searchTasks(owner, keyword, mode);
+        List<String> queryWords = TaskSearchIndex.tokenize(keyword);
+        List<Long> segments = new ArrayList<>();
+        jdbcTemplate.query(SELECT_SEGMENT_WORDS, resultSet -> {
+            String words = resultSet.getString("words");
+            if (words == null || TaskSearchIndex.matches(Arrays.asList(words.split(" ")), queryWords, mode)) {
+                segments.add(resultSet.getLong("id"));
+            }
+        }, owner);
+        Map<Long, TaskResponse> archived = new TreeMap<>();
+        for (Long segment : segments) {
+            decode(owner, jdbcTemplate.queryForObject(SELECT_SEGMENT, byte[].class, segment), task -> {
+                if (TaskSearchIndex.matches(wordsOf(task), queryWords, mode)) {
+                    archived.putIfAbsent(task.getId(), TaskServiceImpl.convertToResponse(task));
+                }
+            });
+        }
+        active.forEach(task -> archived.remove(task.getId()));
+        List<TaskResponse> tasks = new ArrayList<>(active.size() + archived.size());
+        tasks.addAll(active);
+        tasks.addAll(archived.values());
+        return tasks;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The ids are looked up in the list of archived ids; only the segments written before ids were
+     * listed, and whose id range overlaps that of the ids not found, are inflated.
+     */
+    @Override
+    public Set<Long> findArchivedIds(Collection<Long> ids) {
+        List<Long> wanted = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> archived = new HashSet<>();
+        for (int from = 0; from < wanted.size(); from += ID_LOOKUP_CHUNK) {
+            List<Long> slice = wanted.subList(from, Math.min(from + ID_LOOKUP_CHUNK, wanted.size()));
+            archived.addAll(jdbcTemplate.queryForList(
+                    String.format(SELECT_ARCHIVED_IDS, String.join(", ", Collections.nCopies(slice.size(), "?"))),
+                    Long.class, slice.toArray()));
+        }
+        Set<Long> unlisted = wanted.stream().filter(id -> !archived.contains(id)).collect(Collectors.toSet());
+        if (unlisted.isEmpty()) {
+            return archived;
+        }
+        jdbcTemplate.query(SELECT_UNLISTED_SEGMENTS_OVERLAPPING, resultSet -> {
+            decode(resultSet.getString(1), resultSet.getBytes(2), task -> {
+                if (unlisted.contains(task.getId())) {
+                    archived.add(task.getId());
+                }
+            });
+        }, Collections.max(unlisted), Collections.min(unlisted));
+        return archived;
+    }
+
+    private static Map<Long, TaskResponse> byId(List<TaskResponse> tasks) {
+        Map<Long, TaskResponse> byId = new TreeMap<>();
+        tasks.forEach(task -> byId.put(task.getId(), task));
+        return byId;
+    }
+
+    /**
+     * Decodes the archived tasks of the segments of an owner selected by a query, segment by segment,
+     * so only one segment is held in memory besides the collected tasks.
+     *
+     * @param query a query selecting the payloads of segments, whose first parameter is the owner
+     * @param arguments the other parameters of the query
+     */
+    private void readArchive(String owner, String query, Consumer<Task> consumer, Object... arguments) {
+        Object[] parameters = new Object[arguments.length + 1];
+        parameters[0] = owner;
+        System.arraycopy(arguments, 0, parameters, 1, arguments.length);
+        jdbcTemplate.query(query, resultSet -> {
+            decode(owner, resultSet.getBytes(1), consumer);
+        }, parameters);
+    }
+
+    /**
+     * Stores the tasks of one owner and status as a segment, with the summary used to select it,
+     * and lists the ids of its tasks.
+     */
+    private void insertSegment(String owner, TaskStatus status, List<Task> tasks, LocalDateTime archivedAt) {
+        IntSummaryStatistics priorities = tasks.stream()
+                .map(Task::getPriority)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .summaryStatistics();
+        boolean prioritized = priorities.getCount() > 0;
+        Set<String> words = new TreeSet<>();
+        tasks.forEach(task -> words.addAll(wordsOf(task)));
+        Object[] columns = {owner, tasks.get(0).getId(), tasks.get(tasks.size() - 1).getId(),
+                tasks.size(), archivedAt, status.name(),
+                prioritized ? priorities.getMin() : null, prioritized ? priorities.getMax() : null,
+                tasks.stream().map(Task::getDueDate).min(Comparator.naturalOrder()).orElseThrow(),
+                tasks.stream().map(Task::getDueDate).max(Comparator.naturalOrder()).orElseThrow(),
+                String.join(" ", words), encode(tasks)};
+        KeyHolder segmentId = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SEGMENT, new String[] {"id"});
+            new ArgumentPreparedStatementSetter(columns).setValues(statement);
+            return statement;
+        }, segmentId);
+        long segment = Objects.requireNonNull(segmentId.getKey()).longValue();
+        jdbcTemplate.batchUpdate(INSERT_SEGMENT_ID, tasks.stream()
+                .map(task -> new Object[] {task.getId(), segment})
+                .toList());
+    }
+
+    /**
+     * Returns the search words of the title and description of a task.
+     */
+    private static Set<String> wordsOf(Task task) {
+        Set<String> words = new HashSet<>(TaskSearchIndex.tokenize(task.getTitle()));
+        words.addAll(TaskSearchIndex.tokenize(task.getDescription()));
+        return words;
+    }
+
+    /**
+     * Encodes the tasks of one segment; the owner is stored in its own column.
+     */
+    private static byte[] encode(List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream output = new DeflaterOutputStream(bytes)) {
+            TaskRecordWriter writer = TaskTransferFormat.BINARY.writer(output);
+            for (Task task : tasks) {
+                writer.write(task);
+            }
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void decode(String owner, byte[] payload, Consumer<Task> consumer) {
+        try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            TaskRecordReader reader = TaskTransferFormat.BINARY.reader(input);
+            for (Task task = reader.read(); task != null; task = reader.read()) {
+                task.setOwner(owner);
+                consumer.accept(task);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode an archive segment of " + owner, e);
+        }
+    }
+}
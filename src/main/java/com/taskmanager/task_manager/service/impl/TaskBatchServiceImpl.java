@@ -0,0 +1,301 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.BatchItemResult;
+import com.taskmanager.task_manager.controller.dto.BatchResponse;
+import com.taskmanager.task_manager.controller.dto.TaskBatchUpdateRequest;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.TaskBatchService;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for bulk task operations.
+ * Splits each request into chunks that are applied in one transaction each, so Hibernate can group
+ * the statements into JDBC batches. When a chunk is rejected by the database, its items are retried
+ * one transaction at a time to isolate the offending ones.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskBatchServiceImpl implements TaskBatchService {
+
+    private final TaskRepository taskRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator;
+
+    /**
+     * Maximum number of items applied in a single transaction.
+     */
+    @Value("${task-manager.batch.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Error message constant for task not found scenarios.
+     */
+    private static final String TASK_NOT_FOUND_MESSAGE = "Task not found with id: ";
+
+    /**
+     * One request item together with its position in the request.
+     */
+    private record Item<T>(int index, T value) {
+    }
+
+    /**
+     * Applies a chunk of items inside the current transaction and returns one result per item.
+     */
+    @FunctionalInterface
+    private interface ChunkOperation<T> {
+        List<BatchItemResult> apply(List<Item<T>> items);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResponse createTasks(String owner, List<TaskRequest> taskRequests) {
+        return execute(taskRequests, request -> null, items -> createChunk(owner, items));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResponse updateTasks(String owner, List<TaskBatchUpdateRequest> updates) {
+        return execute(updates, update -> update != null ? update.getId() : null, items -> updateChunk(owner, items));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResponse deleteTasks(String owner, List<Long> ids) {
+        return execute(ids, Function.identity(), items -> deleteChunk(owner, items));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BatchResponse completeTasks(String owner, List<Long> ids) {
+        return execute(ids, Function.identity(), items -> completeChunk(owner, items));
+    }
+
+    /**
+     * Runs an operation over all items, one transaction per chunk, falling back to one
+     * transaction per item for chunks the database rejects.
+     *
+     * @param values the request items
+     * @param idOf extracts the task id of an item, for failure reporting
+     * @param operation the chunk operation
+     * @return BatchResponse with one result per item, in request order
+     */
+    private <T> BatchResponse execute(List<T> values, Function<T, Long> idOf, ChunkOperation<T> operation) {
+        BatchItemResult[] results = new BatchItemResult[values.size()];
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            List<Item<T>> chunk = new ArrayList<>();
+            for (int index = from; index < Math.min(from + chunkSize, values.size()); index++) {
+                chunk.add(new Item<>(index, values.get(index)));
+            }
+            try {
+                store(results, transaction.execute(status -> operation.apply(chunk)));
+            } catch (DataAccessException | TransactionException chunkFailure) {
+                log.debug("Batch chunk starting at item {} failed, retrying items one by one", from, chunkFailure);
+                for (Item<T> item : chunk) {
+                    try {
+                        store(results, transaction.execute(status -> operation.apply(List.of(item))));
+                    } catch (DataAccessException | TransactionException itemFailure) {
+                        results[item.index()] = failure(item.index(), idOf.apply(item.value()), 409,
+                                NestedExceptionUtils.getMostSpecificCause(itemFailure).getMessage());
+                    }
+                }
+            }
+        }
+        int succeeded = (int) Arrays.stream(results).filter(BatchItemResult::isSuccess).count();
+        return new BatchResponse(succeeded, results.length - succeeded, List.of(results));
+    }
+
+    private List<BatchItemResult> createChunk(String owner, List<Item<TaskRequest>> items) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Item<TaskRequest>> accepted = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (Item<TaskRequest> item : items) {
+            String violation = validate(item.value());
+            if (violation != null) {
+                results.add(failure(item.index(), null, 400, violation));
+            } else {
+                accepted.add(item);
+                tasks.add(TaskServiceImpl.newTask(owner, item.value()));
+            }
+        }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResponse created = TaskServiceImpl.convertToResponse(tasks.get(i));
+            eventPublisher.publishEvent(TaskChangedEvent.created(created));
+            results.add(new BatchItemResult(accepted.get(i).index(), created.getId(), 201, created, null));
+        }
+        return results;
+    }
+
+    private List<BatchItemResult> updateChunk(String owner, List<Item<TaskBatchUpdateRequest>> items) {
+        Map<Long, Task> tasksById = loadTasks(owner, items.stream()
+                .map(item -> item.value() != null ? item.value().getId() : null)
+                .toList());
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Item<TaskBatchUpdateRequest>> accepted = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        List<TaskResponse> before = new ArrayList<>();
+        for (Item<TaskBatchUpdateRequest> item : items) {
+            TaskBatchUpdateRequest update = item.value();
+            if (update == null || update.getId() == null) {
+                results.add(failure(item.index(), null, 400, "Task id is required"));
+                continue;
+            }
+            String violation = validate(update.getTask());
+            // Like a delete, a task is updated at most once per chunk: a repeated id would share the
+            // managed entity, and its events would carry intermediate and final states out of step
+            Task task = violation == null ? tasksById.remove(update.getId()) : tasksById.get(update.getId());
+            if (task == null) {
+                results.add(failure(item.index(), update.getId(), 404, TASK_NOT_FOUND_MESSAGE + update.getId()));
+            } else if (violation != null) {
+                results.add(failure(item.index(), update.getId(), 400, violation));
+            } else {
+                before.add(TaskServiceImpl.convertToResponse(task));
+                TaskServiceImpl.applyRequest(task, update.getTask());
+                accepted.add(item);
+                tasks.add(task);
+            }
+        }
+        taskRepository.flush();
+        for (int i = 0; i < accepted.size(); i++) {
+            Item<TaskBatchUpdateRequest> item = accepted.get(i);
+            TaskResponse updated = TaskServiceImpl.convertToResponse(tasks.get(i));
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before.get(i), updated));
+            results.add(new BatchItemResult(item.index(), updated.getId(), 200, updated, null));
+        }
+        return results;
+    }
+
+    private List<BatchItemResult> deleteChunk(String owner, List<Item<Long>> items) {
+        Map<Long, Task> tasksById = loadTasks(owner, items.stream().map(Item::value).toList());
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Task> deleted = new ArrayList<>();
+        for (Item<Long> item : items) {
+            Long id = item.value();
+            Task task = id != null ? tasksById.remove(id) : null;
+            if (id == null) {
+                results.add(failure(item.index(), null, 400, "Task id is required"));
+            } else if (task == null) {
+                results.add(failure(item.index(), id, 404, TASK_NOT_FOUND_MESSAGE + id));
+            } else {
+                deleted.add(task);
+                results.add(new BatchItemResult(item.index(), id, 204, null, null));
+            }
+        }
+        taskRepository.deleteAllInBatch(deleted);
+        deleted.forEach(task -> eventPublisher.publishEvent(
+                TaskChangedEvent.deleted(TaskServiceImpl.convertToResponse(task))));
+        return results;
+    }
+
+    private List<BatchItemResult> completeChunk(String owner, List<Item<Long>> items) {
+        Map<Long, Task> tasksById = loadTasks(owner, items.stream().map(Item::value).toList());
+        Map<Long, TaskResponse> before = new HashMap<>();
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Item<Long>> accepted = new ArrayList<>();
+        for (Item<Long> item : items) {
+            Long id = item.value();
+            Task task = id != null ? tasksById.get(id) : null;
+            if (id == null) {
+                results.add(failure(item.index(), null, 400, "Task id is required"));
+            } else if (task == null) {
+                results.add(failure(item.index(), id, 404, TASK_NOT_FOUND_MESSAGE + id));
+            } else {
+                if (task.getStatus() != TaskStatus.COMPLETED) {
+                    before.put(id, TaskServiceImpl.convertToResponse(task));
+                    task.setStatus(TaskStatus.COMPLETED);
+                }
+                // An already completed task is reported as is: nothing is written, so nothing is published
+                accepted.add(item);
+            }
+        }
+        taskRepository.flush();
+        before.forEach((id, previous) -> eventPublisher.publishEvent(
+                TaskChangedEvent.updated(previous, TaskServiceImpl.convertToResponse(tasksById.get(id)))));
+        for (Item<Long> item : accepted) {
+            TaskResponse completed = TaskServiceImpl.convertToResponse(tasksById.get(item.value()));
+            results.add(new BatchItemResult(item.index(), item.value(), 200, completed, null));
+        }
+        return results;
+    }
+
+    /**
+     * Loads the tasks of an owner with the given ids with a single query, ignoring null ids.
+     *
+     * @param owner the owner of the tasks
+     * @param ids the ids to load
+     * @return the found tasks indexed by id
+     */
+    private Map<Long, Task> loadTasks(String owner, List<Long> ids) {
+        Map<Long, Task> tasksById = new HashMap<>();
+        taskRepository.findByOwnerAndIdIn(owner, ids.stream().filter(Objects::nonNull).distinct().toList())
+                .forEach(task -> tasksById.put(task.getId(), task));
+        return tasksById;
+    }
+
+    /**
+     * Validates task data with the same constraints as the single-task endpoints.
+     *
+     * @param taskRequest the task data
+     * @return the joined violation messages, or null when the data is valid
+     */
+    private String validate(TaskRequest taskRequest) {
+        if (taskRequest == null) {
+            return "Task data is required";
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(taskRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private static BatchItemResult failure(int index, Long id, int status, String error) {
+        return new BatchItemResult(index, id, status, null, error);
+    }
+
+    private static void store(BatchItemResult[] results, List<BatchItemResult> chunkResults) {
+        chunkResults.forEach(result -> results[result.getIndex()] = result);
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.service.index.TaskSearchIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position inside an ordered task listing.
+ * Encodes the sort key of the last returned row (the id, preceded by the due date or the search
+ * score when the listing is ordered by them) as an opaque URL-safe string, so the next page can
+ * continue with an index seek instead of an offset.
+ *
+ * @param dueDate the due date of the last returned task, for (dueDate, id)-ordered listings
+ * @param score the relevance score of the last returned task, for ranked search listings
+ * @param id the id of the last returned task
+ */
+record TaskCursor(LocalDateTime dueDate, Double score, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String BY_ID = "i";
+
+    private static final String BY_DUE_DATE = "d";
+
+    private static final String BY_SCORE = "s";
+
+    /**
+     * Creates a cursor positioned after the given task in an id-ordered listing.
+     *
+     * @param task the last task of the current page
+     * @return the cursor for the next page
+     */
+    static TaskCursor byId(TaskResponse task) {
+        return new TaskCursor(null, null, task.getId());
+    }
+
+    /**
+     * Creates a cursor positioned after the given task in a (dueDate, id)-ordered listing.
+     *
+     * @param task the last task of the current page
+     * @return the cursor for the next page
+     */
+    static TaskCursor byDueDate(TaskResponse task) {
+        return new TaskCursor(task.getDueDate(), null, task.getId());
+    }
+
+    /**
+     * Creates a cursor positioned after the given hit in a ranked search listing.
+     *
+     * @param hit the last search hit of the current page
+     * @return the cursor for the next page
+     */
+    static TaskCursor byScore(TaskSearchIndex.Hit hit) {
+        return new TaskCursor(null, hit.score(), hit.id());
+    }
+
+    /**
+     * Encodes this cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    String encode() {
+        String raw;
+        if (dueDate != null) {
+            raw = BY_DUE_DATE + SEPARATOR + dueDate + SEPARATOR + id;
+        } else if (score != null) {
+            raw = BY_SCORE + SEPARATOR + score + SEPARATOR + id;
+        } else {
+            raw = BY_ID + SEPARATOR + id;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static TaskCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+            return switch (parts[0]) {
+                case BY_ID -> new TaskCursor(null, null, Long.parseLong(parts[1]));
+                case BY_DUE_DATE -> new TaskCursor(LocalDateTime.parse(parts[1]), null, Long.parseLong(parts[2]));
+                case BY_SCORE -> new TaskCursor(null, Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+                default -> throw new IllegalArgumentException();
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.service.TaskSort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position inside the results of a combined task query.
+ * Encodes the sort of the query with the sort key and id of the last returned task, as an opaque
+ * URL-safe string like {@link TaskCursor}; the sort is kept so that a cursor cannot be replayed
+ * against a query ordered differently.
+ *
+ * @param sort the sort of the query
+ * @param key the sort key of the last returned task, or null when it has none
+ * @param id the id of the last returned task
+ */
+record TaskQueryCursor(TaskSort sort, Comparable<?> key, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates a cursor positioned after the given task.
+     *
+     * @param sort the sort of the query
+     * @param task the last task of the current page
+     * @return the cursor for the next page
+     */
+    static TaskQueryCursor after(TaskSort sort, TaskResponse task) {
+        return new TaskQueryCursor(sort, sort.keyOf(task), task.getId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + (key != null ? key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static TaskQueryCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, 3);
+            TaskSort sort = TaskSort.valueOf(parts[0]);
+            return new TaskQueryCursor(sort, parts[2].isEmpty() ? null : sort.parseKey(parts[2]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -1,22 +1,61 @@
 package com.taskmanager.task_manager.service.impl;
 
+import com.taskmanager.task_manager.config.CacheConfig;
+import com.taskmanager.task_manager.controller.dto.TaskPage;
+import com.taskmanager.task_manager.controller.dto.TaskPatchRequest;
+import com.taskmanager.task_manager.controller.dto.TaskQueryRequest;
 import com.taskmanager.task_manager.controller.dto.TaskRequest;
 import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.controller.dto.TaskStamp;
+import com.taskmanager.task_manager.controller.dto.TaskStats;
+import com.taskmanager.task_manager.exception.TaskConflictException;
 import com.taskmanager.task_manager.exception.TaskNotFoundException;
+import com.taskmanager.task_manager.exception.TaskPreconditionFailedException;
 import com.taskmanager.task_manager.model.Task;
 import com.taskmanager.task_manager.model.Task.TaskStatus;
 import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.repository.TaskSpecifications;
+import com.taskmanager.task_manager.service.SearchMode;
 import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.TaskSort;
+import com.taskmanager.task_manager.service.cache.TaskCollectionVersions;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.index.DeadlineIndex;
+import com.taskmanager.task_manager.service.index.TaskSearchIndex;
+import com.taskmanager.task_manager.service.stats.TaskStatistics;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for task management operations.
  * Handles business logic and data persistence for tasks.
+ * Every read and write is scoped by the owner: repository queries filter on it, and the in-memory
+ * indexes, statistics and collection versions keep a separate partition per owner, so the cost of
+ * a request depends on the tasks of its owner only. Cache keys include the owner.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,166 +63,684 @@ public class TaskServiceImpl implements TaskService {
     
     private final TaskRepository taskRepository;
 
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TaskSearchIndex searchIndex;
+
+    private final DeadlineIndex deadlineIndex;
+
+    private final TaskCollectionVersions collectionVersions;
+
+    private final TaskStatistics statistics;
+
     /**
      * Error message constant for task not found scenarios.
      */
     private static final String TASK_NOT_FOUND_MESSAGE = "Task not found with id: ";
+
+    /**
+     * Error message constant for conditional writes based on a stale version.
+     */
+    private static final String VERSION_MISMATCH_MESSAGE = "Task has been modified since the given version, id: ";
+
+    /**
+     * Error message constant for unconditional writes that lost a race.
+     */
+    private static final String TASK_CHANGED_MESSAGE = "Task was modified concurrently, id: ";
+
+    /**
+     * Upper bound for the size of a single keyset page.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Statuses of tasks that can still become overdue (every status except COMPLETED).
+     */
+    private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.complementOf(EnumSet.of(TaskStatus.COMPLETED));
+
+    /**
+     * Number of ids loaded per query when hydrating search hits and overdue deadlines, and of search
+     * hits bound per statement when a combined query filters on a keyword.
+     */
+    private static final int SEARCH_LOAD_CHUNK = 500;
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(String owner) {
+        return taskRepository.findAllResponses(owner, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(String owner, boolean withDescription) {
+        return taskRepository.findAllResponses(owner, withDescription);
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public TaskResponse getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+    @Cacheable(CacheConfig.TASKS_CACHE)
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(String owner, Long id) {
+        return taskRepository.findResponseById(owner, id)
                 .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
-        return convertToResponse(task);
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public TaskResponse createTask(TaskRequest taskRequest) {
-        Task task = new Task();
-        task.setTitle(taskRequest.getTitle());
-        task.setDescription(taskRequest.getDescription());
-        task.setStatus(taskRequest.getStatus() != null ? taskRequest.getStatus() : TaskStatus.PENDING);
-        task.setDueDate(taskRequest.getDueDate());
-        task.setPriority(taskRequest.getPriority());
-        
+    @Transactional(readOnly = true)
+    public TaskStamp getTaskStamp(String owner, Long id) {
+        return taskRepository.findStampById(owner, id)
+                .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTasksVersion(String owner) {
+        return collectionVersions.allTasks(owner);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTasksByStatusVersion(String owner, TaskStatus status) {
+        return collectionVersions.byStatus(owner, status);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTasksByPriorityVersion(String owner, Integer priority) {
+        return collectionVersions.byPriority(owner, priority);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TaskStats getTaskStats(String owner) {
+        return statistics.stats(owner);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public TaskResponse createTask(String owner, TaskRequest taskRequest) {
+        Task task = newTask(owner, taskRequest);
         Task savedTask = taskRepository.save(task);
-        return convertToResponse(savedTask);
+        TaskResponse response = convertToResponse(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(response));
+        return response;
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public TaskResponse updateTask(Long id, TaskRequest taskRequest) {
-        Task existingTask = taskRepository.findById(id)
+    @Transactional
+    public TaskResponse updateTask(String owner, Long id, TaskRequest taskRequest, Long expectedVersion) {
+        Task existingTask = taskRepository.findByOwnerAndId(owner, id)
                 .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+        checkVersion(existingTask, expectedVersion);
+        TaskResponse before = convertToResponse(existingTask);
+        applyRequest(existingTask, taskRequest);
         
-        existingTask.setTitle(taskRequest.getTitle());
-        existingTask.setDescription(taskRequest.getDescription());
-        existingTask.setStatus(taskRequest.getStatus());
-        existingTask.setDueDate(taskRequest.getDueDate());
-        existingTask.setPriority(taskRequest.getPriority());
-        
-        Task updatedTask = taskRepository.save(existingTask);
-        return convertToResponse(updatedTask);
+        Task updatedTask = saveChecked(existingTask, expectedVersion);
+        TaskResponse response = convertToResponse(updatedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, response));
+        return response;
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id);
+    @Transactional
+    public TaskResponse patchTask(String owner, Long id, TaskPatchRequest patch, Long expectedVersion) {
+        Task task = taskRepository.findByOwnerAndId(owner, id)
+                .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+        checkVersion(task, expectedVersion);
+        TaskResponse before = convertToResponse(task);
+        if (!applyPatch(task, patch)) {
+            return before;
         }
-        taskRepository.deleteById(id);
+        TaskResponse response = convertToResponse(saveChecked(task, expectedVersion));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, response));
+        return response;
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<TaskResponse> getTasksByStatus(TaskStatus status) {
-        return taskRepository.findByStatus(status).stream()
-                .map(this::convertToResponse)
-                .toList();
+    @Transactional
+    public void deleteTask(String owner, Long id) {
+        Task task = taskRepository.findByOwnerAndId(owner, id)
+                .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(convertToResponse(task)));
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<TaskResponse> getTasksByPriority(Integer priority) {
-        return taskRepository.findByPriority(priority).stream()
-                .map(this::convertToResponse)
-                .toList();
+    @Cacheable(cacheNames = CacheConfig.TASKS_BY_STATUS_CACHE, sync = true)
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByStatus(String owner, TaskStatus status) {
+        return taskRepository.findResponsesByStatus(owner, status);
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<TaskResponse> searchTasks(String keyword) {
-        return taskRepository.searchByKeyword(keyword).stream()
-                .map(this::convertToResponse)
-                .toList();
+    @Cacheable(cacheNames = CacheConfig.TASKS_BY_PRIORITY_CACHE, condition = CacheConfig.CACHED_PRIORITY_CONDITION,
+            sync = true)
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByPriority(String owner, Integer priority) {
+        return taskRepository.findResponsesByPriority(owner, priority);
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public TaskResponse markTaskAsCompleted(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
-        
+    public List<TaskResponse> searchTasks(String owner, String keyword) {
+        return searchTasks(owner, keyword, SearchMode.PREFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String owner, String keyword, SearchMode mode) {
+        List<Long> ids = searchIndex.search(owner, keyword, mode).stream().map(TaskSearchIndex.Hit::id).toList();
+        List<TaskResponse> responses = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += SEARCH_LOAD_CHUNK) {
+            responses.addAll(loadInOrder(owner, ids.subList(from, Math.min(from + SEARCH_LOAD_CHUNK, ids.size()))));
+        }
+        return responses;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public TaskResponse markTaskAsCompleted(String owner, Long id, Long expectedVersion) {
+        // Truncated to the column precision, so the returned state is exactly the stored one
+        LocalDateTime completedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Task task = taskRepository.completeIfOpen(owner, id, expectedVersion, completedAt).orElse(null);
+        if (task == null) {
+            // Nothing was changed: find out why, which is the only case that costs a second statement
+            Task current = taskRepository.findByOwnerAndId(owner, id)
+                    .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+            checkVersion(current, expectedVersion);
+            if (current.getStatus() != TaskStatus.COMPLETED) {
+                throw new TaskConflictException(TASK_CHANGED_MESSAGE + id);
+            }
+            return convertToResponse(current);
+        }
+        TaskResponse before = convertToResponse(task);
         task.setStatus(TaskStatus.COMPLETED);
-        Task updatedTask = taskRepository.save(task);
-        return convertToResponse(updatedTask);
+        task.setUpdatedAt(completedAt);
+        task.setVersion(task.getVersion() + 1);
+        TaskResponse response = convertToResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, response));
+        return response;
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<TaskResponse> getOverdueTasks() {
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getOverdueTasks(String owner) {
         LocalDateTime now = LocalDateTime.now();
-        return taskRepository.findByDueDateBeforeAndStatusNot(now, TaskStatus.COMPLETED).stream()
-                .map(this::convertToResponse)
-                .toList();
+        List<Long> ids = deadlineIndex.overdue(owner, now);
+        List<TaskResponse> responses = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += SEARCH_LOAD_CHUNK) {
+            // The index follows commits a little late: rows completed meanwhile are left out
+            loadInOrder(owner, ids.subList(from, Math.min(from + SEARCH_LOAD_CHUNK, ids.size()))).stream()
+                    .filter(task -> task.getStatus() != TaskStatus.COMPLETED && task.getDueDate().isBefore(now))
+                    .forEach(responses::add);
+        }
+        return responses;
     }
+
     /**
- * Retrieves tasks with due dates within a specified time range.
- * 
- * @param start the start date/time of the range in ISO format (yyyy-MM-ddTHH:mm:ss)
- * @param end the end date/time of the range in ISO format (yyyy-MM-ddTHH:mm:ss)
- * @return List of tasks due between the specified dates
- * @throws IllegalArgumentException if date format is invalid or start date is after end date
- */
-@Override
-public List<TaskResponse> getTasksDueBetween(String start, String end) {
-    try {
-        // Parse the date strings to LocalDateTime objects
-        LocalDateTime startDateTime = LocalDateTime.parse(start);
-        LocalDateTime endDateTime = LocalDateTime.parse(end);
-        
+     * Retrieves tasks with due dates within a specified time range.
+     * 
+     * @param owner the owner of the tasks
+     * @param start the start date/time of the range in ISO format (yyyy-MM-ddTHH:mm:ss)
+     * @param end the end date/time of the range in ISO format (yyyy-MM-ddTHH:mm:ss)
+     * @return List of tasks due between the specified dates
+     * @throws IllegalArgumentException if date format is invalid or start date is after end date
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksDueBetween(String owner, String start, String end) {
+        LocalDateTime startDateTime;
+        LocalDateTime endDateTime;
+        try {
+            // Parse the date strings to LocalDateTime objects
+            startDateTime = LocalDateTime.parse(start);
+            endDateTime = LocalDateTime.parse(end);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Please use ISO format (e.g., 2024-12-31T23:59:59)");
+        }
+
         // Validate that start date is before end date
         if (startDateTime.isAfter(endDateTime)) {
             throw new IllegalArgumentException("Start date must be before end date");
         }
-        
-        // Retrieve tasks within the date range
-        return taskRepository.findByDueDateBetween(startDateTime, endDateTime).stream()
-                .map(this::convertToResponse)
-                .toList();
-                
-    } catch (Exception e) {
-        throw new IllegalArgumentException("Invalid date format. Please use ISO format (e.g., 2024-12-31T23:59:59)");
-    }
-}
-    
+
+        // Retrieve tasks within the date range, completed ones included, ordered by due date
+        return taskRepository.findResponsesByDueDateBetween(owner, startDateTime, endDateTime);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getAllTasksPage(String owner, String cursor, int size, boolean withDescription) {
+        long afterId = cursor != null ? TaskCursor.decode(cursor).id() : 0L;
+        int pageSize = clampPageSize(size);
+        return toPage(taskRepository.findResponsesAfter(owner, afterId, withDescription, Limit.of(pageSize + 1)),
+                pageSize, task -> TaskCursor.byId(task).encode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTasksByStatusPage(String owner, TaskStatus status, String cursor, int size, boolean withDescription) {
+        long afterId = cursor != null ? TaskCursor.decode(cursor).id() : 0L;
+        int pageSize = clampPageSize(size);
+        return toPage(taskRepository.findResponsesByStatusAfter(owner, status, afterId, withDescription,
+                        Limit.of(pageSize + 1)),
+                pageSize, task -> TaskCursor.byId(task).encode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTasksByPriorityPage(String owner, Integer priority, String cursor, int size, boolean withDescription) {
+        long afterId = cursor != null ? TaskCursor.decode(cursor).id() : 0L;
+        int pageSize = clampPageSize(size);
+        return toPage(taskRepository.findResponsesByPriorityAfter(owner, priority, afterId, withDescription,
+                        Limit.of(pageSize + 1)),
+                pageSize, task -> TaskCursor.byId(task).encode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage searchTasksPage(String owner, String keyword, SearchMode mode, String cursor, int size) {
+        List<TaskSearchIndex.Hit> hits = searchIndex.search(owner, keyword, mode);
+        int start = 0;
+        if (cursor != null) {
+            TaskCursor after = TaskCursor.decode(cursor);
+            if (after.score() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            TaskSearchIndex.Hit last = new TaskSearchIndex.Hit(after.id(), after.score());
+            while (start < hits.size() && TaskSearchIndex.RANKING.compare(hits.get(start), last) <= 0) {
+                start++;
+            }
+        }
+        int pageSize = clampPageSize(size);
+        int end = Math.min(start + pageSize, hits.size());
+        List<TaskSearchIndex.Hit> pageHits = hits.subList(start, end);
+        List<TaskResponse> items = loadInOrder(owner, pageHits.stream().map(TaskSearchIndex.Hit::id).toList());
+        String nextCursor = end < hits.size() ? TaskCursor.byScore(pageHits.get(pageHits.size() - 1)).encode() : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage queryTasks(String owner, TaskQueryRequest query, String cursor, int size, boolean withDescription) {
+        List<Specification<Task>> criteria = new ArrayList<>();
+        if (query.getStatus() != null && !query.getStatus().isEmpty()) {
+            criteria.add(TaskSpecifications.hasStatusIn(query.getStatus()));
+        }
+        if (query.getMinPriority() != null || query.getMaxPriority() != null) {
+            criteria.add(TaskSpecifications.hasPriorityBetween(query.getMinPriority(), query.getMaxPriority()));
+        }
+        if (query.getDueFrom() != null || query.getDueTo() != null) {
+            criteria.add(TaskSpecifications.isDueBetween(query.getDueFrom(), query.getDueTo()));
+        }
+        List<Long> ids = null;
+        if (query.getKeyword() != null && !query.getKeyword().isBlank()) {
+            // The keyword is resolved by the search index; the query only keeps the matching ids
+            ids = searchIndex.search(owner, query.getKeyword(), query.getMode()).stream()
+                    .map(TaskSearchIndex.Hit::id)
+                    .toList();
+            if (ids.isEmpty()) {
+                return new TaskPage(List.of(), null);
+            }
+        }
+        TaskSort sort = query.getSort();
+        boolean ascending = query.getDirection().isAscending();
+        if (cursor != null) {
+            TaskQueryCursor after = TaskQueryCursor.decode(cursor);
+            if (after.sort() != sort) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            criteria.add(TaskSpecifications.isPositionedAfter(sort.attribute(), sort.nullable(), ascending,
+                    after.key(), after.id()));
+        }
+        Sort order = sort == TaskSort.ID
+                ? Sort.by(query.getDirection(), "id")
+                : Sort.by(query.getDirection(), sort.attribute(), "id");
+        int pageSize = clampPageSize(size);
+        List<TaskResponse> tasks;
+        if (ids == null) {
+            tasks = taskRepository.findResponses(owner, Specification.allOf(criteria), order, withDescription,
+                    pageSize + 1);
+        } else {
+            tasks = findAmongHits(owner, criteria, ids, order, sort.comparator(ascending), withDescription,
+                    pageSize + 1);
+        }
+        return toPage(tasks, pageSize, task -> TaskQueryCursor.after(sort, task).encode());
+    }
+
+    /**
+     * Runs a combined query restricted to the given search hits, at most SEARCH_LOAD_CHUNK ids per
+     * statement so a common keyword does not build an IN list of every hit. Each slice of hits returns
+     * its own first rows in the query order, and only the first {@code limit} of them are kept.
+     *
+     * @param owner the owner of the tasks
+     * @param criteria the other criteria of the query
+     * @param ids the ids of the search hits
+     * @param order the order of the query
+     * @param comparator the same order, applied to the rows of the slices
+     * @param withDescription whether to read the description
+     * @param limit the maximum number of tasks to return
+     * @return the first matching tasks in the query order
+     */
+    private List<TaskResponse> findAmongHits(String owner, List<Specification<Task>> criteria, List<Long> ids,
+                                             Sort order, Comparator<TaskResponse> comparator,
+                                             boolean withDescription, int limit) {
+        List<TaskResponse> tasks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += SEARCH_LOAD_CHUNK) {
+            List<Specification<Task>> slice = new ArrayList<>(criteria);
+            slice.add(TaskSpecifications.hasIdIn(ids.subList(from, Math.min(from + SEARCH_LOAD_CHUNK, ids.size()))));
+            tasks.addAll(taskRepository.findResponses(owner, Specification.allOf(slice), order, withDescription, limit));
+            if (tasks.size() > limit) {
+                tasks.sort(comparator);
+                tasks.subList(limit, tasks.size()).clear();
+            }
+        }
+        tasks.sort(comparator);
+        return tasks;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getOverdueTasksPage(String owner, String cursor, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        int pageSize = clampPageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Task> tasks;
+        if (cursor == null) {
+            tasks = taskRepository.findByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(owner, now,
+                    OPEN_STATUSES, limit);
+        } else {
+            TaskCursor after = TaskCursor.decode(cursor);
+            if (after.dueDate() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            tasks = taskRepository.findOverdueAfter(owner, now, OPEN_STATUSES, after.dueDate(), after.id(), limit);
+        }
+        return toPage(tasks.stream().map(TaskServiceImpl::convertToResponse).toList(), pageSize,
+                task -> TaskCursor.byDueDate(task).encode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTasks(String owner, Consumer<TaskResponse> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamByOwnerOrderByIdAsc(owner)) {
+            forEachDetached(tasks, consumer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTasksByStatus(String owner, TaskStatus status, Consumer<TaskResponse> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamByOwnerAndStatusOrderByIdAsc(owner, status)) {
+            forEachDetached(tasks, consumer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTasksByPriority(String owner, Integer priority, Consumer<TaskResponse> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamByOwnerAndPriorityOrderByIdAsc(owner, priority)) {
+            forEachDetached(tasks, consumer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSearchResults(String owner, String keyword, SearchMode mode, Consumer<TaskResponse> consumer) {
+        List<Long> ids = searchIndex.search(owner, keyword, mode).stream().map(TaskSearchIndex.Hit::id).toList();
+        for (int from = 0; from < ids.size(); from += SEARCH_LOAD_CHUNK) {
+            loadInOrder(owner, ids.subList(from, Math.min(from + SEARCH_LOAD_CHUNK, ids.size()))).forEach(consumer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOverdueTasks(String owner, Consumer<TaskResponse> consumer) {
+        LocalDateTime now = LocalDateTime.now();
+        try (Stream<Task> tasks = taskRepository.streamByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(owner,
+                now, OPEN_STATUSES)) {
+            forEachDetached(tasks, consumer);
+        }
+    }
+
+    /**
+     * Limits a requested page size to the range [1, MAX_PAGE_SIZE].
+     *
+     * @param size the requested page size
+     * @return the effective page size
+     */
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a TaskPage from a query result fetched with one extra row,
+     * which is only used to know whether a next page exists.
+     *
+     * @param tasks the tasks returned by the keyset query (at most pageSize + 1)
+     * @param pageSize the requested page size
+     * @param cursorOf function producing the encoded keyset position of a task
+     * @return TaskPage with at most pageSize tasks and the cursor of the next page
+     */
+    private TaskPage toPage(List<TaskResponse> tasks, int pageSize, Function<TaskResponse, String> cursorOf) {
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskResponse> pageTasks = hasMore ? tasks.subList(0, pageSize) : tasks;
+        String nextCursor = hasMore ? cursorOf.apply(pageTasks.get(pageSize - 1)) : null;
+        return new TaskPage(pageTasks, nextCursor);
+    }
+
+    /**
+     * Reads the tasks with the given ids as responses, keeping the order of the ids.
+     * Ids of tasks deleted since they were looked up in the search index are skipped.
+     *
+     * @param owner the owner of the tasks
+     * @param ids the ids to load
+     * @return the tasks in the order of the given ids
+     */
+    private List<TaskResponse> loadInOrder(String owner, List<Long> ids) {
+        Map<Long, TaskResponse> tasksById = new HashMap<>();
+        taskRepository.findResponsesByIdIn(owner, ids).forEach(task -> tasksById.put(task.getId(), task));
+        return ids.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Hands every task of the stream to the consumer and detaches it right after,
+     * so the persistence context does not grow with the number of rows streamed.
+     *
+     * @param tasks the task stream to consume
+     * @param consumer the callback receiving each task
+     */
+    private void forEachDetached(Stream<Task> tasks, Consumer<TaskResponse> consumer) {
+        tasks.forEach(task -> {
+            consumer.accept(convertToResponse(task));
+            entityManager.detach(task);
+        });
+    }
+
+    /**
+     * Creates a new, not yet persisted Task from request data.
+     * The status defaults to PENDING when the request does not specify one.
+     *
+     * @param owner the owner of the new task
+     * @param taskRequest the task data
+     * @return the new Task entity
+     */
+    public static Task newTask(String owner, TaskRequest taskRequest) {
+        Task task = new Task();
+        task.setOwner(owner);
+        applyRequest(task, taskRequest);
+        if (task.getStatus() == null) {
+            task.setStatus(TaskStatus.PENDING);
+        }
+        return task;
+    }
+
+    /**
+     * Rejects a conditional write when the task no longer has the version the client read.
+     *
+     * @param task the current task
+     * @param expectedVersion the version from the If-Match header, or null for an unconditional write
+     * @throws TaskPreconditionFailedException if the versions differ
+     */
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskPreconditionFailedException(VERSION_MISMATCH_MESSAGE + task.getId());
+        }
+    }
+
+    /**
+     * Flushes the changes of a task, turning a lost optimistic locking race into the error
+     * matching the kind of write.
+     *
+     * @param task the modified task
+     * @param expectedVersion the version from the If-Match header, or null for an unconditional write
+     * @return the saved task
+     * @throws TaskPreconditionFailedException if a conditional write lost the race
+     * @throws TaskConflictException if an unconditional write lost the race
+     */
+    private Task saveChecked(Task task, Long expectedVersion) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another transaction updated the task between our read and our write
+            if (expectedVersion != null) {
+                throw new TaskPreconditionFailedException(VERSION_MISMATCH_MESSAGE + task.getId());
+            }
+            throw new TaskConflictException(TASK_CHANGED_MESSAGE + task.getId());
+        }
+    }
+
+    /**
+     * Copies the fields present in a merge patch onto a Task entity, skipping those that already
+     * have the patched value so Hibernate finds nothing to write for them.
+     *
+     * @param task the Task entity to modify
+     * @param patch the fields to change
+     * @return true if at least one field changed
+     */
+    static boolean applyPatch(Task task, TaskPatchRequest patch) {
+        boolean changed = patchField(patch.has("title"), task.getTitle(), patch.getTitle(), task::setTitle);
+        changed |= patchField(patch.has("description"), task.getDescription(), patch.getDescription(),
+                task::setDescription);
+        changed |= patchField(patch.has("status"), task.getStatus(), patch.getStatus(), task::setStatus);
+        changed |= patchField(patch.has("dueDate"), task.getDueDate(), patch.getDueDate(), task::setDueDate);
+        changed |= patchField(patch.has("priority"), task.getPriority(), patch.getPriority(), task::setPriority);
+        return changed;
+    }
+
+    private static <T> boolean patchField(boolean present, T current, T value, Consumer<T> setter) {
+        if (!present || Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * Copies every field of a task request onto a Task entity.
+     *
+     * @param task the Task entity to modify
+     * @param taskRequest the new task data
+     */
+    static void applyRequest(Task task, TaskRequest taskRequest) {
+        task.setTitle(taskRequest.getTitle());
+        task.setDescription(taskRequest.getDescription());
+        task.setStatus(taskRequest.getStatus());
+        task.setDueDate(taskRequest.getDueDate());
+        task.setPriority(taskRequest.getPriority());
+    }
+
     /**
      * Converts a Task entity to a TaskResponse DTO.
+     * Also used by the in-memory indexes to snapshot tasks while rebuilding.
      * 
      * @param task the Task entity to convert
      * @return TaskResponse containing all task data for API responses
      */
-    private TaskResponse convertToResponse(Task task) {
+    public static TaskResponse convertToResponse(Task task) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
         response.setTitle(task.getTitle());
@@ -193,6 +750,8 @@ public List<TaskResponse> getTasksDueBetween(String start, String end) {
         response.setPriority(task.getPriority());
         response.setCreatedAt(task.getCreatedAt());
         response.setUpdatedAt(task.getUpdatedAt());
+        response.setVersion(task.getVersion());
+        response.setOwner(task.getOwner());
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,404 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.BatchItemResult;
+import com.taskmanager.task_manager.controller.dto.TaskImportResult;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.repository.TaskRowMapper;
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import com.taskmanager.task_manager.service.TaskTransferService;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.index.TaskSnapshotLoader;
+import com.taskmanager.task_manager.service.transfer.TaskRecordReader;
+import com.taskmanager.task_manager.service.transfer.TaskRecordWriter;
+import com.taskmanager.task_manager.service.transfer.TaskTransferFormat;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for task export and import.
+ * <p>
+ * Exports read the table with a forward-only JDBC cursor and write each row to the output as soon as
+ * it is fetched. Imports read the input one record at a time and store it in chunks, one transaction
+ * per chunk: records with an id are written with a batched {@code MERGE}, keeping their id and
+ * timestamps, and records without id are inserted through the repository. Every stored record
+ * publishes a change event, so the in-memory indexes, statistics and caches follow the import.
+ * Both directions are scoped by an owner: exports read the tasks of the owner only, and imported
+ * records belong to the importing owner, which can never replace a task of another owner. Archived tasks
+ * are read-only, so a record with the id of an archived task is rejected rather than stored next to it.
+ * Like the batch endpoints, a chunk rejected by the database is retried one record at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskTransferServiceImpl implements TaskTransferService {
+
+    private static final String SELECT_TASKS = "SELECT " + TaskRowMapper.COLUMNS + " FROM tasks WHERE id IN (%s)";
+
+    private static final String SELECT_TASK_RANGE = "SELECT " + TaskRowMapper.COLUMNS + " FROM tasks"
+            + " WHERE id BETWEEN ? AND ?";
+
+    /**
+     * Largest ratio between the width of the id range of a chunk and its number of ids for which the
+     * range is read instead of the ids being listed.
+     */
+    private static final int MAX_RANGE_SPARSENESS = 4;
+
+    private static final String MERGE_TASK = "MERGE INTO tasks (" + TaskRowMapper.COLUMNS + ") KEY (id)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SEQUENCE_VALUE =
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASK_SEQ'";
+
+    /**
+     * Allocation size of the task id sequence, see {@link Task#getId()}.
+     */
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    /**
+     * Number of failures detailed in the import result.
+     */
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    /**
+     * Error message constant for records whose id belongs to a task of another owner.
+     */
+    private static final String ID_IN_USE_MESSAGE = "Task id is already in use: ";
+
+    /**
+     * Error message constant for records whose id belongs to an archived task.
+     */
+    private static final String ID_ARCHIVED_MESSAGE = "Task id belongs to an archived task: ";
+
+    private final TaskSnapshotLoader snapshotLoader;
+
+    private final TaskRepository taskRepository;
+
+    private final TaskArchiveService taskArchiveService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator;
+
+    /**
+     * Maximum number of imported records stored in a single transaction.
+     */
+    @Value("${task-manager.transfer.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * One imported record together with its position in the input.
+     */
+    private record Item(int index, Task task) {
+    }
+
+    /**
+     * Counts of an import in progress.
+     */
+    private static final class Progress {
+
+        private long created;
+
+        private long updated;
+
+        private long failed;
+
+        private long maxId;
+
+        private final List<BatchItemResult> failures = new ArrayList<>();
+
+        private void add(BatchItemResult result) {
+            if (result.getStatus() == 201) {
+                created++;
+            } else if (result.getStatus() == 200) {
+                updated++;
+            } else {
+                failed++;
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add(result);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long exportTasks(String owner, TaskTransferFormat format, OutputStream output) throws IOException {
+        long start = System.nanoTime();
+        TaskRecordWriter writer = format.writer(output);
+        AtomicLong count = new AtomicLong();
+        try {
+            snapshotLoader.forEachTask(owner, task -> {
+                try {
+                    writer.write(task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count.incrementAndGet();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.info("Exported {} tasks of {} as {} in {} ms", count.get(), owner, format,
+                (System.nanoTime() - start) / 1_000_000);
+        return count.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Ids above the current value of the id sequence move the sequence past them once the import ends,
+     * so new tasks do not collide with the imported ones; only the ids already reserved in memory
+     * by the running instance, at most one sequence allocation, can still collide.
+     */
+    @Override
+    public TaskImportResult importTasks(String owner, TaskTransferFormat format, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        TaskRecordReader reader = format.reader(input);
+        Progress progress = new Progress();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try {
+            for (Task task = reader.read(); task != null; task = reader.read()) {
+                task.setOwner(owner);
+                chunk.add(new Item(index++, task));
+                if (task.getId() != null) {
+                    progress.maxId = Math.max(progress.maxId, task.getId());
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, progress);
+            }
+        } finally {
+            advanceSequence(progress.maxId);
+        }
+        log.info("Imported {} tasks of {} as {} in {} ms: {} created, {} updated, {} failed",
+                index, owner, format, (System.nanoTime() - start) / 1_000_000,
+                progress.created, progress.updated, progress.failed);
+        return new TaskImportResult(progress.created, progress.updated, progress.failed,
+                Collections.unmodifiableList(progress.failures));
+    }
+
+    /**
+     * Stores a chunk in one transaction, falling back to one transaction per record when the
+     * database rejects it.
+     */
+    private void importChunk(List<Item> chunk, Progress progress) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<BatchItemResult> results;
+        try {
+            results = transaction.execute(status -> storeChunk(chunk));
+        } catch (DataAccessException | TransactionException chunkFailure) {
+            log.debug("Import chunk starting at record {} failed, retrying records one by one",
+                    chunk.get(0).index(), chunkFailure);
+            results = new ArrayList<>();
+            for (Item item : chunk) {
+                try {
+                    results.addAll(transaction.execute(status -> storeChunk(List.of(item))));
+                } catch (DataAccessException | TransactionException itemFailure) {
+                    results.add(failure(item, 409, NestedExceptionUtils.getMostSpecificCause(itemFailure).getMessage()));
+                }
+            }
+        }
+        results.forEach(progress::add);
+    }
+
+    private List<BatchItemResult> storeChunk(List<Item> items) {
+        Map<Long, TaskResponse> stored = loadTasks(items.stream().map(item -> item.task().getId()).toList());
+        Set<Long> archived = taskArchiveService.findArchivedIds(items.stream()
+                .map(item -> item.task().getId())
+                .filter(id -> id != null && !stored.containsKey(id))
+                .toList());
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Task> merged = new ArrayList<>();
+        List<TaskChangedEvent> mergeEvents = new ArrayList<>();
+        List<Item> inserted = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Item item : items) {
+            Task task = copy(item.task());
+            // Defaults first, so a record is only rejected for values it cannot do without
+            if (task.getStatus() == null) {
+                task.setStatus(TaskStatus.PENDING);
+            }
+            if (task.getId() != null) {
+                task.setCreatedAt(Objects.requireNonNullElse(task.getCreatedAt(), now));
+                task.setUpdatedAt(Objects.requireNonNullElse(task.getUpdatedAt(), now));
+            }
+            String violation = validate(task);
+            if (violation != null) {
+                results.add(failure(item, 400, violation));
+                continue;
+            }
+            if (task.getId() == null) {
+                task.setVersion(null);
+                inserted.add(new Item(item.index(), task));
+                continue;
+            }
+            // A replaced task gets a new version, so copies read before the import are detected as stale
+            TaskResponse before = stored.get(task.getId());
+            if (before != null && !before.getOwner().equals(task.getOwner())) {
+                results.add(failure(item, 409, ID_IN_USE_MESSAGE + task.getId()));
+                continue;
+            }
+            if (archived.contains(task.getId())) {
+                results.add(failure(item, 409, ID_ARCHIVED_MESSAGE + task.getId()));
+                continue;
+            }
+            task.setVersion(before != null ? before.getVersion() + 1 : Objects.requireNonNullElse(task.getVersion(), 0L));
+            TaskResponse after = TaskServiceImpl.convertToResponse(task);
+            stored.put(task.getId(), after);
+            merged.add(task);
+            // The id may be that of a task deleted before, which the indexes remember as removed
+            mergeEvents.add(before != null ? TaskChangedEvent.updated(before, after) : TaskChangedEvent.restored(after));
+            results.add(new BatchItemResult(item.index(), task.getId(), before != null ? 200 : 201, null, null));
+        }
+        jdbcTemplate.batchUpdate(MERGE_TASK, merged, merged.size(), TaskTransferServiceImpl::bindTask);
+        List<Task> newTasks = inserted.stream().map(Item::task).toList();
+        taskRepository.saveAll(newTasks);
+        taskRepository.flush();
+        mergeEvents.forEach(eventPublisher::publishEvent);
+        for (int i = 0; i < inserted.size(); i++) {
+            TaskResponse created = TaskServiceImpl.convertToResponse(newTasks.get(i));
+            eventPublisher.publishEvent(TaskChangedEvent.created(created));
+            results.add(new BatchItemResult(inserted.get(i).index(), created.getId(), 201, null, null));
+        }
+        return results;
+    }
+
+    /**
+     * Loads the current state of the tasks with the given ids with a single query, ignoring null ids.
+     * Tasks of every owner are loaded, so that ids taken by another owner are detected.
+     * Dumps are written in id order, so the ids of a chunk usually form a dense range: the range is
+     * then read with an index range scan, H2 checking each row of an IN list against every element.
+     *
+     * @param ids the ids to load
+     * @return the found tasks indexed by id
+     */
+    private Map<Long, TaskResponse> loadTasks(List<Long> ids) {
+        Set<Long> distinct = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, TaskResponse> tasksById = new HashMap<>();
+        if (distinct.isEmpty()) {
+            return tasksById;
+        }
+        long min = Collections.min(distinct);
+        long max = Collections.max(distinct);
+        List<Task> tasks;
+        if (max - min < (long) distinct.size() * MAX_RANGE_SPARSENESS) {
+            tasks = jdbcTemplate.query(SELECT_TASK_RANGE, TaskRowMapper.INSTANCE, min, max);
+        } else {
+            String placeholders = String.join(", ", Collections.nCopies(distinct.size(), "?"));
+            tasks = jdbcTemplate.query(String.format(SELECT_TASKS, placeholders), TaskRowMapper.INSTANCE, distinct.toArray());
+        }
+        for (Task task : tasks) {
+            if (distinct.contains(task.getId())) {
+                tasksById.put(task.getId(), TaskServiceImpl.convertToResponse(task));
+            }
+        }
+        return tasksById;
+    }
+
+    /**
+     * Restarts the id sequence past the given id when it would hand it out again.
+     * The pooled optimizer hands out the ids from {@code value - allocation + 1} to {@code value},
+     * so the next value must be at least {@code id + allocation}.
+     *
+     * @param maxId the largest imported id, 0 when none
+     */
+    private void advanceSequence(long maxId) {
+        if (maxId == 0) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(SELECT_SEQUENCE_VALUE, Long.class);
+        long required = maxId + SEQUENCE_ALLOCATION;
+        if (next != null && next < required) {
+            jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH " + required);
+            log.info("Moved the task id sequence from {} to {} past the imported ids", next, required);
+        }
+    }
+
+    /**
+     * Validates an imported record with the constraints of the task entity.
+     *
+     * @param task the imported record
+     * @return the joined violation messages, or null when the record is valid
+     */
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Copies a record, so the values a failed chunk adjusted are not seen when it is retried.
+     */
+    private static Task copy(Task task) {
+        return new Task(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getDueDate(),
+                task.getPriority(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion(), task.getOwner());
+    }
+
+    private static void bindTask(PreparedStatement statement, Task task) throws SQLException {
+        statement.setLong(1, task.getId());
+        statement.setString(2, task.getTitle());
+        statement.setString(3, task.getDescription());
+        statement.setString(4, task.getStatus().name());
+        statement.setTimestamp(5, Timestamp.valueOf(task.getDueDate()));
+        if (task.getPriority() != null) {
+            statement.setInt(6, task.getPriority());
+        } else {
+            statement.setNull(6, Types.INTEGER);
+        }
+        statement.setTimestamp(7, Timestamp.valueOf(task.getCreatedAt()));
+        statement.setTimestamp(8, Timestamp.valueOf(task.getUpdatedAt()));
+        statement.setLong(9, task.getVersion());
+        statement.setString(10, task.getOwner());
+    }
+
+    private static BatchItemResult failure(Item item, int status, String error) {
+        return new BatchItemResult(item.index(), item.task().getId(), status, null, error);
+    }
+}
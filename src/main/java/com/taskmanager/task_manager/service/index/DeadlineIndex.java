@@ -0,0 +1,340 @@
+package com.taskmanager.task_manager.service.index;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of the deadlines of the tasks that are not completed.
+ * Keeps the (dueDate, id) key of every open task in a concurrent skip list, so overdue queries are
+ * answered with a range view in O(log n + k) without scanning the tasks table. The index holds no task
+ * data: callers load the rows of the ids it returns, and completed tasks are not indexed at all.
+ * The index is rebuilt from the database at startup and kept in sync through task change events.
+ * <p>
+ * Queries are answered per owner: each owner has its own skip list, so the range read for a request
+ * holds the tasks of its owner only, whatever the number of tasks of the others. The deadlines of the
+ * open tasks of every owner are also kept together in one skip list, which drives the watcher.
+ * <p>
+ * Change events are applied in version order: an event carrying a version older than the one indexed
+ * for its task, or than the one it was removed at recently, was delivered late and is ignored. A task
+ * restored under the id of a removed one, as an import does, makes the index forget that removal.
+ * <p>
+ * The open tasks being ordered by due date, the index also tells a {@link Watcher} when tasks become
+ * overdue: {@link #advanceOverdue(LocalDateTime)} reports the deadlines that passed since its previous
+ * call, and changes applied to the index report the tasks they make overdue at once. Both run under
+ * the write lock, so every transition is reported exactly once.
+ * <p>
+ * The same transitions move a running count of the overdue tasks of each owner: a deadline passing
+ * increments it, and a change closing or rescheduling a task whose deadline was reported passed
+ * decrements it. {@link #countOverdue(String)} is therefore a single map lookup, accurate as of the
+ * last {@link #advanceOverdue(LocalDateTime) advance}.
+ */
+@Component
+public class DeadlineIndex implements TaskIndex {
+
+    /**
+     * Position of a task in the index: its due date, ties broken by id.
+     *
+     * @param dueDate the due date of the task
+     * @param id the id of the task
+     */
+    private record DeadlineKey(LocalDateTime dueDate, long id) {
+    }
+
+    /**
+     * An indexed task: its owner, its position and the version it was indexed at.
+     */
+    private record OpenTask(String owner, DeadlineKey key, long version) {
+    }
+
+    private static final Comparator<DeadlineKey> KEY_ORDER =
+            Comparator.comparing(DeadlineKey::dueDate).thenComparingLong(DeadlineKey::id);
+
+    /**
+     * Open tasks of every owner, ordered by due date, mapped to their owner.
+     */
+    private final ConcurrentSkipListMap<DeadlineKey, String> openByDueDate = new ConcurrentSkipListMap<>(KEY_ORDER);
+
+    /**
+     * Open tasks of each owner that has some, ordered by due date.
+     */
+    private final Map<String, NavigableSet<DeadlineKey>> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Open tasks by id; guarded by the write lock.
+     */
+    private final Map<Long, OpenTask> openTasks = new HashMap<>();
+
+    /**
+     * Number of indexed tasks of each owner whose deadline was reported passed, owners with none left out;
+     * written under the write lock.
+     */
+    private final Map<String, Long> overdueCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Versions of the tasks that left the index recently; guarded by the write lock.
+     */
+    private final Tombstones closed = new Tombstones();
+
+    /**
+     * Receives the tasks becoming overdue, once {@link #watchOverdue(LocalDateTime, Watcher)} was called.
+     */
+    public interface Watcher {
+
+        /**
+         * Called when the due date of a task that is not completed passes.
+         *
+         * @param owner the owner of the task
+         * @param id the id of the task
+         * @param dueDate the due date that passed
+         */
+        void deadlinePassed(String owner, long id, LocalDateTime dueDate);
+
+        /**
+         * Called when a committed change makes a task overdue at once: it gets a due date in the past,
+         * or is reopened after its due date.
+         *
+         * @param task the task after the change
+         */
+        void changedToOverdue(TaskResponse task);
+
+        /**
+         * Called when a task that is not completed gets a due date that has not passed yet.
+         *
+         * @param dueDate the due date
+         */
+        void deadlineScheduled(LocalDateTime dueDate);
+    }
+
+    /**
+     * Serializes writers, so a remove and the following add are applied together;
+     * a lock rather than {@code synchronized} so a waiting virtual thread does not pin its carrier.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Watcher watcher;
+
+    /**
+     * Deadlines before this instant have been reported to the watcher; guarded by the write lock.
+     */
+    private LocalDateTime reportedUpTo;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void load(Task task) {
+        if (task.getDueDate() == null || task.getStatus() == TaskStatus.COMPLETED) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            apply(task.getOwner(), task.getId(), task.getDueDate(), task.getStatus(), versionOf(task.getVersion()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Keeps the index in sync with committed task changes, ignoring those delivered after a newer one.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        writeLock.lock();
+        try {
+            TaskResponse after = event.getAfter();
+            if (after == null) {
+                // Deleted or archived: no later version of the task can follow, unless it is restored
+                close(event.getTaskId(), Long.MAX_VALUE);
+                return;
+            }
+            if (event.isRestored()) {
+                closed.clear(after.getId());
+            }
+            if (apply(after.getOwner(), after.getId(), after.getDueDate(), after.getStatus(),
+                    versionOf(after.getVersion()))) {
+                notifyWatcher(event.getBefore(), after);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Starts reporting the tasks becoming overdue after the given instant; the tasks already overdue
+     * are not reported, only counted.
+     *
+     * @param from the instant from which deadlines are reported
+     * @param watcher the receiver of the transitions
+     */
+    public void watchOverdue(LocalDateTime from, Watcher watcher) {
+        writeLock.lock();
+        try {
+            this.reportedUpTo = from;
+            this.watcher = watcher;
+            overdueCounts.clear();
+            openByDueDate.headMap(new DeadlineKey(from, Long.MIN_VALUE)).values()
+                    .forEach(owner -> adjustOverdueCount(owner, 1));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reports to the watcher the tasks that are not completed and whose due date passed since the
+     * previous call, in due date order.
+     *
+     * @param now the current date/time; an instant before the previous one reports nothing
+     * @return the next deadline of a task that is not completed, or null when there is none
+     */
+    public LocalDateTime advanceOverdue(LocalDateTime now) {
+        writeLock.lock();
+        try {
+            if (now.isAfter(reportedUpTo)) {
+                openByDueDate.subMap(new DeadlineKey(reportedUpTo, Long.MIN_VALUE), new DeadlineKey(now, Long.MIN_VALUE))
+                        .forEach((key, owner) -> {
+                            adjustOverdueCount(owner, 1);
+                            watcher.deadlinePassed(owner, key.id(), key.dueDate());
+                        });
+                reportedUpTo = now;
+            }
+            return nextOpenDeadline(reportedUpTo);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks of an owner that are not completed and whose due date is strictly
+     * before the given instant, ordered by due date.
+     *
+     * @param owner the owner of the tasks
+     * @param now the reference date/time
+     * @return the ids of the overdue tasks
+     */
+    public List<Long> overdue(String owner, LocalDateTime now) {
+        NavigableSet<DeadlineKey> keys = partitions.get(owner);
+        return keys != null
+                ? keys.headSet(new DeadlineKey(now, Long.MIN_VALUE)).stream().map(DeadlineKey::id).toList()
+                : List.of();
+    }
+
+    /**
+     * Counts the tasks of an owner that are not completed and whose due date was reported passed by the
+     * last {@link #advanceOverdue(LocalDateTime) advance}, from the running count; nothing is counted
+     * before {@link #watchOverdue(LocalDateTime, Watcher)} is called.
+     *
+     * @param owner the owner of the tasks
+     * @return the number of overdue tasks
+     */
+    public long countOverdue(String owner) {
+        return overdueCounts.getOrDefault(owner, 0L);
+    }
+
+    /**
+     * Returns the earliest due date, at or after the given instant, of a task of any owner that is not
+     * completed.
+     *
+     * @param from the reference date/time
+     * @return the next open deadline, or null when there is none
+     */
+    public LocalDateTime nextOpenDeadline(LocalDateTime from) {
+        DeadlineKey next = openByDueDate.ceilingKey(new DeadlineKey(from, Long.MIN_VALUE));
+        return next != null ? next.dueDate() : null;
+    }
+
+    /**
+     * Indexes a version of a task, or drops the task when it is completed or has no due date.
+     *
+     * @return false if the version is not newer than the indexed one, which leaves the index unchanged
+     */
+    private boolean apply(String owner, long id, LocalDateTime dueDate, TaskStatus status, long version) {
+        OpenTask current = openTasks.get(id);
+        if (current != null ? version <= current.version() : closed.covers(id, version)) {
+            return false;
+        }
+        if (dueDate == null || status == TaskStatus.COMPLETED) {
+            close(id, version);
+            return true;
+        }
+        if (current != null) {
+            unindex(current);
+        }
+        closed.clear(id);
+        OpenTask open = new OpenTask(owner, new DeadlineKey(dueDate, id), version);
+        openTasks.put(id, open);
+        openByDueDate.put(open.key(), owner);
+        partitions.computeIfAbsent(owner, o -> new ConcurrentSkipListSet<>(KEY_ORDER)).add(open.key());
+        if (isReportedPassed(open.key())) {
+            adjustOverdueCount(owner, 1);
+        }
+        return true;
+    }
+
+    private void close(long id, long version) {
+        OpenTask current = openTasks.remove(id);
+        if (current != null) {
+            unindex(current);
+        }
+        closed.put(id, version);
+    }
+
+    private void unindex(OpenTask task) {
+        openByDueDate.remove(task.key());
+        partitions.computeIfPresent(task.owner(), (owner, keys) -> keys.remove(task.key()) && keys.isEmpty() ? null : keys);
+        if (isReportedPassed(task.key())) {
+            adjustOverdueCount(task.owner(), -1);
+        }
+    }
+
+    private boolean isReportedPassed(DeadlineKey key) {
+        return reportedUpTo != null && key.dueDate().isBefore(reportedUpTo);
+    }
+
+    /**
+     * Moves the running overdue count of an owner; called under the write lock.
+     */
+    private void adjustOverdueCount(String owner, long delta) {
+        overdueCounts.merge(owner, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    /**
+     * Tells the watcher about the deadline of a changed task: the change made the task overdue when
+     * its deadline was already reported as passed while it was not overdue before.
+     */
+    private void notifyWatcher(TaskResponse before, TaskResponse after) {
+        if (watcher == null || after.getDueDate() == null || after.getStatus() == TaskStatus.COMPLETED) {
+            return;
+        }
+        if (!after.getDueDate().isBefore(reportedUpTo)) {
+            watcher.deadlineScheduled(after.getDueDate());
+        } else if (!isReportedOverdue(before)) {
+            watcher.changedToOverdue(after);
+        }
+    }
+
+    private boolean isReportedOverdue(TaskResponse task) {
+        return task != null && task.getDueDate() != null && task.getStatus() != TaskStatus.COMPLETED
+                && task.getDueDate().isBefore(reportedUpTo);
+    }
+
+    private static long versionOf(Long version) {
+        return version != null ? version : 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.task_manager.service.index;
+
+import com.taskmanager.task_manager.model.Task;
+
+/**
+ * An in-memory structure derived from the stored tasks.
+ * Every implementation is filled by {@link TaskSnapshotLoader} from a single pass over the tasks table
+ * at startup, and keeps itself in sync afterwards by listening to task change events.
+ */
+public interface TaskIndex {
+
+    /**
+     * Adds a stored task to the index during the startup rebuild.
+     * The task is built from the stored row; it is not a managed entity.
+     *
+     * @param task the stored task
+     */
+    void load(Task task);
+}
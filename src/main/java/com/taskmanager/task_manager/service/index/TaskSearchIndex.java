@@ -0,0 +1,506 @@
+package com.taskmanager.task_manager.service.index;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.service.SearchMode;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ * Maps every normalized word to the tasks containing it, so a search only visits the postings
+ * of the searched words instead of scanning every row. Results are ranked with BM25, title
+ * words weigh twice as much as description words, and words can be matched exactly, by prefix
+ * or within a small edit distance. Fuzzy matching only compares the query word with the indexed
+ * words whose length is within the tolerated number of edits, not with the whole vocabulary.
+ * The index is rebuilt from the database at startup and kept in sync through task change events.
+ * <p>
+ * The index is partitioned by owner: each owner has its own postings, document statistics and writer
+ * lock, so a search only ever visits the words and tasks of one owner, relevance is computed against
+ * the tasks of that owner alone, and writers of different owners never wait for each other.
+ * <p>
+ * Every document remembers the version of the task it was built from, and a replacement carrying an
+ * older version is ignored: change events are published after commit and may arrive out of order.
+ * Removed tasks are remembered for a while for the same reason, until a task restored under their id
+ * makes the index forget the removal.
+ */
+@Component
+public class TaskSearchIndex implements TaskIndex {
+
+    /**
+     * A task matching a search, with its relevance score.
+     *
+     * @param id the id of the matching task
+     * @param score the relevance of the task for the search (higher is better)
+     */
+    public record Hit(Long id, double score) {
+    }
+
+    /**
+     * Order of search results: best score first, ties broken by ascending id.
+     */
+    public static final Comparator<Hit> RANKING =
+            Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /** BM25 term frequency saturation parameter */
+    private static final double K1 = 1.2;
+
+    /** BM25 document length normalization parameter */
+    private static final double B = 0.75;
+
+    /** Number of times a title word is counted, relative to a description word */
+    private static final int TITLE_WEIGHT = 2;
+
+    /** Score multiplier for words matched by prefix or by edit distance rather than exactly */
+    private static final double APPROXIMATE_MATCH_WEIGHT = 0.7;
+
+    /**
+     * Partitions of the index, one per owner with indexed tasks.
+     */
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Words of one indexed task with their weighted frequencies.
+     *
+     * @param version the version of the task the words were read from
+     * @param termFrequencies weighted occurrences of each word
+     * @param length total weighted number of words
+     */
+    private record IndexedDocument(long version, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void load(Task task) {
+        index(task.getOwner(), task.getId(), versionOf(task.getVersion()), task.getTitle(), task.getDescription());
+    }
+
+    /**
+     * Keeps the index in sync with committed task changes.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskResponse before = event.getBefore();
+        TaskResponse after = event.getAfter();
+        if (after == null) {
+            remove(before.getOwner(), before.getId());
+        } else if (event.isRestored()) {
+            partitions.computeIfAbsent(after.getOwner(), o -> new Partition()).forgetRemoval(after.getId());
+            index(after.getOwner(), after.getId(), versionOf(after.getVersion()), after.getTitle(), after.getDescription());
+        } else if (before == null
+                || !Objects.equals(before.getTitle(), after.getTitle())
+                || !Objects.equals(before.getDescription(), after.getDescription())) {
+            index(after.getOwner(), after.getId(), versionOf(after.getVersion()), after.getTitle(), after.getDescription());
+        }
+    }
+
+    /**
+     * Adds a task to the index, replacing any previously indexed version of it.
+     * Does nothing if the indexed version, or the version the task was removed at, is not older.
+     *
+     * @param owner the owner of the task
+     * @param id the task id
+     * @param version the version of the task
+     * @param title the task title
+     * @param description the task description, may be null
+     */
+    public void index(String owner, Long id, long version, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String word : tokenize(title)) {
+            frequencies.merge(word, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(description)) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        partitions.computeIfAbsent(owner, o -> new Partition()).index(id, new IndexedDocument(version, frequencies, length));
+    }
+
+    /**
+     * Removes a task from the index for good: a late change event for it is ignored.
+     * Does nothing else if the task is not indexed.
+     *
+     * @param owner the owner of the task
+     * @param id the task id
+     */
+    public void remove(String owner, Long id) {
+        partitions.computeIfAbsent(owner, o -> new Partition()).remove(id);
+    }
+
+    /**
+     * Searches the tasks of an owner. Every word of the query must match the task (in title or
+     * description); matching tasks are returned best first according to {@link #RANKING}.
+     *
+     * @param owner the owner of the tasks
+     * @param query the words to search for
+     * @param mode how each query word is matched against indexed words
+     * @return the matching tasks, ranked by relevance
+     */
+    public List<Hit> search(String owner, String query, SearchMode mode) {
+        Partition partition = partitions.get(owner);
+        List<String> words = tokenize(query);
+        if (partition == null || words.isEmpty()) {
+            return List.of();
+        }
+        return partition.search(words, mode);
+    }
+
+    /**
+     * Number of tasks currently indexed, for every owner.
+     *
+     * @return the indexed task count
+     */
+    public int size() {
+        return partitions.values().stream().mapToInt(partition -> partition.documents.size()).sum();
+    }
+
+    /**
+     * The index of the tasks of one owner.
+     */
+    private static final class Partition {
+
+        /**
+         * Postings: indexed word -> (task id -> weighted occurrences of the word in the task).
+         */
+        private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+        /**
+         * Indexed words grouped by length, the candidates of a fuzzy match; updated under the write lock
+         * together with the postings.
+         */
+        private final Map<Integer, Set<String>> termsByLength = new ConcurrentHashMap<>();
+
+        /**
+         * Forward index: task id -> indexed words of the task, used to unindex it on update or delete.
+         */
+        private final Map<Long, IndexedDocument> documents = new ConcurrentHashMap<>();
+
+        private final AtomicLong totalLength = new AtomicLong();
+
+        /**
+         * Tasks removed recently; guarded by the write lock.
+         */
+        private final Tombstones removed = new Tombstones();
+
+        /**
+         * Serializes writers; a lock rather than {@code synchronized} so a waiting virtual thread does not pin its carrier.
+         */
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        private void index(Long id, IndexedDocument document) {
+            writeLock.lock();
+            try {
+                IndexedDocument current = documents.get(id);
+                if (current != null ? document.version() <= current.version() : removed.covers(id, document.version())) {
+                    return;
+                }
+                unindex(id);
+                removed.clear(id);
+                document.termFrequencies().forEach((word, frequency) ->
+                        postings.computeIfAbsent(word, w -> {
+                            termsByLength.computeIfAbsent(w.length(), l -> ConcurrentHashMap.newKeySet()).add(w);
+                            return new ConcurrentHashMap<>();
+                        }).put(id, frequency));
+                documents.put(id, document);
+                totalLength.addAndGet(document.length());
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void forgetRemoval(Long id) {
+            writeLock.lock();
+            try {
+                removed.clear(id);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void remove(Long id) {
+            writeLock.lock();
+            try {
+                unindex(id);
+                removed.put(id, Long.MAX_VALUE);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Drops the postings of a task; called under the write lock.
+         */
+        private void unindex(Long id) {
+            IndexedDocument document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            totalLength.addAndGet(-document.length());
+            for (String word : document.termFrequencies().keySet()) {
+                postings.computeIfPresent(word, (w, tasks) -> {
+                    tasks.remove(id);
+                    if (!tasks.isEmpty()) {
+                        return tasks;
+                    }
+                    termsByLength.getOrDefault(w.length(), Set.of()).remove(w);
+                    return null;
+                });
+            }
+        }
+
+        private List<Hit> search(List<String> words, SearchMode mode) {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+
+            Map<Long, Double> scores = null;
+            for (String word : words.stream().distinct().toList()) {
+                Map<Long, Double> wordScores = scoreWord(word, mode, documentCount, averageLength);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    Map<Long, Double> intersection = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double wordScore = wordScores.get(entry.getKey());
+                        if (wordScore != null) {
+                            intersection.put(entry.getKey(), entry.getValue() + wordScore);
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new Hit(id, score)));
+            hits.sort(RANKING);
+            return hits;
+        }
+
+        /**
+         * Computes the BM25 contribution of one query word for every task it matches.
+         * When several indexed words match the query word, the best one counts for each task.
+         */
+        private Map<Long, Double> scoreWord(String word, SearchMode mode, int documentCount, double averageLength) {
+            Map<Long, Double> scores = new HashMap<>();
+            expand(word, mode).forEach((term, weight) -> {
+                Map<Long, Integer> tasks = postings.get(term);
+                if (tasks == null) {
+                    return;
+                }
+                int documentFrequency = tasks.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                tasks.forEach((id, frequency) -> {
+                    IndexedDocument document = documents.get(id);
+                    int length = document != null ? document.length() : (int) averageLength;
+                    double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(id, weight * idf * tf, Math::max);
+                });
+            });
+            return scores;
+        }
+
+        /**
+         * Resolves a query word to the indexed words it matches, each with its score weight.
+         */
+        private Map<String, Double> expand(String word, SearchMode mode) {
+            Map<String, Double> terms = new LinkedHashMap<>();
+            if (postings.containsKey(word)) {
+                terms.put(word, 1.0);
+            }
+            switch (mode) {
+                case EXACT -> {
+                }
+                case PREFIX -> {
+                    ConcurrentNavigableMap<String, Map<Long, Integer>> prefixed =
+                            postings.subMap(word, false, word + Character.MAX_VALUE, true);
+                    prefixed.keySet().forEach(term -> terms.putIfAbsent(term, APPROXIMATE_MATCH_WEIGHT));
+                }
+                case FUZZY -> {
+                    int maxEdits = maxEdits(word);
+                    if (maxEdits > 0) {
+                        // Words whose length differs by more than maxEdits cannot be within maxEdits
+                        for (int length = word.length() - maxEdits; length <= word.length() + maxEdits; length++) {
+                            for (String term : termsByLength.getOrDefault(length, Set.of())) {
+                                if (editDistance(word, term, maxEdits) <= maxEdits) {
+                                    terms.putIfAbsent(term, APPROXIMATE_MATCH_WEIGHT);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return terms;
+        }
+    }
+
+    private static long versionOf(Long version) {
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Number of typos tolerated for a word: none for very short words, two for long ones.
+     */
+    private static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions),
+     * abandoning the computation as soon as it is known to exceed the given bound.
+     *
+     * @return the distance, or {@code max + 1} if it is greater than {@code max}
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Tells whether a set of words, tokenized with {@link #tokenize(String)}, matches every word of a
+     * query the way {@link #search(String, String, SearchMode)} matches an indexed task. Used to search
+     * tasks kept out of the index, which are matched without being ranked.
+     *
+     * @param words the words of the searched text
+     * @param queryWords the tokenized query
+     * @param mode how each query word is matched against the words
+     * @return true if every query word matches one of the words
+     */
+    public static boolean matches(Collection<String> words, List<String> queryWords, SearchMode mode) {
+        if (queryWords.isEmpty()) {
+            return false;
+        }
+        for (String queryWord : queryWords) {
+            if (words.stream().noneMatch(word -> matches(word, queryWord, mode))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String word, String queryWord, SearchMode mode) {
+        if (word.equals(queryWord)) {
+            return true;
+        }
+        return switch (mode) {
+            case EXACT -> false;
+            case PREFIX -> word.startsWith(queryWord);
+            case FUZZY -> {
+                int maxEdits = maxEdits(queryWord);
+                yield maxEdits > 0 && Math.abs(word.length() - queryWord.length()) <= maxEdits
+                        && editDistance(queryWord, word, maxEdits) <= maxEdits;
+            }
+        };
+    }
+
+    /**
+     * Splits text into lower-case words without accents, so "Configuración" matches "configuracion".
+     *
+     * @param text the text to split, may be null
+     * @return the words of the text, in order
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        if (isAscii(text)) {
+            return tokenizeAscii(text);
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Same as {@link #tokenize(String)} for pure ASCII text, which has no accents to strip,
+     * without the Unicode normalization and regular expression passes.
+     */
+    private static List<String> tokenizeAscii(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean wordChar = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
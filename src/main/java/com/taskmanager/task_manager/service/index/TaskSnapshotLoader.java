@@ -0,0 +1,86 @@
+package com.taskmanager.task_manager.service.index;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.repository.TaskRowMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds the in-memory task indexes at startup with a single pass over the stored tasks.
+ * Rows are read with plain JDBC rather than as managed entities, so there is no persistence context
+ * to fill and detach, and each row is dropped as soon as every index has seen it: memory use does not
+ * depend on the number of tasks, and the table is scanned only once however many indexes there are.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSnapshotLoader implements SmartInitializingSingleton {
+
+    private static final String SELECT_TASKS = "SELECT " + TaskRowMapper.COLUMNS + " FROM tasks ORDER BY id";
+
+    private static final String SELECT_OWNER_TASKS = "SELECT " + TaskRowMapper.COLUMNS + " FROM tasks"
+            + " WHERE owner = ? ORDER BY id";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    private final List<TaskIndex> indexes;
+
+    /**
+     * Loads every stored task into every index once all beans are ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        forEachTask(task -> {
+            for (TaskIndex index : indexes) {
+                index.load(task);
+            }
+            count.incrementAndGet();
+        });
+        log.info("Rebuilt {} task indexes from {} tasks in {} ms",
+                indexes.size(), count.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Hands every stored task, in id order, to the given consumer.
+     * The tasks are plain objects built from the rows, not managed entities.
+     *
+     * @param consumer the callback receiving each task
+     */
+    public void forEachTask(Consumer<Task> consumer) {
+        newJdbcTemplate().query(SELECT_TASKS, rowHandler(consumer));
+    }
+
+    /**
+     * Hands every stored task of an owner, in id order, to the given consumer, reading the
+     * (owner, id) index range of the owner only.
+     *
+     * @param owner the owner of the tasks
+     * @param consumer the callback receiving each task
+     */
+    public void forEachTask(String owner, Consumer<Task> consumer) {
+        newJdbcTemplate().query(SELECT_OWNER_TASKS, rowHandler(consumer), owner);
+    }
+
+    private JdbcTemplate newJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        return jdbcTemplate;
+    }
+
+    private static RowCallbackHandler rowHandler(Consumer<Task> consumer) {
+        return resultSet -> consumer.accept(TaskRowMapper.INSTANCE.mapRow(resultSet, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package com.taskmanager.task_manager.service.index;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last versions of the tasks an index dropped recently, so a change event for an older version
+ * delivered late is not applied on top of the removal.
+ * <p>
+ * Change events are published after their transaction commits, so two changes of the same task
+ * committed close together can reach a listener in either order; the window is the time between a
+ * commit and its callbacks, a few milliseconds. A removal is remembered for a retention far longer
+ * than that, then forgotten, so the memory used follows the rate of removals and not the number of
+ * tasks ever removed. Not thread-safe: callers guard it with the lock of their index.
+ */
+final class Tombstones {
+
+    private static final Duration DEFAULT_RETENTION = Duration.ofMinutes(1);
+
+    /**
+     * A removal, in the order it was recorded.
+     */
+    private record Removal(long id, long version, long removedAt) {
+    }
+
+    private final long retentionNanos;
+
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    private final Deque<Removal> removals = new ArrayDeque<>();
+
+    Tombstones() {
+        this(DEFAULT_RETENTION);
+    }
+
+    Tombstones(Duration retention) {
+        this.retentionNanos = retention.toNanos();
+    }
+
+    /**
+     * Records the removal of a task.
+     *
+     * @param id the task id
+     * @param version the last version of the task; {@link Long#MAX_VALUE} for a task that only comes back
+     *                through a change that clears its removal
+     */
+    void put(long id, long version) {
+        long now = System.nanoTime();
+        prune(now);
+        versions.put(id, version);
+        removals.addLast(new Removal(id, version, now));
+    }
+
+    /**
+     * Tells whether a version of a task is not newer than its recorded removal.
+     *
+     * @param id the task id
+     * @param version the version carried by a change event
+     * @return true if the task was removed at this version or a later one
+     */
+    boolean covers(long id, long version) {
+        prune(System.nanoTime());
+        Long removed = versions.get(id);
+        return removed != null && version <= removed;
+    }
+
+    /**
+     * Forgets the removal of a task that is indexed again.
+     *
+     * @param id the task id
+     */
+    void clear(long id) {
+        versions.remove(id);
+    }
+
+    private void prune(long now) {
+        while (!removals.isEmpty() && now - removals.peekFirst().removedAt() > retentionNanos) {
+            Removal removal = removals.pollFirst();
+            versions.remove(removal.id(), removal.version());
+        }
+    }
+}
@@ -0,0 +1,557 @@
+package com.taskmanager.task_manager.service.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.taskmanager.task_manager.controller.dto.IngestTicket;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.exception.IngestTicketNotFoundException;
+import com.taskmanager.task_manager.exception.TaskIngestionUnavailableException;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.impl.TaskServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind creation of tasks for bursts of writes.
+ * <p>
+ * {@link #accept(String, TaskRequest)} appends the task to a local journal and queues it, without touching
+ * the database, and answers with a ticket. A single writer thread takes the queued tasks in batches
+ * and stores each batch in one transaction: a batch is flushed as soon as it holds the configured
+ * flush size, or when its oldest task has waited the configured flush latency.
+ * <p>
+ * The outcome of every ticket is written to {@code ingest_tickets} in the same transaction as its
+ * task. After a crash, the journal is replayed at startup and the tickets already stored are skipped,
+ * so no accepted task is lost or created twice. When the database rejects a batch, its tasks are
+ * retried one transaction at a time and the offending ones are recorded as failed; when the database
+ * cannot be reached, the writer retries the batch after a pause and the queue fills up until new tasks
+ * are refused. A batch whose outcome cannot be recorded at all is never released from the journal:
+ * the writer stops, new tasks are refused, and the batch is stored again at the next start.
+ * <p>
+ * Journaled tasks carry their owner, and the outcome of a ticket is only reported to the owner that
+ * was issued it.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "task-manager.ingest.enabled", havingValue = "true")
+public class TaskIngestion implements SmartLifecycle {
+
+    /**
+     * Stops after the web server stopped taking requests, and before the database is closed.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String INSERT_TICKET =
+            "INSERT INTO ingest_tickets (ticket, owner, task_id, error, processed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_TICKET = "SELECT ticket, task_id, error FROM ingest_tickets"
+            + " WHERE ticket = ? AND owner = ?";
+
+    /**
+     * Field of the journaled task JSON holding its owner; absent from tasks journaled before tasks had
+     * owners, which belong to the default owner.
+     */
+    private static final String OWNER_FIELD = "owner";
+
+    private static final String TICKET_NOT_FOUND_MESSAGE = "Ingestion ticket not found: ";
+
+    /**
+     * Length of the error column of ingest_tickets.
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TaskRepository taskRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transaction;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path journalDirectory;
+
+    private final long segmentSize;
+
+    private final int queueCapacity;
+
+    private final int flushSize;
+
+    private final long flushLatencyNanos;
+
+    private final boolean fsync;
+
+    private final long journalRetentionNanos;
+
+    private final Duration ticketRetention;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    private final ReentrantLock acceptLock = new ReentrantLock();
+
+    /**
+     * Batches stored but still kept in the journal, oldest first; only touched by the writer.
+     */
+    private final Deque<Applied> retained = new ArrayDeque<>();
+
+    private final DistributionSummary batchSizes;
+
+    private final Timer delays;
+
+    private final Counter rejections;
+
+    private TaskJournal journal;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    /**
+     * Last ticket issued, only changed under the accept lock.
+     */
+    private volatile long lastTicket;
+
+    /**
+     * Every ticket up to this one has its outcome stored.
+     */
+    private volatile long appliedTicket;
+
+    /**
+     * Set by the writer when it stopped on a batch it could not record; only changed under the accept lock.
+     */
+    private volatile boolean parked;
+
+    /**
+     * One accepted task waiting for the writer.
+     */
+    private record Pending(long ticket, String owner, TaskRequest request, long acceptedAt) {
+    }
+
+    /**
+     * Last ticket of a stored batch and the time it was committed.
+     */
+    private record Applied(long ticket, long committedAt) {
+    }
+
+    public TaskIngestion(TaskRepository taskRepository,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${task-manager.ingest.journal-dir:./data/ingest}") Path journalDirectory,
+                         @Value("${task-manager.ingest.segment-size:16MB}") DataSize segmentSize,
+                         @Value("${task-manager.ingest.queue-capacity:10000}") int queueCapacity,
+                         @Value("${task-manager.ingest.flush-size:500}") int flushSize,
+                         @Value("${task-manager.ingest.flush-latency:PT0.02S}") Duration flushLatency,
+                         @Value("${task-manager.ingest.fsync:true}") boolean fsync,
+                         @Value("${task-manager.ingest.journal-retention:PT1S}") Duration journalRetention,
+                         @Value("${task-manager.ingest.ticket-retention:P1D}") Duration ticketRetention) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.journalDirectory = journalDirectory;
+        this.segmentSize = segmentSize.toBytes();
+        this.queueCapacity = queueCapacity;
+        this.flushSize = flushSize;
+        this.flushLatencyNanos = flushLatency.toNanos();
+        this.fsync = fsync;
+        this.journalRetentionNanos = journalRetention.toNanos();
+        this.ticketRetention = ticketRetention;
+        this.batchSizes = DistributionSummary.builder("task.ingest.batch.size")
+                .description("Tasks stored per ingestion transaction")
+                .register(meterRegistry);
+        this.delays = Timer.builder("task.ingest.delay")
+                .description("Time from the acceptance of a task to the commit that stores it")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("task.ingest.rejections")
+                .description("Tasks refused because the ingestion queue was full")
+                .register(meterRegistry);
+        Gauge.builder("task.ingest.queue", queue, BlockingQueue::size)
+                .description("Accepted tasks waiting to be stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts a task for asynchronous creation.
+     * Returns once the task is in the journal, forced to disk unless fsync is disabled.
+     *
+     * @param owner the owner of the new task
+     * @param taskRequest the validated task data
+     * @return the ticket identifying the task
+     * @throws TaskIngestionUnavailableException if the ingestion is stopped or its queue is full
+     */
+    public long accept(String owner, TaskRequest taskRequest) {
+        byte[] payload;
+        try {
+            ObjectNode journaled = objectMapper.valueToTree(taskRequest);
+            journaled.put(OWNER_FIELD, owner);
+            payload = objectMapper.writeValueAsBytes(journaled);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long ticket;
+        acceptLock.lock();
+        try {
+            if (!running || parked) {
+                throw new TaskIngestionUnavailableException("Task ingestion is stopped");
+            }
+            if (queue.size() >= queueCapacity) {
+                rejections.increment();
+                throw new TaskIngestionUnavailableException("Task ingestion queue is full, retry later");
+            }
+            ticket = lastTicket + 1;
+            // Issued even if the append fails: the journal never reuses a ticket it may have written
+            lastTicket = ticket;
+            try {
+                journal.append(ticket, payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to the task ingestion journal", e);
+            }
+            queue.add(new Pending(ticket, owner, taskRequest, System.nanoTime()));
+        } finally {
+            acceptLock.unlock();
+        }
+        if (fsync) {
+            try {
+                journal.sync(ticket);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot force the task ingestion journal to disk", e);
+            }
+        }
+        return ticket;
+    }
+
+    /**
+     * Returns the processing state of an accepted task.
+     * A queued ticket is reported as such to any owner, since its owner is only stored with its outcome.
+     *
+     * @param owner the owner the ticket was issued to
+     * @param ticket the ticket returned by {@link #accept(String, TaskRequest)}
+     * @return the ticket state, with the task id once created or the error once failed
+     * @throws IngestTicketNotFoundException if the ticket was never issued to this owner or is no longer retained
+     */
+    public IngestTicket getTicket(String owner, long ticket) {
+        // Read before the outcome: a ticket applied after this read is still reported as queued
+        long applied = appliedTicket;
+        List<IngestTicket> outcomes = jdbcTemplate.query(SELECT_TICKET, (resultSet, row) -> {
+            long taskId = resultSet.getLong("task_id");
+            return resultSet.wasNull()
+                    ? new IngestTicket(ticket, IngestTicket.Status.FAILED, null, resultSet.getString("error"))
+                    : new IngestTicket(ticket, IngestTicket.Status.CREATED, taskId, null);
+        }, ticket, owner);
+        if (!outcomes.isEmpty()) {
+            return outcomes.get(0);
+        }
+        if (ticket > applied && ticket <= lastTicket) {
+            return new IngestTicket(ticket, IngestTicket.Status.QUEUED, null, null);
+        }
+        throw new IngestTicketNotFoundException(TICKET_NOT_FOUND_MESSAGE + ticket);
+    }
+
+    /**
+     * Deletes the outcomes older than the ticket retention, except those of tickets the journal still
+     * holds and the last applied one, which keeps ticket numbers increasing across restarts.
+     */
+    @Scheduled(fixedDelayString = "${task-manager.ingest.prune-interval:PT1H}",
+            initialDelayString = "${task-manager.ingest.prune-interval:PT1H}")
+    public void pruneTickets() {
+        long retainedFrom = Math.min(journal.firstRetainedTicket(), appliedTicket);
+        int pruned = jdbcTemplate.update("DELETE FROM ingest_tickets WHERE processed_at < ? AND ticket < ?",
+                LocalDateTime.now().minus(ticketRetention), retainedFrom);
+        log.debug("Pruned {} ingestion tickets", pruned);
+    }
+
+    /**
+     * Opens the journal, queues the journaled tasks that were not stored before the last shutdown
+     * or crash, and starts the writer.
+     */
+    @Override
+    public void start() {
+        List<TaskJournal.Entry> entries = new ArrayList<>();
+        try {
+            journal = new TaskJournal(journalDirectory, segmentSize);
+            journal.replay(entries::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the task ingestion journal in " + journalDirectory, e);
+        }
+        Long stored = jdbcTemplate.queryForObject("SELECT MAX(ticket) FROM ingest_tickets", Long.class);
+        long last = stored != null ? stored : 0;
+        Set<Long> applied = entries.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT ticket FROM ingest_tickets WHERE ticket >= ?", Long.class, entries.get(0).ticket()));
+        long now = System.nanoTime();
+        for (TaskJournal.Entry entry : entries) {
+            last = Math.max(last, entry.ticket());
+            if (!applied.contains(entry.ticket())) {
+                try {
+                    queue.add(replayed(entry, now));
+                } catch (IOException e) {
+                    log.error("Skipping unreadable journaled task with ticket {}", entry.ticket(), e);
+                }
+            }
+        }
+        Pending first = queue.peek();
+        lastTicket = last;
+        appliedTicket = first != null ? first.ticket() - 1 : last;
+        running = true;
+        writer = Thread.ofPlatform().name("task-ingest-writer").start(this::drain);
+        log.info("Task ingestion started with {} journaled tasks to store", queue.size());
+    }
+
+    /**
+     * Refuses new tasks, waits for the writer to store the queued ones and closes the journal.
+     * Tasks that cannot be stored before the timeout stay in the journal for the next start.
+     */
+    @Override
+    public void stop() {
+        acceptLock.lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.unlock();
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT);
+            if (writer.isAlive()) {
+                log.warn("Task ingestion writer did not finish in {}, {} tasks stay in the journal",
+                        SHUTDOWN_TIMEOUT, queue.size());
+                writer.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Cannot close the task ingestion journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Writer loop: takes the queued tasks in batches until stopped and the queue is empty.
+     */
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    releaseJournal();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.acceptedAt() + flushLatencyNanos;
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (!write(batch)) {
+                    return;
+                }
+                applied(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Not even a failed outcome could be recorded: releasing the batch would lose its tasks
+                log.error("Cannot record ingested tasks {} to {}, stopping the task ingestion; "
+                        + "{} queued tasks stay in the journal until the next start",
+                        batch.get(0).ticket(), batch.get(batch.size() - 1).ticket(), batch.size() + queue.size(), e);
+                park();
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Refuses new tasks once the writer has stopped on a batch it could not record.
+     */
+    private void park() {
+        acceptLock.lock();
+        try {
+            parked = true;
+        } finally {
+            acceptLock.unlock();
+        }
+    }
+
+    /**
+     * Stores tasks in one transaction; when it fails for any other reason than an unreachable
+     * database, stores them one by one and records the rejected ones as failed.
+     *
+     * @return false if the database cannot be reached and the ingestion is stopping
+     * @throws RuntimeException if the failed outcome of a rejected task cannot be recorded either
+     */
+    private boolean write(List<Pending> items) throws InterruptedException {
+        try {
+            return retrying(() -> insertTasks(items));
+        } catch (RuntimeException e) {
+            // Unreachable databases are retried by retrying(): anything else is a rejection
+            if (items.size() > 1) {
+                log.debug("Ingestion batch starting at ticket {} failed, retrying tasks one by one",
+                        items.get(0).ticket(), e);
+                for (Pending item : items) {
+                    if (!write(List.of(item))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            long ticket = items.get(0).ticket();
+            String error = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            log.warn("Ingested task with ticket {} was rejected: {}", ticket, error);
+            String owner = items.get(0).owner();
+            return retrying(() -> jdbcTemplate.update(INSERT_TICKET, ticket, owner, null,
+                    error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Runs work in a transaction, retrying after a pause while the database cannot be reached.
+     *
+     * @return false if the database cannot be reached and the ingestion is stopping
+     */
+    private boolean retrying(Runnable work) throws InterruptedException {
+        while (true) {
+            try {
+                transaction.executeWithoutResult(status -> work.run());
+                return true;
+            } catch (TransientDataAccessException | RecoverableDataAccessException
+                     | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                if (!running) {
+                    log.warn("Database unavailable while stopping, ingested tasks stay in the journal", e);
+                    return false;
+                }
+                log.warn("Database unavailable, retrying ingested tasks in {}", RETRY_DELAY, e);
+                Thread.sleep(RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    private void insertTasks(List<Pending> items) {
+        List<Task> tasks = new ArrayList<>(items.size());
+        for (Pending item : items) {
+            tasks.add(TaskServiceImpl.newTask(item.owner(), item.request()));
+        }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        LocalDateTime processedAt = LocalDateTime.now();
+        List<Object[]> outcomes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            outcomes.add(new Object[] {items.get(i).ticket(), items.get(i).owner(), tasks.get(i).getId(), null, processedAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TICKET, outcomes);
+        for (Task task : tasks) {
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskServiceImpl.convertToResponse(task)));
+        }
+    }
+
+    /**
+     * Decodes a journaled task.
+     */
+    private Pending replayed(TaskJournal.Entry entry, long acceptedAt) throws IOException {
+        ObjectNode journaled = (ObjectNode) objectMapper.readTree(entry.payload());
+        JsonNode owner = journaled.remove(OWNER_FIELD);
+        TaskRequest request = objectMapper.treeToValue(journaled, TaskRequest.class);
+        return new Pending(entry.ticket(), owner != null ? owner.asText() : Task.DEFAULT_OWNER, request, acceptedAt);
+    }
+
+    /**
+     * Moves the applied watermark past a stored batch and releases the journal segments it allows.
+     */
+    private void applied(List<Pending> batch) {
+        long now = System.nanoTime();
+        batchSizes.record(batch.size());
+        for (Pending item : batch) {
+            delays.record(now - item.acceptedAt(), TimeUnit.NANOSECONDS);
+        }
+        long ticket = batch.get(batch.size() - 1).ticket();
+        appliedTicket = ticket;
+        retained.addLast(new Applied(ticket, now));
+        releaseJournal();
+    }
+
+    /**
+     * Deletes the journal segments holding only tasks committed longer than the journal retention
+     * ago. The retention covers databases that acknowledge commits before writing them to disk.
+     */
+    private void releaseJournal() {
+        long horizon = System.nanoTime() - journalRetentionNanos;
+        long releasable = -1;
+        while (!retained.isEmpty() && retained.peekFirst().committedAt() - horizon <= 0) {
+            releasable = retained.pollFirst().ticket();
+        }
+        if (releasable >= 0) {
+            try {
+                journal.release(releasable);
+            } catch (IOException e) {
+                log.warn("Cannot release task ingestion journal segments", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.taskmanager.task_manager.service.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the tasks accepted for asynchronous creation, so they survive a crash
+ * between the moment they are acknowledged and the commit that stores them.
+ * <p>
+ * Records go to segment files named after the first ticket they hold. Each record is framed by its
+ * length and a CRC32, so a record torn by a crash is detected on replay and the rest of its segment
+ * ignored; appends after a restart or a write error always start a new segment. {@link #sync(long)}
+ * forces the journal to disk up to a ticket, and concurrent callers share a single force (group
+ * commit). A segment is deleted once every ticket it holds has been applied.
+ */
+@Slf4j
+class TaskJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /**
+     * Record header: payload length, CRC32 of ticket and payload, ticket.
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+
+    private final long segmentSize;
+
+    /**
+     * Segment files by first ticket, the last one being the current segment while it is open.
+     */
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * Guards the current segment. This lock and the sync lock are held across file writes and forces,
+     * which would pin the carrier of a virtual thread blocked on a monitor.
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private FileChannel current;
+
+    /**
+     * Last ticket appended, guarded by the append lock.
+     */
+    private long written;
+
+    /**
+     * Last ticket known to be on disk.
+     */
+    private final AtomicLong synced = new AtomicLong();
+
+    /**
+     * One intact record read back from the journal.
+     */
+    record Entry(long ticket, byte[] payload) {
+    }
+
+    /**
+     * Opens the journal stored in the given directory, creating the directory if needed.
+     *
+     * @param directory the directory holding the segment files
+     * @param segmentSize size in bytes after which appends move to a new segment
+     * @throws IOException if the directory cannot be created or listed
+     */
+    TaskJournal(Path directory, long segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(file -> segments.put(firstTicketOf(file), file));
+        }
+    }
+
+    /**
+     * Hands every intact record of the segments found when the journal was opened to the consumer,
+     * in ticket order. Must be called once, before the first append.
+     *
+     * @param consumer the callback receiving each record
+     * @throws IOException if a segment cannot be read
+     */
+    void replay(Consumer<Entry> consumer) throws IOException {
+        for (Path segment : segments.values()) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+            while (content.remaining() >= HEADER_SIZE) {
+                int start = content.position();
+                int length = content.getInt();
+                int checksum = content.getInt();
+                long ticket = content.getLong();
+                if (length < 0 || length > content.remaining()) {
+                    content.position(start);
+                    break;
+                }
+                byte[] payload = new byte[length];
+                content.get(payload);
+                if (checksum(ticket, payload) != checksum) {
+                    content.position(start);
+                    break;
+                }
+                consumer.accept(new Entry(ticket, payload));
+                appendLock.lock();
+                try {
+                    written = Math.max(written, ticket);
+                } finally {
+                    appendLock.unlock();
+                }
+            }
+            if (content.hasRemaining()) {
+                log.warn("Ignoring {} bytes of torn records at offset {} of journal segment {}",
+                        content.remaining(), content.position(), segment.getFileName());
+            }
+        }
+    }
+
+    /**
+     * Appends a record. Tickets must be appended in increasing order.
+     * The record is not necessarily on disk until {@link #sync(long)} returns for its ticket.
+     *
+     * @param ticket the ticket of the accepted task
+     * @param payload the serialized task
+     * @throws IOException if the record cannot be written; later appends go to a new segment
+     */
+    void append(long ticket, byte[] payload) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(payload.length).putInt(checksum(ticket, payload)).putLong(ticket).put(payload).flip();
+        appendLock.lock();
+        try {
+            if (current == null || current.position() >= segmentSize) {
+                roll(ticket);
+            }
+            try {
+                while (record.hasRemaining()) {
+                    current.write(record);
+                }
+            } catch (IOException e) {
+                // The segment may end with a torn record now: never append after it
+                forceQuietly();
+                closeCurrent();
+                throw e;
+            }
+            written = ticket;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns once every record up to the given ticket is on disk.
+     * Callers arriving while a force is running wait for it and are usually covered by the next one.
+     *
+     * @param ticket the ticket that must be durable
+     * @throws IOException if the journal cannot be forced to disk
+     */
+    void sync(long ticket) throws IOException {
+        if (synced.get() >= ticket) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced.get() >= ticket) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            appendLock.lock();
+            try {
+                channel = current;
+                target = written;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                if (channel == null) {
+                    throw new ClosedChannelException();
+                }
+                channel.force(false);
+                synced.accumulateAndGet(target, Math::max);
+            } catch (ClosedChannelException e) {
+                // Rolled or released meanwhile, which forced or applied everything written to it,
+                // unless it was closed after a failed append whose records could not be forced
+                if (synced.get() < ticket) {
+                    throw e;
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments whose tickets have all been applied.
+     * The current segment is closed and deleted too when it is fully applied, so an idle journal is empty.
+     *
+     * @param ticket the last ticket applied; every earlier ticket is applied too
+     * @throws IOException if a segment cannot be deleted
+     */
+    void release(long ticket) throws IOException {
+        appendLock.lock();
+        try {
+            if (current != null && written <= ticket) {
+                closeCurrent();
+                synced.accumulateAndGet(written, Math::max);
+            }
+            for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+                Long next = segments.higherKey(segment.getKey());
+                boolean applied = next != null ? next - 1 <= ticket : current == null && written <= ticket;
+                if (!applied) {
+                    break;
+                }
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the first ticket still held by the journal.
+     *
+     * @return the first retained ticket, or {@link Long#MAX_VALUE} when the journal is empty
+     */
+    long firstRetainedTicket() {
+        Map.Entry<Long, Path> first = segments.firstEntry();
+        return first != null ? first.getKey() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Forces and closes the current segment.
+     *
+     * @throws IOException if the segment cannot be forced to disk
+     */
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (current != null) {
+                current.force(false);
+                closeCurrent();
+                synced.accumulateAndGet(written, Math::max);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Forces and closes the current segment, then opens a new one starting at the given ticket.
+     */
+    private void roll(long ticket) throws IOException {
+        if (current != null) {
+            current.force(false);
+            synced.accumulateAndGet(written, Math::max);
+            closeCurrent();
+        }
+        Path segment = directory.resolve(String.format("%020d%s", ticket, SEGMENT_SUFFIX));
+        current = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.put(ticket, segment);
+        forceDirectory();
+    }
+
+    /**
+     * Closes the current segment without forcing it; records written to it are still readable on replay.
+     */
+    private void closeCurrent() {
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("Cannot close journal segment", e);
+        }
+        current = null;
+    }
+
+    /**
+     * Forces the records written so far after a failed append; when this fails too, callers waiting
+     * for them get an error from {@link #sync(long)}.
+     */
+    private void forceQuietly() {
+        try {
+            current.force(false);
+            synced.accumulateAndGet(written, Math::max);
+        } catch (IOException e) {
+            log.warn("Cannot force journal segment after a failed append", e);
+        }
+    }
+
+    /**
+     * Makes the creation of a segment file durable; not supported on every platform.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Cannot force journal directory {}", directory, e);
+        }
+    }
+
+    private static long firstTicketOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(long ticket, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, ticket));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
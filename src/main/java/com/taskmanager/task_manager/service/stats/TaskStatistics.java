@@ -0,0 +1,322 @@
+package com.taskmanager.task_manager.service.stats;
+
+import com.taskmanager.task_manager.controller.dto.TaskCount;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.controller.dto.TaskStats;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import com.taskmanager.task_manager.service.index.DeadlineIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts per owner, status and priority, kept in memory so dashboards can poll them without a query.
+ * <p>
+ * The counts are partitioned by owner, each owner having its own cells and snapshot. Each (status, priority) cell is a {@link LongAdder} moved by every committed task change, so
+ * concurrent writers do not contend on a shared counter. Reads are served from a snapshot that is
+ * rebuilt only when a task of the owner changed or when it is older than the configured maximum age, which bounds
+ * how stale the time-dependent overdue count can get. That count is the running count the
+ * {@link DeadlineIndex} keeps as deadlines pass, so rebuilding a snapshot does not walk the overdue tasks.
+ * <p>
+ * The cells of every owner are loaded with a single {@code GROUP BY} query at startup and reconciled
+ * with it periodically.
+ * A reconciliation only applies when no transaction committed a task change while the query ran;
+ * otherwise the query may have counted a change that the cells have not seen yet, and the round is
+ * skipped until the next period.
+ */
+@Slf4j
+@Component
+public class TaskStatistics implements SmartInitializingSingleton {
+
+    /**
+     * Key of the cells counting the tasks without priority.
+     */
+    private static final int NO_PRIORITY = 0;
+
+    private final TaskRepository taskRepository;
+
+    private final DeadlineIndex deadlineIndex;
+
+    private final long maxAgeNanos;
+
+    private final long reconcileIntervalNanos;
+
+    private final Counter corrections;
+
+    /**
+     * Partitions of the counts, one per owner with tasks.
+     */
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Changes whose transaction is committing, with the time the commit started; they may already be
+     * visible to the reconciliation query while their cells have not moved yet.
+     */
+    private final Map<TaskChangedEvent, Long> committing = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped whenever a change starts committing or moves the cells of any owner, and by corrections.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Shared by the changes moving the cells, exclusive for a reconciliation correcting them.
+     */
+    private final ReentrantReadWriteLock correctionLock = new ReentrantReadWriteLock();
+
+    /**
+     * Statistics computed at a given generation and time.
+     */
+    private record Snapshot(long generation, long takenAt, TaskStats stats) {
+    }
+
+    /**
+     * The counts of the tasks of one owner.
+     */
+    private static final class Partition {
+
+        private final Map<TaskStatus, Map<Integer, LongAdder>> cells;
+
+        /**
+         * Bumped whenever the cells of this owner move.
+         */
+        private final AtomicLong generation = new AtomicLong();
+
+        private volatile Snapshot snapshot;
+
+        private Partition() {
+            Map<TaskStatus, Map<Integer, LongAdder>> byStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                byStatus.put(status, new ConcurrentHashMap<>());
+            }
+            this.cells = Collections.unmodifiableMap(byStatus);
+        }
+
+        private LongAdder cell(TaskStatus status, Integer priority) {
+            return cells.get(status).computeIfAbsent(priorityKey(priority), key -> new LongAdder());
+        }
+    }
+
+    public TaskStatistics(TaskRepository taskRepository,
+                          DeadlineIndex deadlineIndex,
+                          MeterRegistry meterRegistry,
+                          @Value("${task-manager.stats.max-age:PT1S}") Duration maxAge,
+                          @Value("${task-manager.stats.reconcile-interval:PT5M}") Duration reconcileInterval) {
+        this.taskRepository = taskRepository;
+        this.deadlineIndex = deadlineIndex;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.reconcileIntervalNanos = reconcileInterval.toNanos();
+        this.corrections = Counter.builder("task.stats.corrections")
+                .description("Task counts corrected by the periodic reconciliation with the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the counts from the database once all beans are ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile(true);
+    }
+
+    /**
+     * Returns the current task counts of an owner.
+     * Answered from the last snapshot of the owner while none of its tasks changed and it is recent
+     * enough, so polling costs a few field reads.
+     *
+     * @param owner the owner of the tasks
+     * @return the task statistics
+     */
+    public TaskStats stats(String owner) {
+        Partition partition = partitions.get(owner);
+        if (partition == null) {
+            // Not created on reads, so asking for unknown owners does not grow the partitions
+            return compute(owner, new Partition());
+        }
+        Snapshot current = partition.snapshot;
+        long currentGeneration = partition.generation.get();
+        long now = System.nanoTime();
+        if (current != null && current.generation() == currentGeneration && now - current.takenAt() < maxAgeNanos) {
+            return current.stats();
+        }
+        TaskStats stats = compute(owner, partition);
+        partition.snapshot = new Snapshot(currentGeneration, now, stats);
+        return stats;
+    }
+
+    /**
+     * Records that a change is about to become visible to other transactions.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeTaskChangeCommitted(TaskChangedEvent event) {
+        committing.put(event, System.nanoTime());
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Moves the cells the task left and entered.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        correctionLock.readLock().lock();
+        try {
+            if (event.getBefore() != null) {
+                move(event.getBefore(), -1);
+            }
+            if (event.getAfter() != null) {
+                move(event.getAfter(), 1);
+            }
+            generation.incrementAndGet();
+            committing.remove(event);
+        } finally {
+            correctionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets a change whose transaction failed to commit.
+     *
+     * @param event the task change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onTaskChangeRolledBack(TaskChangedEvent event) {
+        committing.remove(event);
+    }
+
+    /**
+     * Compares the cells with a {@code GROUP BY} count of the stored tasks and corrects any drift.
+     */
+    @Scheduled(fixedDelayString = "${task-manager.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${task-manager.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcile(false);
+    }
+
+    private void reconcile(boolean initial) {
+        // A commit that neither completed nor rolled back within a whole period is not coming back
+        long expired = System.nanoTime() - reconcileIntervalNanos;
+        committing.values().removeIf(startedAt -> startedAt - expired < 0);
+        long startGeneration = generation.get();
+        if (!committing.isEmpty()) {
+            log.debug("Task statistics reconciliation skipped: task changes are committing");
+            return;
+        }
+        Map<String, Map<TaskStatus, Map<Integer, Long>>> stored = new HashMap<>();
+        for (TaskCount count : taskRepository.countByOwnerStatusAndPriority()) {
+            stored.computeIfAbsent(count.getOwner(), owner -> new EnumMap<>(TaskStatus.class))
+                    .computeIfAbsent(count.getStatus(), status -> new HashMap<>())
+                    .put(priorityKey(count.getPriority()), count.getCount());
+        }
+        correctionLock.writeLock().lock();
+        try {
+            if (generation.get() != startGeneration || !committing.isEmpty()) {
+                log.debug("Task statistics reconciliation skipped: tasks changed while counting");
+                return;
+            }
+            long drift = 0;
+            Set<String> owners = new HashSet<>(partitions.keySet());
+            owners.addAll(stored.keySet());
+            for (String owner : owners) {
+                drift += correct(partitions.computeIfAbsent(owner, key -> new Partition()),
+                        stored.getOrDefault(owner, Map.of()));
+            }
+            generation.incrementAndGet();
+            if (initial) {
+                log.info("Loaded task statistics for {} tasks", drift);
+            } else if (drift > 0) {
+                corrections.increment(drift);
+                log.warn("Task statistics drifted from the database by {} tasks, corrected", drift);
+            }
+        } finally {
+            correctionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the cells of a partition to the stored counts of its owner.
+     *
+     * @return the total difference between the cells and the stored counts
+     */
+    private static long correct(Partition partition, Map<TaskStatus, Map<Integer, Long>> stored) {
+        long drift = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            Map<Integer, LongAdder> statusCells = partition.cells.get(status);
+            Map<Integer, Long> storedCounts = stored.getOrDefault(status, Map.of());
+            Set<Integer> priorities = new HashSet<>(statusCells.keySet());
+            priorities.addAll(storedCounts.keySet());
+            for (Integer priority : priorities) {
+                LongAdder cell = statusCells.computeIfAbsent(priority, key -> new LongAdder());
+                long difference = storedCounts.getOrDefault(priority, 0L) - cell.sum();
+                if (difference != 0) {
+                    cell.add(difference);
+                    drift += Math.abs(difference);
+                }
+            }
+        }
+        if (drift != 0) {
+            partition.generation.incrementAndGet();
+        }
+        return drift;
+    }
+
+    private TaskStats compute(String owner, Partition partition) {
+        long total = 0;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Integer, Long> byPriority = new TreeMap<>();
+        Map<TaskStatus, Map<Integer, Long>> byStatusAndPriority = new EnumMap<>(TaskStatus.class);
+        for (Map.Entry<TaskStatus, Map<Integer, LongAdder>> statusCells : partition.cells.entrySet()) {
+            long statusTotal = 0;
+            Map<Integer, Long> perPriority = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> cell : statusCells.getValue().entrySet()) {
+                long count = cell.getValue().sum();
+                if (count != 0) {
+                    perPriority.put(cell.getKey(), count);
+                    byPriority.merge(cell.getKey(), count, Long::sum);
+                    statusTotal += count;
+                }
+            }
+            byStatus.put(statusCells.getKey(), statusTotal);
+            if (!perPriority.isEmpty()) {
+                byStatusAndPriority.put(statusCells.getKey(), perPriority);
+            }
+            total += statusTotal;
+        }
+        long overdue = deadlineIndex.countOverdue(owner);
+        return new TaskStats(total, overdue, byStatus, byPriority, byStatusAndPriority);
+    }
+
+    private void move(TaskResponse task, int delta) {
+        Partition partition = partitions.computeIfAbsent(task.getOwner(), owner -> new Partition());
+        partition.cell(task.getStatus(), task.getPriority()).add(delta);
+        partition.generation.incrementAndGet();
+    }
+
+    private static int priorityKey(Integer priority) {
+        return priority != null ? priority : NO_PRIORITY;
+    }
+}
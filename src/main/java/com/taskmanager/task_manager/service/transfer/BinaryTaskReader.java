@@ -0,0 +1,200 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.exception.InvalidTaskImportException;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads tasks in the binary format written by {@link BinaryTaskWriter}, one block at a time.
+ * Statuses are resolved through the dictionary of the stream, by name, so streams stay readable
+ * when statuses are added.
+ */
+class BinaryTaskReader implements TaskRecordReader {
+
+    /**
+     * Longest string accepted, so a corrupt length cannot exhaust the memory.
+     */
+    private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+    private final DataInputStream input;
+
+    private TaskStatus[] statuses;
+
+    private Task[] block = new Task[0];
+
+    private int next;
+
+    private long blocks;
+
+    private boolean ended;
+
+    BinaryTaskReader(InputStream input) {
+        this.input = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task read() throws IOException {
+        try {
+            if (statuses == null) {
+                readHeader();
+            }
+            while (next == block.length) {
+                if (ended || !readBlock()) {
+                    return null;
+                }
+            }
+        } catch (EOFException e) {
+            throw invalid("the stream is truncated");
+        }
+        Task task = block[next];
+        block[next++] = null;
+        return task;
+    }
+
+    private void readHeader() throws IOException {
+        byte[] magic = new byte[BinaryTaskWriter.MAGIC.length];
+        input.readFully(magic);
+        if (!Arrays.equals(magic, BinaryTaskWriter.MAGIC)) {
+            throw invalid("not a task stream");
+        }
+        int version = input.readUnsignedByte();
+        if (version != BinaryTaskWriter.VERSION) {
+            throw invalid("unsupported version " + version);
+        }
+        int count = readLength(256);
+        statuses = new TaskStatus[count];
+        for (int i = 0; i < count; i++) {
+            String name = readString();
+            try {
+                statuses[i] = TaskStatus.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw invalid("unknown status " + name);
+            }
+        }
+    }
+
+    /**
+     * Decodes the next block.
+     *
+     * @return false at the end block
+     */
+    private boolean readBlock() throws IOException {
+        int rows = readLength(BinaryTaskWriter.MAX_BLOCK_ROWS);
+        if (rows == 0) {
+            ended = true;
+            return false;
+        }
+        blocks++;
+        block = new Task[rows];
+        for (int row = 0; row < rows; row++) {
+            block[row] = new Task();
+        }
+        next = 0;
+        readNumbers(Task::setId);
+        readStrings(Task::setTitle);
+        readStrings(Task::setDescription);
+        boolean[] present = readPresence();
+        for (int row = 0; row < rows; row++) {
+            if (present[row]) {
+                int index = input.readUnsignedByte();
+                if (index >= statuses.length) {
+                    throw invalid("status index out of range");
+                }
+                block[row].setStatus(statuses[index]);
+            }
+        }
+        readNumbers((task, micros) -> task.setDueDate(BinaryTaskWriter.fromMicros(micros)));
+        readNumbers((task, priority) -> task.setPriority(Math.toIntExact(priority)));
+        readNumbers((task, micros) -> task.setCreatedAt(BinaryTaskWriter.fromMicros(micros)));
+        readNumbers((task, micros) -> task.setUpdatedAt(BinaryTaskWriter.fromMicros(micros)));
+        readNumbers(Task::setVersion);
+        return true;
+    }
+
+    private boolean[] readPresence() throws IOException {
+        boolean[] present = new boolean[block.length];
+        int bits = 0;
+        for (int row = 0; row < block.length; row++) {
+            if ((row & 7) == 0) {
+                bits = input.readUnsignedByte();
+            }
+            present[row] = (bits & (1 << (row & 7))) != 0;
+        }
+        return present;
+    }
+
+    private void readNumbers(BiConsumer<Task, Long> setter) throws IOException {
+        boolean[] present = readPresence();
+        long previous = 0;
+        for (int row = 0; row < block.length; row++) {
+            if (present[row]) {
+                previous += BinaryTaskWriter.unzigzag(readVarLong());
+                try {
+                    setter.accept(block[row], previous);
+                } catch (ArithmeticException | DateTimeException e) {
+                    throw invalid("value out of range in block " + blocks);
+                }
+            }
+        }
+    }
+
+    private void readStrings(BiConsumer<Task, String> setter) throws IOException {
+        boolean[] present = readPresence();
+        int[] lengths = new int[block.length];
+        for (int row = 0; row < block.length; row++) {
+            if (present[row]) {
+                lengths[row] = readLength(MAX_STRING_BYTES);
+            }
+        }
+        for (int row = 0; row < block.length; row++) {
+            if (present[row]) {
+                byte[] bytes = new byte[lengths[row]];
+                input.readFully(bytes);
+                setter.accept(block[row], new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+        byte[] bytes = new byte[readLength(MAX_STRING_BYTES)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readLength(int max) throws IOException {
+        long length = readVarLong();
+        if (length < 0 || length > max) {
+            throw invalid("length " + length + " out of range in block " + blocks);
+        }
+        return (int) length;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw invalid("malformed varint in block " + blocks);
+    }
+
+    private InvalidTaskImportException invalid(String reason) {
+        return new InvalidTaskImportException("Invalid binary task stream: " + reason);
+    }
+}
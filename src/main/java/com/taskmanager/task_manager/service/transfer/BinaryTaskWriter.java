@@ -0,0 +1,193 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes tasks in a compact columnar binary format, several times smaller and faster to decode than CSV.
+ * <pre>
+ * stream  = magic "TMTK", version byte, status dictionary, block*, end block
+ * status dictionary = varint count, count * string   (status names, referenced by index)
+ * block   = varint row count (1..65536), then one column per field:
+ *           id, title, description, status, dueDate, priority, createdAt, updatedAt, version
+ * end block = varint 0
+ * </pre>
+ * Each column starts with a presence bitmap of {@code ceil(rows / 8)} bytes, the bit of a row being
+ * set when its value is not null; only present values follow. Numbers, including the dates stored as
+ * microseconds since the epoch, are written as zigzag varints of the difference with the previous
+ * present value of the block, so the ids of a dump in id order take a byte each. Strings are written
+ * as all the varint UTF-8 lengths of the block, then all the bytes; statuses as one dictionary index byte.
+ * <p>
+ * Rows are buffered until a block of {@link #BLOCK_ROWS} is complete, which bounds the memory used
+ * whatever the number of tasks.
+ */
+class BinaryTaskWriter implements TaskRecordWriter {
+
+    static final byte[] MAGIC = {'T', 'M', 'T', 'K'};
+
+    static final int VERSION = 1;
+
+    /**
+     * Number of rows per block written.
+     */
+    static final int BLOCK_ROWS = 1024;
+
+    /**
+     * Largest block accepted by the reader.
+     */
+    static final int MAX_BLOCK_ROWS = 65536;
+
+    private final DataOutputStream output;
+
+    private final List<Task> block = new ArrayList<>(BLOCK_ROWS);
+
+    private boolean headerWritten;
+
+    BinaryTaskWriter(OutputStream output) {
+        this.output = new DataOutputStream(new BufferedOutputStream(output, 64 * 1024));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(Task task) throws IOException {
+        block.add(task);
+        if (block.size() == BLOCK_ROWS) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void finish() throws IOException {
+        if (!block.isEmpty()) {
+            writeBlock();
+        }
+        writeHeader();
+        writeVarLong(output, 0);
+        output.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        output.write(MAGIC);
+        output.writeByte(VERSION);
+        TaskStatus[] statuses = TaskStatus.values();
+        writeVarLong(output, statuses.length);
+        for (TaskStatus status : statuses) {
+            writeString(status.name().getBytes(StandardCharsets.UTF_8));
+        }
+        headerWritten = true;
+    }
+
+    private void writeBlock() throws IOException {
+        writeHeader();
+        writeVarLong(output, block.size());
+        writeNumbers(Task::getId);
+        writeStrings(Task::getTitle);
+        writeStrings(Task::getDescription);
+        writePresence(Task::getStatus);
+        for (Task task : block) {
+            if (task.getStatus() != null) {
+                output.writeByte(task.getStatus().ordinal());
+            }
+        }
+        writeNumbers(task -> toMicros(task.getDueDate()));
+        writeNumbers(task -> task.getPriority() != null ? task.getPriority().longValue() : null);
+        writeNumbers(task -> toMicros(task.getCreatedAt()));
+        writeNumbers(task -> toMicros(task.getUpdatedAt()));
+        writeNumbers(Task::getVersion);
+        block.clear();
+    }
+
+    private void writePresence(Function<Task, ?> column) throws IOException {
+        int bits = 0;
+        for (int row = 0; row < block.size(); row++) {
+            if (column.apply(block.get(row)) != null) {
+                bits |= 1 << (row & 7);
+            }
+            if ((row & 7) == 7 || row == block.size() - 1) {
+                output.writeByte(bits);
+                bits = 0;
+            }
+        }
+    }
+
+    private void writeNumbers(Function<Task, Long> column) throws IOException {
+        writePresence(column);
+        long previous = 0;
+        for (Task task : block) {
+            Long value = column.apply(task);
+            if (value != null) {
+                writeVarLong(output, zigzag(value - previous));
+                previous = value;
+            }
+        }
+    }
+
+    private void writeStrings(Function<Task, String> column) throws IOException {
+        writePresence(column);
+        byte[][] values = new byte[block.size()][];
+        for (int row = 0; row < block.size(); row++) {
+            String value = column.apply(block.get(row));
+            if (value != null) {
+                values[row] = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(output, values[row].length);
+            }
+        }
+        for (byte[] value : values) {
+            if (value != null) {
+                output.write(value);
+            }
+        }
+    }
+
+    private void writeString(byte[] value) throws IOException {
+        writeVarLong(output, value.length);
+        output.write(value);
+    }
+
+    private static Long toMicros(LocalDateTime date) {
+        if (date == null) {
+            return null;
+        }
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + date.getNano() / 1000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+}
@@ -0,0 +1,210 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.exception.InvalidTaskImportException;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads tasks from RFC 4180 CSV in UTF-8, as written by {@link CsvTaskWriter}.
+ * <p>
+ * Columns are matched by the names of the header row, case-insensitively and in any order; unknown
+ * columns are ignored and only {@code title} and {@code dueDate} are required. An empty unquoted
+ * field is null, an empty quoted field an empty string. Records are parsed from a fixed-size buffer
+ * one at a time, so the input is never held in memory.
+ */
+class CsvTaskReader implements TaskRecordReader {
+
+    private static final int END = -1;
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[64 * 1024];
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * Index of each known column in the records, -1 when absent; null until the header is read.
+     */
+    private int[] columns;
+
+    /**
+     * Number of records read, header included.
+     */
+    private long record;
+
+    private final StringBuilder field = new StringBuilder();
+
+    CsvTaskReader(InputStream input) {
+        this.reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Task read() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> values = readRecord();
+        while (values != null && values.size() == 1 && values.get(0) == null) {
+            // Blank line, typically after the last record
+            values = readRecord();
+        }
+        if (values == null) {
+            return null;
+        }
+        try {
+            Task task = new Task();
+            task.setId(parseLong(value(values, 0)));
+            task.setTitle(value(values, 1));
+            task.setDescription(value(values, 2));
+            String status = value(values, 3);
+            task.setStatus(status != null ? TaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)) : null);
+            task.setDueDate(parseDate(value(values, 4)));
+            Long priority = parseLong(value(values, 5));
+            task.setPriority(priority != null ? Math.toIntExact(priority) : null);
+            task.setCreatedAt(parseDate(value(values, 6)));
+            task.setUpdatedAt(parseDate(value(values, 7)));
+            task.setVersion(parseLong(value(values, 8)));
+            return task;
+        } catch (IllegalArgumentException | ArithmeticException | DateTimeParseException e) {
+            throw invalid("invalid value, " + e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> names = readRecord();
+        if (names == null) {
+            throw invalid("the header row is missing");
+        }
+        if (names.get(0) != null && names.get(0).startsWith(BYTE_ORDER_MARK)) {
+            names.set(0, names.get(0).substring(1));
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i) != null) {
+                positions.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        columns = new int[CsvTaskWriter.COLUMNS.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = positions.getOrDefault(CsvTaskWriter.COLUMNS[i].toLowerCase(Locale.ROOT), -1);
+        }
+        if (columns[1] < 0 || columns[4] < 0) {
+            throw invalid("the header row must name the title and dueDate columns, found " + names);
+        }
+    }
+
+    private String value(List<String> values, int column) {
+        int index = columns[column];
+        return index >= 0 && index < values.size() ? values.get(index) : null;
+    }
+
+    /**
+     * Reads the fields of the next record.
+     *
+     * @return the fields, null for the empty unquoted ones, or null at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = next();
+        if (c == END) {
+            return null;
+        }
+        record++;
+        List<String> values = new ArrayList<>();
+        while (true) {
+            field.setLength(0);
+            boolean quoted = c == '"';
+            if (quoted) {
+                while (true) {
+                    c = next();
+                    if (c == END) {
+                        throw invalid("unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        c = next();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    field.append((char) c);
+                }
+            } else {
+                while (c != ',' && c != '\r' && c != '\n' && c != END) {
+                    if (c == '"') {
+                        throw invalid("quote inside an unquoted field");
+                    }
+                    field.append((char) c);
+                    c = next();
+                }
+            }
+            values.add(quoted || !field.isEmpty() ? field.toString() : null);
+            if (c == ',') {
+                c = next();
+                continue;
+            }
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    next();
+                }
+            } else if (c != '\n' && c != END) {
+                throw invalid("unexpected character after a quoted field");
+            }
+            return values;
+        }
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return END;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return END;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private InvalidTaskImportException invalid(String reason) {
+        return new InvalidTaskImportException("Invalid CSV record " + record + ": " + reason);
+    }
+
+    private static Long parseLong(String value) {
+        return value != null ? Long.valueOf(value.trim()) : null;
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        return value != null ? LocalDateTime.parse(value.trim()) : null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.model.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Writes tasks as RFC 4180 CSV in UTF-8: a header row naming the {@link #COLUMNS}, then one row per
+ * task, with CRLF line breaks. Dates use the ISO-8601 local date-time format. A null value is an empty
+ * field while an empty string is written as {@code ""}, so both survive an import.
+ */
+class CsvTaskWriter implements TaskRecordWriter {
+
+    /**
+     * Column names of the header row, in the order the fields are written.
+     */
+    static final String[] COLUMNS = {
+            "id", "title", "description", "status", "dueDate", "priority", "createdAt", "updatedAt", "version"
+    };
+
+    private static final String LINE_BREAK = "\r\n";
+
+    private final Writer writer;
+
+    private boolean headerWritten;
+
+    CsvTaskWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(Task task) throws IOException {
+        writeHeader();
+        writeValue(task.getId());
+        writer.write(',');
+        writeText(task.getTitle());
+        writer.write(',');
+        writeText(task.getDescription());
+        writer.write(',');
+        writeValue(task.getStatus());
+        writer.write(',');
+        writeDate(task.getDueDate());
+        writer.write(',');
+        writeValue(task.getPriority());
+        writer.write(',');
+        writeDate(task.getCreatedAt());
+        writer.write(',');
+        writeDate(task.getUpdatedAt());
+        writer.write(',');
+        writeValue(task.getVersion());
+        writer.write(LINE_BREAK);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void finish() throws IOException {
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write(LINE_BREAK);
+            headerWritten = true;
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    private void writeDate(LocalDateTime date) throws IOException {
+        if (date != null) {
+            writer.write(date.toString());
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        if (!needsQuotes(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
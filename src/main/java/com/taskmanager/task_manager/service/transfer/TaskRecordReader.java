@@ -0,0 +1,22 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.exception.InvalidTaskImportException;
+import com.taskmanager.task_manager.model.Task;
+
+import java.io.IOException;
+
+/**
+ * Reads tasks one by one from an import stream.
+ */
+public interface TaskRecordReader {
+
+    /**
+     * Reads the next task. The task is not validated: mandatory fields may be missing, and its id
+     * is null when the input does not provide one.
+     *
+     * @return the next task, or null at the end of the stream
+     * @throws IOException if the stream cannot be read
+     * @throws InvalidTaskImportException if the input cannot be decoded
+     */
+    Task read() throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.model.Task;
+
+import java.io.IOException;
+
+/**
+ * Writes tasks one by one to an export stream.
+ */
+public interface TaskRecordWriter {
+
+    /**
+     * Writes one task; it may stay buffered until the next write or {@link #finish()}.
+     *
+     * @param task the task
+     * @throws IOException if the stream cannot be written
+     */
+    void write(Task task) throws IOException;
+
+    /**
+     * Writes the buffered tasks and the end of the export, without closing the underlying stream.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,112 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats of the task export and import streams.
+ */
+public enum TaskTransferFormat {
+
+    /**
+     * RFC 4180 CSV with a header row, in UTF-8.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv") {
+        @Override
+        public TaskRecordWriter writer(OutputStream output) {
+            return new CsvTaskWriter(output);
+        }
+
+        @Override
+        public TaskRecordReader reader(InputStream input) {
+            return new CsvTaskReader(input);
+        }
+    },
+
+    /**
+     * Compact columnar binary format, see {@link BinaryTaskWriter}.
+     */
+    BINARY(MediaType.parseMediaType(TaskTransferFormat.BINARY_MEDIA_TYPE_VALUE), "tasks") {
+        @Override
+        public TaskRecordWriter writer(OutputStream output) {
+            return new BinaryTaskWriter(output);
+        }
+
+        @Override
+        public TaskRecordReader reader(InputStream input) {
+            return new BinaryTaskReader(input);
+        }
+    };
+
+    /**
+     * Media type of CSV streams.
+     */
+    public static final String CSV_MEDIA_TYPE_VALUE = "text/csv";
+
+    /**
+     * Media type of binary streams.
+     */
+    public static final String BINARY_MEDIA_TYPE_VALUE = "application/vnd.task-manager.tasks";
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    TaskTransferFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the media type of the streams in this format.
+     *
+     * @return the media type
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the file name extension of the streams in this format.
+     *
+     * @return the extension, without dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Creates a writer of tasks in this format.
+     *
+     * @param output the stream to write to, left open by the writer
+     * @return the writer
+     */
+    public abstract TaskRecordWriter writer(OutputStream output);
+
+    /**
+     * Creates a reader of tasks in this format.
+     *
+     * @param input the stream to read from
+     * @return the reader
+     */
+    public abstract TaskRecordReader reader(InputStream input);
+
+    /**
+     * Returns the format of the streams of the given media type.
+     *
+     * @param mediaType the media type, parameters such as the charset being ignored
+     * @return the format
+     * @throws IllegalArgumentException if no format has this media type
+     */
+    public static TaskTransferFormat of(MediaType mediaType) {
+        for (TaskTransferFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported task transfer media type: " + mediaType);
+    }
+}
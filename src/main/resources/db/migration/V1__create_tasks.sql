@@ -0,0 +1,20 @@
+-- Initial schema: the tasks table, its id sequence and the indexes used by the finders.
+
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    status      ENUM ('CANCELLED', 'COMPLETED', 'IN_PROGRESS', 'PENDING') NOT NULL,
+    due_date    TIMESTAMP(6) NOT NULL,
+    priority    INTEGER,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tasks_status ON tasks (status);
+CREATE INDEX idx_tasks_priority ON tasks (priority);
+CREATE INDEX idx_tasks_due_date ON tasks (due_date);
+CREATE INDEX idx_tasks_status_due_date ON tasks (status, due_date);
@@ -0,0 +1,3 @@
+-- Optimistic locking: every update of a task increments its version and checks the one it read.
+
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
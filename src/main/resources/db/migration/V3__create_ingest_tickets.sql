@@ -0,0 +1,12 @@
+-- Outcome of every task accepted by the asynchronous ingestion endpoint, written in the same
+-- transaction as the task, so a journal replay after a crash can skip the tickets already applied.
+
+CREATE TABLE ingest_tickets (
+    ticket       BIGINT        NOT NULL,
+    task_id      BIGINT,
+    error        VARCHAR(1000),
+    processed_at TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (ticket)
+);
+
+CREATE INDEX idx_ingest_tickets_processed_at ON ingest_tickets (processed_at);
@@ -0,0 +1,22 @@
+-- Task owners: every query is scoped by the owner, so the indexes lead with it and the tasks of one
+-- owner form a contiguous range of each of them. Rows stored before owners existed belong to the
+-- default owner; new rows must name theirs.
+
+ALTER TABLE tasks ADD COLUMN owner VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE tasks ALTER COLUMN owner DROP DEFAULT;
+
+DROP INDEX idx_tasks_status;
+DROP INDEX idx_tasks_priority;
+DROP INDEX idx_tasks_due_date;
+DROP INDEX idx_tasks_status_due_date;
+
+CREATE INDEX idx_tasks_owner_id ON tasks (owner, id);
+CREATE INDEX idx_tasks_owner_status ON tasks (owner, status, id);
+CREATE INDEX idx_tasks_owner_priority ON tasks (owner, priority, id);
+CREATE INDEX idx_tasks_owner_due_date ON tasks (owner, due_date);
+CREATE INDEX idx_tasks_owner_status_due_date ON tasks (owner, status, due_date);
+
+-- Ingestion outcomes are only reported to the owner of the task.
+
+ALTER TABLE ingest_tickets ADD COLUMN owner VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE ingest_tickets ALTER COLUMN owner DROP DEFAULT;
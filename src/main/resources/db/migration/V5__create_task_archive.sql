@@ -0,0 +1,20 @@
+-- Cold tier of the tasks: completed and cancelled tasks that have not changed for a while are moved out
+-- of the tasks table by the archiver. Each row is a segment holding the tasks of one owner archived
+-- together, in the binary transfer format, deflated. Segments are only ever inserted.
+
+CREATE TABLE task_archive (
+    id            BIGINT        GENERATED BY DEFAULT AS IDENTITY,
+    owner         VARCHAR(64)   NOT NULL,
+    first_task_id BIGINT        NOT NULL,
+    last_task_id  BIGINT        NOT NULL,
+    task_count    INT           NOT NULL,
+    archived_at   TIMESTAMP(6)  NOT NULL,
+    payload       VARBINARY     NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_task_archive_owner_first_task_id ON task_archive (owner, first_task_id);
+
+-- The archiver looks for terminal tasks across all owners, by status and age.
+
+CREATE INDEX idx_tasks_status_updated_at ON tasks (status, updated_at);
@@ -0,0 +1,13 @@
+-- Summaries of the tasks of each archive segment, so archive-inclusive reads only inflate the segments
+-- that can hold a matching task. Segments are now written per owner and status; the columns of the
+-- segments written before are left null, and those segments are read by every query.
+
+ALTER TABLE task_archive ADD COLUMN status VARCHAR(20);
+ALTER TABLE task_archive ADD COLUMN min_priority INT;
+ALTER TABLE task_archive ADD COLUMN max_priority INT;
+ALTER TABLE task_archive ADD COLUMN min_due_date TIMESTAMP(6);
+ALTER TABLE task_archive ADD COLUMN max_due_date TIMESTAMP(6);
+
+-- Distinct search words of the titles and descriptions of the segment, separated by spaces
+
+ALTER TABLE task_archive ADD COLUMN words CHARACTER LARGE OBJECT;
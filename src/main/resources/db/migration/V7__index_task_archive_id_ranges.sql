@@ -0,0 +1,4 @@
+-- Imports check whether the ids they restore belong to archived tasks, whatever their owner: the
+-- segments overlapping the id range of each imported chunk are found without reading the others.
+
+CREATE INDEX idx_task_archive_task_ids ON task_archive (first_task_id, last_task_id);
@@ -0,0 +1,12 @@
+-- Archived task ids with the segment holding each of them, so imports and archive-inclusive reads by id
+-- find an archived task with a keyed lookup: the id ranges of the segments span most of the id space,
+-- the archiver selecting the tasks by status and age. Segments written before list no ids and keep
+-- ids_listed false; they are still found by their id range.
+
+CREATE TABLE task_archive_ids (
+    task_id    BIGINT NOT NULL,
+    segment_id BIGINT NOT NULL,
+    PRIMARY KEY (task_id)
+);
+
+ALTER TABLE task_archive ADD COLUMN ids_listed BOOLEAN DEFAULT FALSE NOT NULL;
@@ -0,0 +1,232 @@
+package com.taskmanager.task_manager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.task_manager.config.SerializationFormatConfig;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the conditional writes of the task endpoints: the If-Match header carries the ETag a change
+ * is based on, and a change based on a version that is no longer current is rejected.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerConcurrencyTests {
+
+	private static final String OWNER = "concurrency-tests";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoSpyBean
+	private TaskRepository taskRepository;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM tasks WHERE owner = ?", OWNER);
+	}
+
+	@Test
+	void updateBasedOnTheCurrentVersionReturnsTheNextOne() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+
+		update(task, eTag(task))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag(task.getVersion() + 1)))
+				.andExpect(jsonPath("$.title").value("Updated"));
+	}
+
+	@Test
+	void updateBasedOnAnOlderVersionIsRejected() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+		String staleETag = eTag(task);
+		update(task, staleETag).andExpect(status().isOk());
+
+		update(task, staleETag).andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void ifMatchThatCannotMatchAVersionIsRejected() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+
+		update(task, "W/" + eTag(task)).andExpect(status().isPreconditionFailed());
+		update(task, "\"not-a-version\"").andExpect(status().isPreconditionFailed());
+		update(task, String.valueOf(task.getVersion())).andExpect(status().isPreconditionFailed());
+		assertThat(taskService.getTaskById(OWNER, task.getId()).getVersion()).isEqualTo(task.getVersion());
+	}
+
+	@Test
+	void eachRepresentationHasItsOwnETag() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+
+		read(task, MediaType.APPLICATION_JSON).andExpect(header().string(HttpHeaders.ETAG, eTag(task)));
+		read(task, MediaType.APPLICATION_CBOR)
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + task.getVersion() + "-cbor\""));
+		read(task, SerializationFormatConfig.COMPACT_JSON)
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + task.getVersion() + "-compact\""));
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(TaskOwner.HEADER, OWNER)
+						.accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, eTag(task)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void archiveInclusiveReadOfAnUnchangedTaskIsNotModified() throws Exception {
+		TaskResponse task = create(TaskStatus.COMPLETED);
+
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).param("archived", "true").header(TaskOwner.HEADER, OWNER)
+						.header(HttpHeaders.IF_NONE_MATCH, eTag(task)))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag(task)));
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).param("archived", "true").header(TaskOwner.HEADER, OWNER)
+						.header(HttpHeaders.IF_NONE_MATCH, eTag(task.getVersion() + 1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(task.getId()));
+	}
+
+	@Test
+	void ifMatchAcceptsTheETagOfAnyRepresentation() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+
+		update(task, "\"" + task.getVersion() + "-cbor\"").andExpect(status().isOk());
+		complete(task, "\"" + (task.getVersion() + 1) + "-compact\"").andExpect(status().isOk());
+		update(task, "\"" + task.getVersion() + "-xml\"").andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void wildcardIfMatchUpdatesAnyVersion() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+		update(task, null).andExpect(status().isOk());
+
+		update(task, "*").andExpect(status().isOk());
+	}
+
+	@Test
+	void concurrentWriteIsReportedAsPreconditionFailedForAConditionalUpdate() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+		failNextSaveWithAStaleVersion(task);
+
+		update(task, eTag(task)).andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void concurrentWriteIsReportedAsConflictForAnUnconditionalUpdate() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+		failNextSaveWithAStaleVersion(task);
+
+		update(task, null).andExpect(status().isConflict());
+	}
+
+	@Test
+	void completingAnotherVersionIsRejected() throws Exception {
+		TaskResponse task = create(TaskStatus.PENDING);
+
+		complete(task, eTag(task.getVersion() + 1)).andExpect(status().isPreconditionFailed());
+
+		assertThat(taskService.getTaskById(OWNER, task.getId()).getStatus()).isEqualTo(TaskStatus.PENDING);
+	}
+
+	@Test
+	void completingTheCurrentVersionReturnsTheNextOne() throws Exception {
+		TaskResponse task = create(TaskStatus.IN_PROGRESS);
+
+		complete(task, eTag(task))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag(task.getVersion() + 1)))
+				.andExpect(jsonPath("$.status").value("COMPLETED"));
+	}
+
+	@Test
+	void completingACompletedTaskLeavesItUnchanged() throws Exception {
+		TaskResponse task = create(TaskStatus.COMPLETED);
+
+		complete(task, null)
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag(task)));
+		complete(task, eTag(task)).andExpect(status().isOk());
+		complete(task, eTag(task.getVersion() + 1)).andExpect(status().isPreconditionFailed());
+		assertThat(taskService.getTaskById(OWNER, task.getId()).getVersion()).isEqualTo(task.getVersion());
+	}
+
+	private TaskResponse create(TaskStatus status) {
+		return taskService.createTask(OWNER, request(status, "Review pull request"));
+	}
+
+	private ResultActions update(TaskResponse task, String ifMatch) throws Exception {
+		var builder = put("/api/tasks/{id}", task.getId())
+				.header(TaskOwner.HEADER, OWNER)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request(task.getStatus(), "Updated")));
+		return mockMvc.perform(ifMatch != null ? builder.header(HttpHeaders.IF_MATCH, ifMatch) : builder);
+	}
+
+	private ResultActions read(TaskResponse task, MediaType accept) throws Exception {
+		return mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(TaskOwner.HEADER, OWNER).accept(accept))
+				.andExpect(status().isOk());
+	}
+
+	private ResultActions complete(TaskResponse task, String ifMatch) throws Exception {
+		var builder = patch("/api/tasks/{id}/complete", task.getId()).header(TaskOwner.HEADER, OWNER);
+		return mockMvc.perform(ifMatch != null ? builder.header(HttpHeaders.IF_MATCH, ifMatch) : builder);
+	}
+
+	/**
+	 * Makes the next save fail as Hibernate does when another transaction updated the task after it was read;
+	 * the repository tests check that a stale {@code @Version} does fail that way.
+	 */
+	private void failNextSaveWithAStaleVersion(TaskResponse task) {
+		doThrow(new ObjectOptimisticLockingFailureException(Task.class, task.getId())).when(taskRepository).saveAndFlush(any());
+	}
+
+	private static TaskRequest request(TaskStatus status, String title) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle(title);
+		request.setStatus(status);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		return request;
+	}
+
+	private static String eTag(TaskResponse task) {
+		return eTag(task.getVersion());
+	}
+
+	private static String eTag(long version) {
+		return "\"" + version + "\"";
+	}
+}
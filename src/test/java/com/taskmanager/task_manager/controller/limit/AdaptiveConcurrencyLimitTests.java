@@ -0,0 +1,60 @@
+package com.taskmanager.task_manager.controller.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private static final long START = 1_000_000_000L;
+
+	@Test
+	void shedsPartialSharesFirst() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 4, TARGET, 0.5, START);
+		assertThat(limit.tryAcquire(0.5)).isTrue();
+		assertThat(limit.tryAcquire(0.5)).isTrue();
+		assertThat(limit.tryAcquire(0.5)).isFalse();
+		assertThat(limit.tryAcquire(1)).isTrue();
+		assertThat(limit.tryAcquire(1)).isTrue();
+		assertThat(limit.tryAcquire(1)).isFalse();
+		limit.release();
+		assertThat(limit.tryAcquire(1)).isTrue();
+		assertThat(limit.getInFlight()).isEqualTo(4);
+	}
+
+	@Test
+	void decreasesOncePerTargetLatencyWhenSlow() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100, TARGET, 0.5, START);
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire(1);
+		}
+		limit.record(2 * TARGET, START);
+		limit.record(2 * TARGET, START + TARGET / 2);
+		assertThat(limit.getLimit()).isEqualTo(50);
+		limit.record(2 * TARGET, START + TARGET);
+		assertThat(limit.getLimit()).isEqualTo(25);
+		for (int i = 0; i < 100; i++) {
+			limit.record(2 * TARGET, START + (i + 2) * TARGET);
+		}
+		assertThat(limit.getLimit()).isEqualTo(1);
+	}
+
+	@Test
+	void movesOnlyWhileUsed() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100, TARGET, 0.5, START);
+		for (int i = 0; i < 49; i++) {
+			limit.tryAcquire(1);
+		}
+		limit.record(2 * TARGET, START);
+		assertThat(limit.getLimit()).isEqualTo(100);
+		limit.tryAcquire(1);
+		limit.record(2 * TARGET, START);
+		assertThat(limit.getLimit()).isEqualTo(50);
+		limit.record(TARGET / 2, START);
+		assertThat(limit.getLimit()).isEqualTo(50.02);
+	}
+}
@@ -0,0 +1,32 @@
+package com.taskmanager.task_manager.controller.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+	private static final long START = 1_000_000_000L;
+
+	@Test
+	void admitsABurstThenTheRate() {
+		TokenBucket bucket = new TokenBucket(10, 5, START);
+		for (int i = 0; i < 5; i++) {
+			assertThat(bucket.tryAcquire(START)).isZero();
+		}
+		assertThat(bucket.tryAcquire(START)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+		assertThat(bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(150))).isPositive();
+	}
+
+	@Test
+	void refillsUpToTheBurstOnly() {
+		TokenBucket bucket = new TokenBucket(10, 2, START);
+		long later = START + TimeUnit.SECONDS.toNanos(60);
+		assertThat(bucket.tryAcquire(later)).isZero();
+		assertThat(bucket.tryAcquire(later)).isZero();
+		assertThat(bucket.tryAcquire(later)).isPositive();
+	}
+}
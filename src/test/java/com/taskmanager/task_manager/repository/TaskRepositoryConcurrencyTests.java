@@ -0,0 +1,123 @@
+package com.taskmanager.task_manager.repository;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the optimistic concurrency control of TaskRepository: the {@code @Version} check of
+ * Hibernate's writes and the conditional UPDATE of {@link TaskRepositoryCustom#completeIfOpen}.
+ */
+@DataJpaTest
+class TaskRepositoryConcurrencyTests {
+
+	private static final String OWNER = Task.DEFAULT_OWNER;
+
+	private static final LocalDateTime COMPLETED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void writeBasedOnAStaleCopyFails() {
+		Task stored = store(TaskStatus.PENDING);
+		Task stale = copyOf(stored);
+		stored.setTitle("Changed by another writer");
+		taskRepository.saveAndFlush(stored);
+		entityManager.clear();
+
+		stale.setTitle("Changed from a stale copy");
+
+		assertThatThrownBy(() -> taskRepository.saveAndFlush(stale))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+	}
+
+	@Test
+	void completeIfOpenCompletesAnOpenTask() {
+		Task task = store(TaskStatus.IN_PROGRESS);
+
+		Optional<Task> previous = taskRepository.completeIfOpen(OWNER, task.getId(), task.getVersion(), COMPLETED_AT);
+
+		assertThat(previous).get().satisfies(before -> {
+			assertThat(before.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+			assertThat(before.getVersion()).isEqualTo(task.getVersion());
+		});
+		Task completed = reload(task);
+		assertThat(completed.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+		assertThat(completed.getVersion()).isEqualTo(task.getVersion() + 1);
+		assertThat(completed.getUpdatedAt()).isEqualTo(COMPLETED_AT);
+	}
+
+	@Test
+	void completeIfOpenLeavesACompletedTaskUnchanged() {
+		Task task = store(TaskStatus.COMPLETED);
+
+		assertThat(taskRepository.completeIfOpen(OWNER, task.getId(), null, COMPLETED_AT)).isEmpty();
+
+		assertThat(reload(task).getVersion()).isEqualTo(task.getVersion());
+	}
+
+	@Test
+	void completeIfOpenLeavesATaskWithAnotherVersionUnchanged() {
+		Task task = store(TaskStatus.PENDING);
+
+		assertThat(taskRepository.completeIfOpen(OWNER, task.getId(), task.getVersion() + 1, COMPLETED_AT)).isEmpty();
+
+		Task unchanged = reload(task);
+		assertThat(unchanged.getStatus()).isEqualTo(TaskStatus.PENDING);
+		assertThat(unchanged.getVersion()).isEqualTo(task.getVersion());
+	}
+
+	@Test
+	void completeIfOpenLeavesTasksOfOtherOwnersUnchanged() {
+		Task task = store(TaskStatus.PENDING);
+
+		assertThat(taskRepository.completeIfOpen("someone-else", task.getId(), null, COMPLETED_AT)).isEmpty();
+
+		assertThat(reload(task).getStatus()).isEqualTo(TaskStatus.PENDING);
+	}
+
+	private Task store(TaskStatus status) {
+		Task task = new Task();
+		task.setTitle("Review pull request");
+		task.setStatus(status);
+		task.setDueDate(COMPLETED_AT.plusDays(1));
+		task.setOwner(OWNER);
+		Task stored = taskRepository.saveAndFlush(task);
+		// The conditional UPDATE runs on the JDBC connection: the entity must not shadow its result
+		entityManager.clear();
+		return stored;
+	}
+
+	private Task reload(Task task) {
+		entityManager.clear();
+		return taskRepository.findById(task.getId()).orElseThrow();
+	}
+
+	private static Task copyOf(Task task) {
+		Task copy = new Task();
+		copy.setId(task.getId());
+		copy.setTitle(task.getTitle());
+		copy.setStatus(task.getStatus());
+		copy.setDueDate(task.getDueDate());
+		copy.setPriority(task.getPriority());
+		copy.setCreatedAt(task.getCreatedAt());
+		copy.setUpdatedAt(task.getUpdatedAt());
+		copy.setVersion(task.getVersion());
+		copy.setOwner(task.getOwner());
+		return copy;
+	}
+}
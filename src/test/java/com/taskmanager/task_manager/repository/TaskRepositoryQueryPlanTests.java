@@ -0,0 +1,159 @@
+package com.taskmanager.task_manager.repository;
+
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2's EXPLAIN on the SQL that Hibernate generates for each filtered TaskRepository query the services run
+ * and fails when the plan falls back to a table scan instead of an index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.taskmanager.task_manager.repository.TaskRepositoryQueryPlanTests$CapturingStatementInspector")
+class TaskRepositoryQueryPlanTests {
+
+	private static final String OWNER = Task.DEFAULT_OWNER;
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.complementOf(EnumSet.of(TaskStatus.COMPLETED));
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeEach
+	void clearCapturedStatements() {
+		CapturingStatementInspector.STATEMENTS.clear();
+	}
+
+	@Test
+	void overduePagesUseOwnerIndex() throws SQLException {
+		taskRepository.findByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(OWNER, NOW, OPEN_STATUSES, Limit.of(10));
+		assertThat(assertPlanUsesIndex()).containsIgnoringCase("IDX_TASKS_OWNER_");
+		taskRepository.findOverdueAfter(OWNER, NOW, OPEN_STATUSES, NOW.minusDays(1), 5L, Limit.of(10));
+		assertThat(assertPlanUsesIndex()).containsIgnoringCase("IDX_TASKS_OWNER_");
+	}
+
+	@Test
+	void lookupsByIdUseIndexes() throws SQLException {
+		taskRepository.findByOwnerAndId(OWNER, 1L);
+		assertPlanUsesIndex();
+		taskRepository.findByOwnerAndIdIn(OWNER, List.of(1L, 2L, 3L));
+		assertPlanUsesIndex();
+		taskRepository.findResponseById(OWNER, 1L);
+		assertPlanUsesIndex();
+		taskRepository.findResponsesByIdIn(OWNER, List.of(1L, 2L, 3L));
+		assertPlanUsesIndex();
+		taskRepository.findStampById(OWNER, 1L);
+		assertPlanUsesIndex();
+	}
+
+	@Test
+	void projectionsUseIndexes() throws SQLException {
+		taskRepository.findResponsesByStatus(OWNER, TaskStatus.PENDING);
+		assertPlanUsesIndex();
+		taskRepository.findResponsesByPriority(OWNER, 1);
+		assertPlanUsesIndex();
+		taskRepository.findResponsesByDueDateBetween(OWNER, NOW.minusDays(1), NOW);
+		assertPlanUsesIndex();
+		taskRepository.findResponsesAfter(OWNER, 0L, false, Limit.of(10));
+		assertPlanUsesIndex();
+		taskRepository.findResponsesByStatusAfter(OWNER, TaskStatus.PENDING, 0L, false, Limit.of(10));
+		assertPlanUsesIndex();
+		taskRepository.findResponsesByPriorityAfter(OWNER, 2, 0L, true, Limit.of(10));
+		assertPlanUsesIndex();
+	}
+
+	@Test
+	void combinedQueriesUseIndexes() throws SQLException {
+		taskRepository.findResponses(OWNER, Specification.allOf(
+						TaskSpecifications.hasStatusIn(EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS)),
+						TaskSpecifications.isDueBetween(NOW.minusDays(7), NOW)),
+				Sort.by("dueDate", "id"), true, 10);
+		assertPlanUsesIndex();
+		taskRepository.findResponses(OWNER, Specification.allOf(
+						TaskSpecifications.hasPriorityBetween(1, 2),
+						TaskSpecifications.isPositionedAfter("priority", true, true, 1, 5L)),
+				Sort.by("priority", "id"), false, 10);
+		assertPlanUsesIndex();
+		taskRepository.findResponses(OWNER, Specification.allOf(
+						TaskSpecifications.hasIdIn(List.of(1L, 2L, 3L)),
+						TaskSpecifications.isDueBetween(null, NOW)),
+				Sort.by("id"), true, 10);
+		assertPlanUsesIndex();
+	}
+
+	@Test
+	void filteredStreamsUseIndexes() throws SQLException {
+		try (Stream<?> tasks = taskRepository.streamByOwnerAndStatusOrderByIdAsc(OWNER, TaskStatus.PENDING)) {
+			assertPlanUsesIndex();
+		}
+		try (Stream<?> tasks = taskRepository.streamByOwnerAndPriorityOrderByIdAsc(OWNER, 3)) {
+			assertPlanUsesIndex();
+		}
+		try (Stream<?> tasks = taskRepository.streamByOwnerAndDueDateBeforeAndStatusInOrderByDueDateAscIdAsc(OWNER, NOW, OPEN_STATUSES)) {
+			assertThat(assertPlanUsesIndex()).containsIgnoringCase("IDX_TASKS_OWNER_");
+		}
+	}
+
+	/**
+	 * Explains the last SELECT issued by Hibernate and asserts that H2 does not scan the tasks table.
+	 *
+	 * @return the plan, for further assertions
+	 */
+	private String assertPlanUsesIndex() throws SQLException {
+		List<String> selects = CapturingStatementInspector.STATEMENTS.stream()
+				.filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+				.toList();
+		assertThat(selects).as("captured SELECT statements").isNotEmpty();
+		String sql = selects.get(selects.size() - 1);
+		CapturingStatementInspector.STATEMENTS.clear();
+
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+				ResultSet plan = explain.executeQuery()) {
+			assertThat(plan.next()).isTrue();
+			String text = plan.getString(1);
+			assertThat(text).as("plan of %s", sql).doesNotContainIgnoringCase("tableScan");
+			return text;
+		}
+	}
+
+	/**
+	 * Records every SQL statement prepared by Hibernate so the tests can explain it.
+	 */
+	public static class CapturingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+}
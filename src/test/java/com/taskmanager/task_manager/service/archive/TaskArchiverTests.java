@@ -0,0 +1,46 @@
+package com.taskmanager.task_manager.service.archive;
+
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskArchiverTests {
+
+	private final TaskArchiveService archiveService = mock(TaskArchiveService.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void stopsAtTheFirstBatchThatIsNotFull() {
+		when(archiveService.archiveTasks(any(), eq(10))).thenReturn(10, 10, 3);
+
+		archiver(5).archive();
+
+		verify(archiveService, times(3)).archiveTasks(any(), eq(10));
+		assertThat(meterRegistry.counter("task.archive.tasks").count()).isEqualTo(23);
+	}
+
+	@Test
+	void stopsAfterTheMaximumNumberOfBatches() {
+		when(archiveService.archiveTasks(any(), eq(10))).thenReturn(10);
+
+		archiver(2).archive();
+
+		verify(archiveService, times(2)).archiveTasks(any(), eq(10));
+		assertThat(meterRegistry.counter("task.archive.tasks").count()).isEqualTo(20);
+	}
+
+	private TaskArchiver archiver(int maxBatches) {
+		return new TaskArchiver(archiveService, meterRegistry, Duration.ofDays(30), 10, Duration.ZERO, maxBatches);
+	}
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.task_manager.service.cache;
+
+import com.taskmanager.task_manager.config.CacheConfig;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that reads of priority buckets no task has do not grow the per-priority state:
+ * neither the collection versions nor the priority list cache.
+ */
+@SpringBootTest
+class TaskPriorityBucketsTests {
+
+	private static final String OWNER = "priority-tests";
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskCollectionVersions collectionVersions;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM tasks WHERE owner = ?", OWNER);
+		cacheManager.getCache(CacheConfig.TASKS_BY_PRIORITY_CACHE).clear();
+	}
+
+	@Test
+	void cachesTheListsOfThePriorityLevelsOnly() {
+		create(2);
+
+		assertThat(taskService.getTasksByPriority(OWNER, 2)).hasSize(1);
+		assertThat(taskService.getTasksByPriority(OWNER, 1_000_000)).isEmpty();
+		assertThat(taskService.getTasksByPriority(OWNER, -1)).isEmpty();
+
+		Cache cache = cacheManager.getCache(CacheConfig.TASKS_BY_PRIORITY_CACHE);
+		assertThat(cache.get(SimpleKeyGenerator.generateKey(OWNER, 2))).isNotNull();
+		assertThat(cache.get(SimpleKeyGenerator.generateKey(OWNER, 1_000_000))).isNull();
+		assertThat(cache.get(SimpleKeyGenerator.generateKey(OWNER, -1))).isNull();
+	}
+
+	@Test
+	void versionsOfUnusedPrioritiesStayAtZeroUntilATaskHasThem() {
+		create(2);
+		String unused = collectionVersions.byPriority(OWNER, 7);
+
+		assertThat(collectionVersions.byPriority(OWNER, 7)).isEqualTo(unused).endsWith("-0");
+
+		create(7);
+		assertThat(collectionVersions.byPriority(OWNER, 7)).isNotEqualTo(unused);
+	}
+
+	private void create(int priority) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Prepare release notes");
+		request.setPriority(priority);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		taskService.createTask(OWNER, request);
+	}
+}
@@ -0,0 +1,208 @@
+package com.taskmanager.task_manager.service.feed;
+
+import com.taskmanager.task_manager.controller.TaskOwner;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Follows the change feed through its endpoint, with a ring small enough to fall out of.
+ */
+@SpringBootTest(properties = "task-manager.feed.capacity=8")
+@AutoConfigureMockMvc
+class TaskChangeFeedTests {
+
+	private static final String OWNER = "feed-tests";
+
+	private static final String OTHER_OWNER = "feed-tests-other";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * One server-sent event as received by a client.
+	 */
+	private record Event(String id, String name, String data) {
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM tasks WHERE owner IN (?, ?)", OWNER, OTHER_OWNER);
+	}
+
+	@Test
+	void deliversChangesInOrderAndResumesAfterTheLastEventId() throws Exception {
+		MvcResult stream = follow(OWNER, null);
+		TaskResponse task = create(OWNER, "Write release notes");
+		taskService.updateTask(OWNER, task.getId(), request("Publish release notes"), null);
+		taskService.deleteTask(OWNER, task.getId());
+
+		List<Event> events = awaitEvents(stream, 3);
+		assertThat(events).extracting(Event::name).containsExactly("CREATED", "UPDATED", "DELETED");
+		assertThat(events).extracting(event -> sequence(event.id())).isSorted().doesNotHaveDuplicates();
+		assertThat(events.get(1).data()).contains("Publish release notes");
+
+		MvcResult resumed = follow(OWNER, events.get(0).id());
+		assertThat(awaitEvents(resumed, 2)).containsExactlyElementsOf(events.subList(1, 3));
+	}
+
+	@Test
+	void tellsAClientResumingPastTheRetainedChangesToReload() throws Exception {
+		MvcResult stream = follow(OWNER, null);
+		create(OWNER, "Seen before disconnecting");
+		Event last = awaitEvents(stream, 1).get(0);
+		for (int i = 0; i < 10; i++) {
+			create(OWNER, "Missed " + i);
+		}
+
+		MvcResult resumed = follow(OWNER, last.id());
+		create(OWNER, "Created after reconnecting");
+
+		List<Event> events = awaitEvents(resumed, 2);
+		assertThat(events.get(0).name()).isEqualTo(TaskChangeFeed.RESET_EVENT);
+		assertThat(events.get(1).name()).isEqualTo("CREATED");
+		assertThat(events.get(1).data()).contains("Created after reconnecting");
+		assertThat(sequence(events.get(1).id())).isEqualTo(sequence(events.get(0).id()) + 1);
+	}
+
+	@Test
+	void deliversChangesOnlyOnceTheirTransactionCommits() throws Exception {
+		MvcResult stream = follow(OWNER, null);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		TransactionTemplate separateTransaction = new TransactionTemplate(transactionManager);
+		separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		transaction.executeWithoutResult(status -> {
+			create(OWNER, "Committed last");
+			separateTransaction.executeWithoutResult(inner -> create(OWNER, "Committed first"));
+			assertThat(awaitEvents(stream, 1).get(0).data()).contains("Committed first");
+		});
+		transaction.executeWithoutResult(status -> {
+			create(OWNER, "Rolled back");
+			status.setRollbackOnly();
+		});
+		create(OWNER, "Committed after the rollback");
+
+		assertThat(awaitEvents(stream, 3)).extracting(Event::data).satisfiesExactly(
+				data -> assertThat(data).contains("Committed first"),
+				data -> assertThat(data).contains("Committed last"),
+				data -> assertThat(data).contains("Committed after the rollback"));
+	}
+
+	@Test
+	void deliversTheChangesOfTheSubscribersOwnTasksOnly() throws Exception {
+		MvcResult stream = follow(OWNER, null);
+		MvcResult otherStream = follow(OTHER_OWNER, null);
+		create(OTHER_OWNER, "Someone else's task");
+		create(OWNER, "Own task");
+		create(OTHER_OWNER, "Someone else's last task");
+
+		assertThat(awaitEvents(otherStream, 2)).extracting(Event::data).satisfiesExactly(
+				data -> assertThat(data).contains("Someone else's task"),
+				data -> assertThat(data).contains("Someone else's last task"));
+		assertThat(awaitEvents(stream, 1)).singleElement()
+				.satisfies(event -> assertThat(event.data()).contains("Own task"));
+	}
+
+	private MvcResult follow(String owner, String lastEventId) throws Exception {
+		var builder = get("/api/tasks/changes").header(TaskOwner.HEADER, owner);
+		if (lastEventId != null) {
+			builder.header("Last-Event-ID", lastEventId);
+		}
+		return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	/**
+	 * Waits until the stream received at least the given number of events and returns all of them;
+	 * comments and heartbeats are left out.
+	 */
+	private List<Event> awaitEvents(MvcResult stream, int count) {
+		for (int attempt = 0; attempt < 100; attempt++) {
+			List<Event> events = events(stream);
+			if (events.size() >= count) {
+				return events;
+			}
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+		throw new AssertionError("Expected " + count + " events, received " + events(stream));
+	}
+
+	private static List<Event> events(MvcResult stream) {
+		List<Event> events = new ArrayList<>();
+		String content;
+		try {
+			content = stream.getResponse().getContentAsString();
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+		for (String block : content.split("\n\n")) {
+			String id = null;
+			String name = null;
+			String data = null;
+			for (String line : block.split("\n")) {
+				if (line.startsWith("id:")) {
+					id = line.substring(3);
+				} else if (line.startsWith("event:")) {
+					name = line.substring(6);
+				} else if (line.startsWith("data:")) {
+					data = line.substring(5);
+				}
+			}
+			if (name != null) {
+				events.add(new Event(id, name, data));
+			}
+		}
+		return events;
+	}
+
+	private static long sequence(String eventId) {
+		return Long.parseLong(eventId.substring(eventId.lastIndexOf('-') + 1));
+	}
+
+	private TaskResponse create(String owner, String title) {
+		return taskService.createTask(owner, request(title));
+	}
+
+	private static TaskRequest request(String title) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle(title);
+		request.setStatus(TaskStatus.PENDING);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		return request;
+	}
+}
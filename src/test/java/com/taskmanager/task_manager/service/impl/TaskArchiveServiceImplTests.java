@@ -0,0 +1,142 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRowMapper;
+import com.taskmanager.task_manager.service.SearchMode;
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import com.taskmanager.task_manager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+
+@SpringBootTest(properties = "task-manager.archive.enabled=false")
+class TaskArchiveServiceImplTests {
+
+	private static final String OWNER = "archive-tests";
+
+	/**
+	 * Only the tasks of these tests are backdated before this time, so no other task is archived.
+	 */
+	private static final LocalDateTime CHANGED_BEFORE = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+	private static final String DELETE_TASK = "DELETE FROM tasks WHERE id = ? AND version = ?";
+
+	@Autowired
+	private TaskArchiveService archiveService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@MockitoSpyBean
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM task_archive_ids WHERE segment_id IN (SELECT id FROM task_archive WHERE owner = ?)", OWNER);
+		jdbcTemplate.update("DELETE FROM task_archive WHERE owner = ?", OWNER);
+		jdbcTemplate.update("DELETE FROM tasks WHERE owner = ?", OWNER);
+	}
+
+	@Test
+	void deletesTheReadVersionsThenStoresThemAsSegments() {
+		TaskResponse completed = create("Quarterly report", TaskStatus.COMPLETED, 1, -2);
+		TaskResponse cancelled = create("Renew certificate", TaskStatus.CANCELLED, 2, -1);
+		TaskResponse open = create("Plan offsite", TaskStatus.PENDING, 1, -3);
+		backdate();
+
+		assertThat(archiveService.archiveTasks(CHANGED_BEFORE, 100)).isEqualTo(2);
+
+		InOrder order = inOrder(jdbcTemplate);
+		order.verify(jdbcTemplate).query(startsWith("SELECT"), eq(TaskRowMapper.INSTANCE), any(Object[].class));
+		order.verify(jdbcTemplate).batchUpdate(eq(DELETE_TASK), anyList());
+		order.verify(jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+		order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO task_archive_ids"), anyList());
+		assertThat(jdbcTemplate.queryForList("SELECT status, task_count FROM task_archive WHERE owner = ? ORDER BY status", OWNER))
+				.containsExactly(Map.of("STATUS", "CANCELLED", "TASK_COUNT", 1), Map.of("STATUS", "COMPLETED", "TASK_COUNT", 1));
+		assertThat(jdbcTemplate.queryForList("SELECT i.task_id FROM task_archive_ids i JOIN task_archive a ON a.id = i.segment_id"
+				+ " WHERE a.owner = ? AND a.ids_listed", Long.class, OWNER)).containsExactlyInAnyOrder(completed.getId(), cancelled.getId());
+		assertThat(archiveService.findArchivedIds(List.of(completed.getId(), open.getId()))).containsExactly(completed.getId());
+		assertThat(ids(taskService.getAllTasks(OWNER))).containsExactly(open.getId());
+	}
+
+	@Test
+	void keepsTasksChangedBetweenTheSelectAndTheDelete() {
+		TaskResponse archived = create("Close sprint", TaskStatus.COMPLETED, 2, -2);
+		TaskResponse reopened = create("Fix flaky build", TaskStatus.COMPLETED, 2, -1);
+		backdate();
+		doAnswer(invocation -> {
+			// Another transaction reopens the task after it was selected for the archive
+			Thread writer = new Thread(() -> jdbcTemplate.update(
+					"UPDATE tasks SET status = 'PENDING', version = version + 1 WHERE id = ?", reopened.getId()));
+			writer.start();
+			writer.join();
+			return invocation.callRealMethod();
+		}).when(jdbcTemplate).batchUpdate(eq(DELETE_TASK), anyList());
+
+		assertThat(archiveService.archiveTasks(CHANGED_BEFORE, 100)).isEqualTo(1);
+
+		assertThat(jdbcTemplate.queryForList("SELECT first_task_id, last_task_id, task_count FROM task_archive WHERE owner = ?", OWNER))
+				.containsExactly(Map.of("FIRST_TASK_ID", archived.getId(), "LAST_TASK_ID", archived.getId(), "TASK_COUNT", 1));
+		TaskResponse active = taskService.getTaskById(OWNER, reopened.getId());
+		assertThat(active.getStatus()).isEqualTo(TaskStatus.PENDING);
+		assertThat(active.getVersion()).isEqualTo(reopened.getVersion() + 1);
+	}
+
+	@Test
+	void archiveInclusiveReadsReturnArchivedTasks() {
+		TaskResponse completed = create("Quarterly report", TaskStatus.COMPLETED, 1, -2);
+		TaskResponse cancelled = create("Renew certificate", TaskStatus.CANCELLED, 2, -1);
+		TaskResponse open = create("Plan quarterly offsite", TaskStatus.PENDING, 1, -3);
+		backdate();
+		archiveService.archiveTasks(CHANGED_BEFORE, 100);
+
+		assertThat(archiveService.getTaskById(OWNER, completed.getId()).getTitle()).isEqualTo("Quarterly report");
+		assertThat(ids(archiveService.getAllTasks(OWNER, true)))
+				.containsExactly(completed.getId(), cancelled.getId(), open.getId());
+		assertThat(ids(archiveService.getTasksByStatus(OWNER, TaskStatus.CANCELLED))).containsExactly(cancelled.getId());
+		assertThat(ids(archiveService.getTasksByPriority(OWNER, 1))).containsExactly(completed.getId(), open.getId());
+		assertThat(ids(archiveService.searchTasks(OWNER, "quarterly", SearchMode.EXACT)))
+				.containsExactly(open.getId(), completed.getId());
+		assertThat(ids(archiveService.searchTasks(OWNER, "certif", SearchMode.PREFIX))).containsExactly(cancelled.getId());
+		assertThat(archiveService.searchTasks(OWNER, "certif", SearchMode.EXACT)).isEmpty();
+		assertThat(ids(archiveService.getOverdueTasks(OWNER))).containsExactly(open.getId(), cancelled.getId());
+		assertThat(ids(taskService.searchTasks(OWNER, "quarterly", SearchMode.EXACT))).containsExactly(open.getId());
+	}
+
+	private TaskResponse create(String title, TaskStatus status, int priority, int dueInDays) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle(title);
+		request.setStatus(status);
+		request.setPriority(priority);
+		request.setDueDate(LocalDateTime.now().plusDays(dueInDays));
+		return taskService.createTask(OWNER, request);
+	}
+
+	private void backdate() {
+		jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE owner = ?", CHANGED_BEFORE.minusYears(1), OWNER);
+	}
+
+	private static List<Long> ids(List<TaskResponse> tasks) {
+		return tasks.stream().map(TaskResponse::getId).toList();
+	}
+}
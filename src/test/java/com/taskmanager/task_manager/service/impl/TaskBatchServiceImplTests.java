@@ -0,0 +1,105 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.BatchResponse;
+import com.taskmanager.task_manager.controller.dto.TaskBatchUpdateRequest;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.TaskBatchService;
+import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RecordApplicationEvents
+class TaskBatchServiceImplTests {
+
+	private static final String OWNER = "batch-tests";
+
+	@Autowired
+	private TaskBatchService batchService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM tasks WHERE owner = ?", OWNER);
+	}
+
+	@Test
+	void completingPublishesChangesOfTheTasksThatWereOpenOnly() {
+		TaskResponse open = create(TaskStatus.IN_PROGRESS);
+		TaskResponse completed = create(TaskStatus.COMPLETED);
+		events.clear();
+
+		BatchResponse response = batchService.completeTasks(OWNER, List.of(open.getId(), completed.getId(), open.getId()));
+
+		assertThat(response.getSucceeded()).isEqualTo(3);
+		assertThat(events.stream(TaskChangedEvent.class))
+				.singleElement()
+				.satisfies(event -> {
+					assertThat(event.getTaskId()).isEqualTo(open.getId());
+					assertThat(event.getBefore().getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+					assertThat(event.getAfter().getStatus()).isEqualTo(TaskStatus.COMPLETED);
+				});
+		assertThat(taskService.getTaskById(OWNER, completed.getId()).getVersion()).isEqualTo(completed.getVersion());
+		assertThat(taskService.getTaskById(OWNER, open.getId()).getVersion()).isEqualTo(open.getVersion() + 1);
+	}
+
+	@Test
+	void updatingTheSameTaskTwiceAppliesTheFirstUpdateOnly() {
+		TaskResponse task = create(TaskStatus.PENDING);
+		events.clear();
+
+		BatchResponse response = batchService.updateTasks(OWNER, List.of(
+				update(task.getId(), TaskStatus.IN_PROGRESS), update(task.getId(), TaskStatus.COMPLETED)));
+
+		assertThat(response.getSucceeded()).isEqualTo(1);
+		assertThat(response.getResults().get(0).getStatus()).isEqualTo(200);
+		assertThat(response.getResults().get(1).getStatus()).isEqualTo(404);
+		assertThat(events.stream(TaskChangedEvent.class))
+				.singleElement()
+				.satisfies(event -> {
+					assertThat(event.getBefore().getStatus()).isEqualTo(TaskStatus.PENDING);
+					assertThat(event.getAfter().getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+				});
+		assertThat(taskService.getTaskById(OWNER, task.getId()).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+	}
+
+	private TaskBatchUpdateRequest update(Long id, TaskStatus status) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Update dependencies");
+		request.setStatus(status);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		TaskBatchUpdateRequest update = new TaskBatchUpdateRequest();
+		update.setId(id);
+		update.setTask(request);
+		return update;
+	}
+
+	private TaskResponse create(TaskStatus status) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Update dependencies");
+		request.setStatus(status);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		return taskService.createTask(OWNER, request);
+	}
+}
@@ -0,0 +1,137 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.task_manager.controller.dto.TaskPatchRequest;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.TaskService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks the JSON Merge Patch semantics of {@link TaskPatchRequest}: absent members keep their value,
+ * null members clear the optional fields and are rejected for the required ones, and a patch that
+ * changes nothing writes nothing.
+ */
+@SpringBootTest
+class TaskServiceImplPatchTests {
+
+	private static final String OWNER = "patch-tests";
+
+	private static final LocalDateTime DUE_DATE = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoSpyBean
+	private TaskRepository taskRepository;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM tasks WHERE owner = ?", OWNER);
+	}
+
+	@Test
+	void absentMembersKeepTheirValue() throws Exception {
+		Task task = task();
+
+		assertThat(TaskServiceImpl.applyPatch(task, patch("{\"title\": \"Renamed\"}"))).isTrue();
+
+		assertThat(task.getTitle()).isEqualTo("Renamed");
+		assertThat(task.getDescription()).isEqualTo("Before the release");
+		assertThat(task.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+		assertThat(task.getDueDate()).isEqualTo(DUE_DATE);
+		assertThat(task.getPriority()).isEqualTo(2);
+	}
+
+	@Test
+	void nullClearsTheOptionalMembers() throws Exception {
+		Task task = task();
+		TaskPatchRequest patch = patch("{\"description\": null, \"priority\": null}");
+
+		assertThat(validator.validate(patch)).isEmpty();
+		assertThat(TaskServiceImpl.applyPatch(task, patch)).isTrue();
+
+		assertThat(task.getDescription()).isNull();
+		assertThat(task.getPriority()).isNull();
+		assertThat(task.getTitle()).isEqualTo("Review pull request");
+	}
+
+	@Test
+	void nullIsRejectedForTheRequiredMembers() throws Exception {
+		TaskPatchRequest patch = patch("{\"title\": null, \"status\": null, \"dueDate\": null}");
+
+		assertThat(validator.validate(patch)).extracting(ConstraintViolation::getMessage)
+				.containsExactlyInAnyOrder("Title is required", "Status cannot be null", "Due date is required");
+		assertThat(validator.validate(patch("{\"title\": \" \"}"))).extracting(ConstraintViolation::getMessage)
+				.containsExactly("Title is required");
+		assertThat(validator.validate(patch("{}"))).isEmpty();
+	}
+
+	@Test
+	void patchWithTheCurrentValuesChangesNothing() throws Exception {
+		Task task = task();
+
+		assertThat(TaskServiceImpl.applyPatch(task, patch(
+				"{\"title\": \"Review pull request\", \"priority\": 2, \"status\": \"IN_PROGRESS\"}"))).isFalse();
+		assertThat(TaskServiceImpl.applyPatch(task, patch("{}"))).isFalse();
+	}
+
+	@Test
+	void patchThatChangesNothingWritesNothing() throws Exception {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Review pull request");
+		request.setPriority(2);
+		request.setDueDate(DUE_DATE);
+		Long id = taskService.createTask(OWNER, request).getId();
+		TaskResponse stored = taskService.getTaskById(OWNER, id);
+
+		TaskResponse patched = taskService.patchTask(OWNER, id,
+				patch("{\"title\": \"Review pull request\", \"priority\": 2}"), stored.getVersion());
+
+		assertThat(patched).isEqualTo(stored);
+		verify(taskRepository, never()).saveAndFlush(any());
+	}
+
+	private TaskPatchRequest patch(String json) throws Exception {
+		return objectMapper.readValue(json, TaskPatchRequest.class);
+	}
+
+	private static Task task() {
+		Task task = new Task();
+		task.setId(1L);
+		task.setTitle("Review pull request");
+		task.setDescription("Before the release");
+		task.setStatus(TaskStatus.IN_PROGRESS);
+		task.setDueDate(DUE_DATE);
+		task.setPriority(2);
+		task.setVersion(0L);
+		task.setOwner(OWNER);
+		return task;
+	}
+}
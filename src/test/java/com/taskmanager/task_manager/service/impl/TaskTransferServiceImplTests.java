@@ -0,0 +1,111 @@
+package com.taskmanager.task_manager.service.impl;
+
+import com.taskmanager.task_manager.controller.dto.BatchItemResult;
+import com.taskmanager.task_manager.controller.dto.TaskImportResult;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.SearchMode;
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import com.taskmanager.task_manager.service.TaskService;
+import com.taskmanager.task_manager.service.TaskTransferService;
+import com.taskmanager.task_manager.service.transfer.TaskTransferFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "task-manager.archive.enabled=false")
+class TaskTransferServiceImplTests {
+
+	private static final String OWNER = "transfer-tests";
+
+	@Autowired
+	private TaskTransferService transferService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskArchiveService archiveService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM task_archive_ids WHERE segment_id IN (SELECT id FROM task_archive WHERE owner = ?)", OWNER);
+		jdbcTemplate.update("DELETE FROM task_archive WHERE owner = ?", OWNER);
+		taskService.getAllTasks(OWNER, false).forEach(task -> taskService.deleteTask(OWNER, task.getId()));
+	}
+
+	@Test
+	void restoresDeletedTasksIntoTheIndexes() throws IOException {
+		TaskResponse task = create("Renew domain name", TaskStatus.PENDING, -1);
+		byte[] dump = export();
+		taskService.deleteTask(OWNER, task.getId());
+		assertThat(taskService.searchTasks(OWNER, "domain", SearchMode.EXACT)).isEmpty();
+
+		TaskImportResult result = transferService.importTasks(OWNER, TaskTransferFormat.BINARY, new ByteArrayInputStream(dump));
+
+		assertThat(result.getCreated()).isEqualTo(1);
+		assertThat(taskService.searchTasks(OWNER, "domain", SearchMode.EXACT))
+				.extracting(TaskResponse::getId).containsExactly(task.getId());
+		assertThat(taskService.getOverdueTasks(OWNER)).extracting(TaskResponse::getId).containsExactly(task.getId());
+	}
+
+	@Test
+	void rejectsTheIdsOfArchivedTasks() throws IOException {
+		TaskResponse task = create("Close quarter", TaskStatus.COMPLETED, -1);
+		byte[] dump = export();
+		LocalDateTime changedBefore = LocalDateTime.of(2000, 1, 1, 0, 0);
+		jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE owner = ?", changedBefore.minusYears(1), OWNER);
+		assertThat(archiveService.archiveTasks(changedBefore, 100)).isEqualTo(1);
+
+		TaskImportResult result = transferService.importTasks(OWNER, TaskTransferFormat.BINARY, new ByteArrayInputStream(dump));
+
+		assertThat(result.getFailed()).isEqualTo(1);
+		assertThat(result.getFailures()).extracting(BatchItemResult::getStatus).containsExactly(409);
+		assertThat(taskService.getAllTasks(OWNER, false)).isEmpty();
+		assertThat(archiveService.getTaskById(OWNER, task.getId()).getTitle()).isEqualTo("Close quarter");
+	}
+
+	@Test
+	void defaultsTheStatusOfRecordsWithoutOne() throws IOException {
+		TaskResponse task = create("Book venue", TaskStatus.IN_PROGRESS, 3);
+		byte[] csv = ("id,title,dueDate\n"
+				+ task.getId() + ",Book venue,2030-01-01T10:00\n"
+				+ ",Send invitations,2030-01-02T10:00\n").getBytes(StandardCharsets.UTF_8);
+
+		TaskImportResult result = transferService.importTasks(OWNER, TaskTransferFormat.CSV, new ByteArrayInputStream(csv));
+
+		assertThat(result.getFailed()).isZero();
+		assertThat(result.getUpdated()).isEqualTo(1);
+		assertThat(result.getCreated()).isEqualTo(1);
+		assertThat(taskService.getAllTasks(OWNER, false))
+				.extracting(TaskResponse::getStatus).containsExactly(TaskStatus.PENDING, TaskStatus.PENDING);
+	}
+
+	private TaskResponse create(String title, TaskStatus status, int dueInDays) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle(title);
+		request.setStatus(status);
+		request.setDueDate(LocalDateTime.now().plusDays(dueInDays));
+		return taskService.createTask(OWNER, request);
+	}
+
+	private byte[] export() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		transferService.exportTasks(OWNER, TaskTransferFormat.BINARY, output);
+		return output.toByteArray();
+	}
+}
@@ -0,0 +1,131 @@
+package com.taskmanager.task_manager.service.index;
+
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.service.event.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineIndexTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+	private DeadlineIndex index;
+
+	private final List<Long> passed = new ArrayList<>();
+
+	private final List<Long> changed = new ArrayList<>();
+
+	private final List<LocalDateTime> scheduled = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		index = new DeadlineIndex();
+		index.onTaskChanged(TaskChangedEvent.created(task(1, 0, START.minusHours(1), TaskStatus.PENDING)));
+		index.watchOverdue(START, new DeadlineIndex.Watcher() {
+
+			@Override
+			public void deadlinePassed(String owner, long id, LocalDateTime dueDate) {
+				passed.add(id);
+			}
+
+			@Override
+			public void changedToOverdue(TaskResponse task) {
+				changed.add(task.getId());
+			}
+
+			@Override
+			public void deadlineScheduled(LocalDateTime dueDate) {
+				scheduled.add(dueDate);
+			}
+		});
+	}
+
+	@Test
+	void reportsEachPassedDeadlineOnce() {
+		index.onTaskChanged(TaskChangedEvent.created(task(2, 0, START.plusMinutes(10), TaskStatus.PENDING)));
+		index.onTaskChanged(TaskChangedEvent.created(task(3, 0, START.plusMinutes(20), TaskStatus.IN_PROGRESS)));
+		index.onTaskChanged(TaskChangedEvent.created(task(4, 0, START.plusMinutes(5), TaskStatus.COMPLETED)));
+		assertThat(scheduled).containsExactly(START.plusMinutes(10), START.plusMinutes(20));
+
+		assertThat(index.advanceOverdue(START.plusMinutes(15))).isEqualTo(START.plusMinutes(20));
+		assertThat(index.advanceOverdue(START.plusMinutes(15))).isEqualTo(START.plusMinutes(20));
+		assertThat(index.advanceOverdue(START.plusMinutes(30))).isNull();
+		assertThat(passed).containsExactly(2L, 3L);
+		assertThat(changed).isEmpty();
+	}
+
+	@Test
+	void reportsChangesMakingATaskOverdueAtOnce() {
+		TaskResponse pending = task(2, 0, START.plusMinutes(10), TaskStatus.PENDING);
+		index.onTaskChanged(TaskChangedEvent.created(pending));
+		TaskResponse movedToThePast = task(2, 1, START.minusMinutes(10), TaskStatus.PENDING);
+		index.onTaskChanged(TaskChangedEvent.updated(pending, movedToThePast));
+		TaskResponse renamed = task(2, 2, START.minusMinutes(5), TaskStatus.PENDING);
+		index.onTaskChanged(TaskChangedEvent.updated(movedToThePast, renamed));
+		TaskResponse completed = task(2, 3, START.minusMinutes(5), TaskStatus.COMPLETED);
+		index.onTaskChanged(TaskChangedEvent.updated(renamed, completed));
+		TaskResponse reopened = task(2, 4, START.minusMinutes(5), TaskStatus.PENDING);
+		index.onTaskChanged(TaskChangedEvent.updated(completed, reopened));
+
+		assertThat(changed).containsExactly(2L, 2L);
+		index.advanceOverdue(START.plusMinutes(30));
+		assertThat(passed).isEmpty();
+	}
+
+	@Test
+	void indexesOnlyOpenTasksInDueDateOrder() {
+		index.onTaskChanged(TaskChangedEvent.created(task(2, 0, START.minusHours(3), TaskStatus.IN_PROGRESS)));
+		index.onTaskChanged(TaskChangedEvent.created(task(3, 0, START.minusHours(2), TaskStatus.COMPLETED)));
+		index.onTaskChanged(TaskChangedEvent.created(task(4, 0, START.plusHours(1), TaskStatus.PENDING)));
+
+		assertThat(index.overdue(Task.DEFAULT_OWNER, START)).containsExactly(2L, 1L);
+		assertThat(index.overdue("someone-else", START)).isEmpty();
+	}
+
+	@Test
+	void countsOverdueTasksAsDeadlinesPassAndTasksChange() {
+		TaskResponse late = task(2, 0, START.minusHours(3), TaskStatus.IN_PROGRESS);
+		index.onTaskChanged(TaskChangedEvent.created(late));
+		index.onTaskChanged(TaskChangedEvent.created(task(3, 0, START.plusHours(1), TaskStatus.PENDING)));
+		assertThat(index.countOverdue(Task.DEFAULT_OWNER)).isEqualTo(2);
+
+		index.advanceOverdue(START.plusHours(2));
+		assertThat(index.countOverdue(Task.DEFAULT_OWNER)).isEqualTo(3);
+
+		TaskResponse completed = task(2, 1, START.minusHours(3), TaskStatus.COMPLETED);
+		index.onTaskChanged(TaskChangedEvent.updated(late, completed));
+		TaskResponse rescheduled = task(3, 1, START.plusHours(5), TaskStatus.PENDING);
+		index.onTaskChanged(TaskChangedEvent.updated(task(3, 0, START.plusHours(1), TaskStatus.PENDING), rescheduled));
+		assertThat(index.countOverdue(Task.DEFAULT_OWNER)).isEqualTo(1);
+		assertThat(index.countOverdue("someone-else")).isZero();
+	}
+
+	@Test
+	void ignoresChangesDeliveredAfterANewerOne() {
+		TaskResponse pending = task(2, 0, START.minusMinutes(10), TaskStatus.PENDING);
+		TaskResponse movedToTheFuture = task(2, 1, START.plusMinutes(10), TaskStatus.PENDING);
+		TaskResponse completed = task(2, 2, START.plusMinutes(10), TaskStatus.COMPLETED);
+		index.onTaskChanged(TaskChangedEvent.created(pending));
+		index.onTaskChanged(TaskChangedEvent.updated(movedToTheFuture, completed));
+		index.onTaskChanged(TaskChangedEvent.updated(pending, movedToTheFuture));
+		assertThat(index.overdue(Task.DEFAULT_OWNER, START.plusHours(1))).containsExactly(1L);
+
+		TaskResponse other = task(3, 0, START.minusMinutes(10), TaskStatus.PENDING);
+		index.onTaskChanged(TaskChangedEvent.created(other));
+		index.onTaskChanged(TaskChangedEvent.deleted(other));
+		index.onTaskChanged(TaskChangedEvent.created(other));
+		assertThat(index.overdue(Task.DEFAULT_OWNER, START.plusHours(1))).containsExactly(1L);
+	}
+
+	private static TaskResponse task(long id, long version, LocalDateTime dueDate, TaskStatus status) {
+		return new TaskResponse(id, "Task " + id, null, status, dueDate, null, null, null, version, Task.DEFAULT_OWNER);
+	}
+}
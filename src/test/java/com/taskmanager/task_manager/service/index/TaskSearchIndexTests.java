@@ -0,0 +1,110 @@
+package com.taskmanager.task_manager.service.index;
+
+import com.taskmanager.task_manager.service.SearchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTests {
+
+	private static final String OWNER = "alice";
+
+	private TaskSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new TaskSearchIndex();
+		index.index(OWNER, 1L, 0, "Write documentation", "Document the REST API");
+		index.index(OWNER, 2L, 0, "Fix login bug", "Users cannot log in after the documentation update");
+		index.index(OWNER, 3L, 0, "Configuración del servidor", null);
+	}
+
+	@Test
+	void exactSearchRanksTitleMatchesFirst() {
+		assertThat(ids(index.search(OWNER, "documentation", SearchMode.EXACT))).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void everyWordMustMatch() {
+		assertThat(ids(index.search(OWNER, "login documentation", SearchMode.EXACT))).containsExactly(2L);
+		assertThat(index.search(OWNER, "login server", SearchMode.EXACT)).isEmpty();
+	}
+
+	@Test
+	void prefixSearchMatchesWordStarts() {
+		assertThat(ids(index.search(OWNER, "doc", SearchMode.PREFIX))).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(index.search(OWNER, "doc", SearchMode.EXACT)).isEmpty();
+	}
+
+	@Test
+	void fuzzySearchToleratesTypos() {
+		assertThat(ids(index.search(OWNER, "documnetation", SearchMode.FUZZY))).containsExactly(1L, 2L);
+		assertThat(ids(index.search(OWNER, "lgoin", SearchMode.FUZZY))).containsExactly(2L);
+	}
+
+	@Test
+	void fuzzySearchFollowsReindexAndRemove() {
+		index.index(OWNER, 1L, 1, "Plan sprint", null);
+		index.remove(OWNER, 2L);
+		assertThat(index.search(OWNER, "documnetation", SearchMode.FUZZY)).isEmpty();
+		assertThat(ids(index.search(OWNER, "sprnit", SearchMode.FUZZY))).containsExactly(1L);
+		assertThat(index.search(OWNER, "palnning", SearchMode.FUZZY)).isEmpty();
+	}
+
+	@Test
+	void accentsAndCaseAreIgnored() {
+		assertThat(ids(index.search(OWNER, "CONFIGURACION", SearchMode.EXACT))).containsExactly(3L);
+	}
+
+	@Test
+	void asciiAndUnicodeTextAreSplitAlike() {
+		assertThat(TaskSearchIndex.tokenize("Fix-login, v2 API!")).containsExactly("fix", "login", "v2", "api");
+		assertThat(TaskSearchIndex.tokenize("Fix-login, v2 APÍ!")).containsExactly("fix", "login", "v2", "api");
+	}
+
+	@Test
+	void reindexAndRemoveKeepPostingsInSync() {
+		index.index(OWNER, 1L, 1, "Plan sprint", null);
+		assertThat(ids(index.search(OWNER, "documentation", SearchMode.EXACT))).containsExactly(2L);
+		index.remove(OWNER, 2L);
+		assertThat(index.search(OWNER, "documentation", SearchMode.EXACT)).isEmpty();
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void ignoresVersionsOlderThanTheIndexedOne() {
+		index.index(OWNER, 1L, 2, "Plan sprint", null);
+		index.index(OWNER, 1L, 1, "Write documentation again", null);
+		assertThat(ids(index.search(OWNER, "sprint", SearchMode.EXACT))).containsExactly(1L);
+		assertThat(ids(index.search(OWNER, "again", SearchMode.EXACT))).isEmpty();
+
+		index.remove(OWNER, 2L);
+		index.index(OWNER, 2L, 1, "Fix login bug", null);
+		assertThat(index.search(OWNER, "login", SearchMode.EXACT)).isEmpty();
+	}
+
+	@Test
+	void ownersOnlySeeTheirOwnTasks() {
+		index.index("bob", 4L, 0, "Review documentation", null);
+		assertThat(ids(index.search("bob", "documentation", SearchMode.EXACT))).containsExactly(4L);
+		assertThat(ids(index.search(OWNER, "documentation", SearchMode.EXACT))).containsExactly(1L, 2L);
+		assertThat(index.search("carol", "documentation", SearchMode.EXACT)).isEmpty();
+		index.remove(OWNER, 4L);
+		assertThat(index.size()).isEqualTo(4);
+	}
+
+	@Test
+	void editDistanceIsBounded() {
+		assertThat(TaskSearchIndex.editDistance("task", "tsak", 1)).isEqualTo(1);
+		assertThat(TaskSearchIndex.editDistance("task", "tasks", 1)).isEqualTo(1);
+		assertThat(TaskSearchIndex.editDistance("task", "mask", 2)).isEqualTo(1);
+		assertThat(TaskSearchIndex.editDistance("task", "bug", 1)).isEqualTo(2);
+	}
+
+	private static List<Long> ids(List<TaskSearchIndex.Hit> hits) {
+		return hits.stream().map(TaskSearchIndex.Hit::id).toList();
+	}
+}
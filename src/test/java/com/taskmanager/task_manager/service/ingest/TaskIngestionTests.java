@@ -0,0 +1,65 @@
+package com.taskmanager.task_manager.service.ingest;
+
+import com.taskmanager.task_manager.controller.dto.IngestTicket;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "task-manager.ingest.enabled=true")
+class TaskIngestionTests {
+
+	private static final String OWNER = Task.DEFAULT_OWNER;
+
+	@TempDir
+	static Path journalDirectory;
+
+	@Autowired
+	private TaskIngestion ingestion;
+
+	@DynamicPropertySource
+	static void journal(DynamicPropertyRegistry registry) {
+		registry.add("task-manager.ingest.journal-dir", journalDirectory::toString);
+	}
+
+	@Test
+	void reportsTasksTheStoreRejectsAsFailed() throws InterruptedException {
+		// Bypasses the controller validation, so the entity validation throws while storing the batch
+		long rejected = ingestion.accept(OWNER, request(" "));
+		long created = ingestion.accept(OWNER, request("Stored"));
+
+		IngestTicket failure = awaitOutcome(rejected);
+		assertThat(failure.getStatus()).isEqualTo(IngestTicket.Status.FAILED);
+		assertThat(failure.getError()).contains("Title is required");
+		IngestTicket success = awaitOutcome(created);
+		assertThat(success.getStatus()).isEqualTo(IngestTicket.Status.CREATED);
+		assertThat(success.getTaskId()).isNotNull();
+	}
+
+	private IngestTicket awaitOutcome(long ticket) throws InterruptedException {
+		for (int attempt = 0; attempt < 100; attempt++) {
+			IngestTicket state = ingestion.getTicket(OWNER, ticket);
+			if (state.getStatus() != IngestTicket.Status.QUEUED) {
+				return state;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Ticket " + ticket + " is still queued");
+	}
+
+	private static TaskRequest request(String title) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle(title);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		return request;
+	}
+}
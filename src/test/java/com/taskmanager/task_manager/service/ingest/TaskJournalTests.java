@@ -0,0 +1,95 @@
+package com.taskmanager.task_manager.service.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskJournalTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void replaysRecordsAfterReopening() throws IOException {
+		try (TaskJournal journal = new TaskJournal(directory, 1024)) {
+			for (long ticket = 1; ticket <= 3; ticket++) {
+				journal.append(ticket, payload(ticket));
+			}
+			journal.sync(3);
+		}
+		assertThat(replay()).containsExactly("task 1", "task 2", "task 3");
+	}
+
+	@Test
+	void ignoresTornRecordAtTheEndOfASegment() throws IOException {
+		try (TaskJournal journal = new TaskJournal(directory, 1024)) {
+			journal.append(1, payload(1));
+			journal.append(2, payload(2));
+		}
+		Path segment = segments().get(0);
+		byte[] content = Files.readAllBytes(segment);
+		Files.write(segment, Arrays.copyOf(content, content.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+		assertThat(replay()).containsExactly("task 1");
+	}
+
+	@Test
+	void appendsAfterReopeningGoToANewSegment() throws IOException {
+		try (TaskJournal journal = new TaskJournal(directory, 1024)) {
+			journal.append(1, payload(1));
+		}
+		try (TaskJournal journal = new TaskJournal(directory, 1024)) {
+			journal.replay(entry -> { });
+			journal.append(2, payload(2));
+		}
+		assertThat(segments()).hasSize(2);
+		assertThat(replay()).containsExactly("task 1", "task 2");
+	}
+
+	@Test
+	void releaseDeletesOnlyFullyAppliedSegments() throws IOException {
+		try (TaskJournal journal = new TaskJournal(directory, 64)) {
+			for (long ticket = 1; ticket <= 6; ticket++) {
+				journal.append(ticket, payload(ticket));
+			}
+			int segments = segments().size();
+			assertThat(segments).isGreaterThan(1);
+			journal.release(1);
+			assertThat(journal.firstRetainedTicket()).isLessThanOrEqualTo(2);
+			journal.release(6);
+			assertThat(segments()).isEmpty();
+			assertThat(journal.firstRetainedTicket()).isEqualTo(Long.MAX_VALUE);
+			journal.append(7, payload(7));
+			journal.sync(7);
+		}
+		assertThat(replay()).containsExactly("task 7");
+	}
+
+	private List<String> replay() throws IOException {
+		List<String> payloads = new ArrayList<>();
+		try (TaskJournal journal = new TaskJournal(directory, 1024)) {
+			journal.replay(entry -> payloads.add(new String(entry.payload(), StandardCharsets.UTF_8)));
+		}
+		return payloads;
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.sorted().toList();
+		}
+	}
+
+	private static byte[] payload(long ticket) {
+		return ("task " + ticket).getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,133 @@
+package com.taskmanager.task_manager.service.stats;
+
+import com.taskmanager.task_manager.controller.dto.BatchResponse;
+import com.taskmanager.task_manager.controller.dto.TaskBatchUpdateRequest;
+import com.taskmanager.task_manager.controller.dto.TaskRequest;
+import com.taskmanager.task_manager.controller.dto.TaskResponse;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import com.taskmanager.task_manager.repository.TaskRepository;
+import com.taskmanager.task_manager.service.TaskArchiveService;
+import com.taskmanager.task_manager.service.TaskBatchService;
+import com.taskmanager.task_manager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Moves the counters through every kind of task change and checks them against a {@code GROUP BY}
+ * count of the stored tasks after each step.
+ */
+@SpringBootTest(properties = "task-manager.archive.enabled=false")
+class TaskStatisticsTests {
+
+	private static final String OWNER = "stats-tests";
+
+	/**
+	 * Only the tasks of these tests are backdated before this time, so no other task is archived.
+	 */
+	private static final LocalDateTime CHANGED_BEFORE = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+	@Autowired
+	private TaskStatistics statistics;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskBatchService batchService;
+
+	@Autowired
+	private TaskArchiveService archiveService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		// Deleted through the service, so the counters of the owner start from zero in the next test
+		taskService.getAllTasks(OWNER).forEach(task -> taskService.deleteTask(OWNER, task.getId()));
+		jdbcTemplate.update("DELETE FROM task_archive_ids WHERE segment_id IN (SELECT id FROM task_archive WHERE owner = ?)", OWNER);
+		jdbcTemplate.update("DELETE FROM task_archive WHERE owner = ?", OWNER);
+	}
+
+	@Test
+	void countersFollowCreatesUpdatesDeletesAndArchives() {
+		TaskResponse reprioritized = create(TaskStatus.PENDING, 1);
+		create(TaskStatus.IN_PROGRESS, 2);
+		TaskResponse deleted = create(TaskStatus.PENDING, 1);
+		create(TaskStatus.COMPLETED, 3);
+		create(TaskStatus.PENDING, null);
+		assertCountersMatchTheStoredTasks();
+
+		taskService.updateTask(OWNER, reprioritized.getId(), request(TaskStatus.IN_PROGRESS, 3), null);
+		assertCountersMatchTheStoredTasks();
+
+		taskService.deleteTask(OWNER, deleted.getId());
+		assertCountersMatchTheStoredTasks();
+
+		jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE owner = ?", CHANGED_BEFORE.minusYears(1), OWNER);
+		assertThat(archiveService.archiveTasks(CHANGED_BEFORE, 100)).isEqualTo(1);
+		assertCountersMatchTheStoredTasks();
+		assertThat(statistics.stats(OWNER).getTotal()).isEqualTo(3);
+	}
+
+	@Test
+	void countersIgnoreRepeatedChangesOfTheSameTask() {
+		TaskResponse task = create(TaskStatus.PENDING, 1);
+		assertCountersMatchTheStoredTasks();
+
+		// The second update of a batch repeating an id would start from the first one's result
+		BatchResponse updated = batchService.updateTasks(OWNER, List.of(
+				update(task.getId(), TaskStatus.IN_PROGRESS, 2), update(task.getId(), TaskStatus.CANCELLED, 3)));
+		assertThat(updated.getSucceeded()).isEqualTo(1);
+		assertCountersMatchTheStoredTasks();
+
+		// Completing twice in a batch, then once more: only the first completion changes the task
+		batchService.completeTasks(OWNER, List.of(task.getId(), task.getId()));
+		batchService.completeTasks(OWNER, List.of(task.getId()));
+		assertCountersMatchTheStoredTasks();
+		assertThat(statistics.stats(OWNER).getByStatus()).containsEntry(TaskStatus.COMPLETED, 1L);
+	}
+
+	private void assertCountersMatchTheStoredTasks() {
+		Map<TaskStatus, Map<Integer, Long>> stored = new EnumMap<>(TaskStatus.class);
+		taskRepository.countByOwnerStatusAndPriority().stream()
+				.filter(count -> OWNER.equals(count.getOwner()))
+				.forEach(count -> stored.computeIfAbsent(count.getStatus(), status -> new TreeMap<>())
+						.put(count.getPriority() != null ? count.getPriority() : 0, count.getCount()));
+		assertThat(statistics.stats(OWNER).getByStatusAndPriority()).isEqualTo(stored);
+	}
+
+	private TaskResponse create(TaskStatus status, Integer priority) {
+		return taskService.createTask(OWNER, request(status, priority));
+	}
+
+	private static TaskBatchUpdateRequest update(Long id, TaskStatus status, Integer priority) {
+		TaskBatchUpdateRequest update = new TaskBatchUpdateRequest();
+		update.setId(id);
+		update.setTask(request(status, priority));
+		return update;
+	}
+
+	private static TaskRequest request(TaskStatus status, Integer priority) {
+		TaskRequest request = new TaskRequest();
+		request.setTitle("Prepare budget");
+		request.setStatus(status);
+		request.setPriority(priority);
+		request.setDueDate(LocalDateTime.now().plusDays(1));
+		return request;
+	}
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.task_manager.service.transfer;
+
+import com.taskmanager.task_manager.exception.InvalidTaskImportException;
+import com.taskmanager.task_manager.model.Task;
+import com.taskmanager.task_manager.model.Task.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TaskTransferFormatTests {
+
+	@ParameterizedTest
+	@EnumSource(TaskTransferFormat.class)
+	void roundTripsTasks(TaskTransferFormat format) throws IOException {
+		List<Task> tasks = new ArrayList<>();
+		LocalDateTime date = LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123_456_000);
+		tasks.add(new Task(7L, "a, \"quoted\"\r\nline", "", TaskStatus.IN_PROGRESS, date, 1, date, date, 3L, null));
+		tasks.add(new Task(null, "no id", null, null, date.minusYears(80), null, null, null, null, null));
+		for (long id = 100; id < 3000; id++) {
+			tasks.add(new Task(id, "task " + id, "é " + id, TaskStatus.COMPLETED, date.plusMinutes(id), 2, date, date, 0L, null));
+		}
+
+		assertThat(readAll(format, write(format, tasks))).usingRecursiveFieldByFieldElementComparator().isEqualTo(tasks);
+	}
+
+	@ParameterizedTest
+	@EnumSource(TaskTransferFormat.class)
+	void roundTripsAnEmptyExport(TaskTransferFormat format) throws IOException {
+		assertThat(readAll(format, write(format, List.of()))).isEmpty();
+	}
+
+	@Test
+	void readsCsvColumnsByHeaderName() throws IOException {
+		byte[] csv = "\uFEFFDueDate,extra,Title\n2030-01-01T10:00,x,first\n\n2030-01-02T10:00,y,second\n"
+				.getBytes(StandardCharsets.UTF_8);
+
+		assertThat(readAll(TaskTransferFormat.CSV, csv))
+				.extracting(Task::getTitle, Task::getDueDate, Task::getId)
+				.containsExactly(
+						tuple("first", LocalDateTime.of(2030, 1, 1, 10, 0), null),
+						tuple("second", LocalDateTime.of(2030, 1, 2, 10, 0), null));
+	}
+
+	@Test
+	void rejectsTruncatedBinaryStream() throws IOException {
+		byte[] binary = write(TaskTransferFormat.BINARY,
+				List.of(new Task(1L, "t", null, TaskStatus.PENDING, LocalDateTime.now(), null, null, null, 0L, null)));
+
+		assertThatThrownBy(() -> readAll(TaskTransferFormat.BINARY, Arrays.copyOf(binary, binary.length - 2)))
+				.isInstanceOf(InvalidTaskImportException.class);
+	}
+
+	private static byte[] write(TaskTransferFormat format, List<Task> tasks) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		TaskRecordWriter writer = format.writer(output);
+		for (Task task : tasks) {
+			writer.write(task);
+		}
+		writer.finish();
+		return output.toByteArray();
+	}
+
+	private static List<Task> readAll(TaskTransferFormat format, byte[] content) throws IOException {
+		TaskRecordReader reader = format.reader(new ByteArrayInputStream(content));
+		List<Task> tasks = new ArrayList<>();
+		for (Task task = reader.read(); task != null; task = reader.read()) {
+			tasks.add(task);
+		}
+		return tasks;
+	}
+}